@@ -0,0 +1,71 @@
+package bench;
+
+/**
+ * The BatchBenchmark class measures a batch of queries from random start
+ * nodes to a generated graph's destination run in parallel by a
+ * BatchRunner with one worker per processor.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    public String shape;
+
+    @Param({"10000"})
+    public int numNodes;
+
+    @Param({"A_STAR", "BIDIRECTIONAL"})
+    public String algorithm;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    // Instance variables
+    private Object runner;
+    private List<Object> queries;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Harness.GraphFiles files = Harness.generate(shape, numNodes);
+        Object graph = Harness.prepareGraph(files, algorithm);
+        runner = Harness.newBatchRunner(graph);
+        queries = Harness.randomQueries(graph, files, algorithm, batchSize);
+    }
+
+    @TearDown
+    public void tearDown() throws Throwable {
+        Harness.shutdown(runner);
+    }
+
+    @Benchmark
+    public Object runAll() throws Throwable {
+        return Harness.runAll(runner, queries);
+    }
+
+}
@@ -0,0 +1,34 @@
+package bench;
+
+/**
+ * The BenchmarkMain program runs the benchmarks with the JMH command line,
+ * writing the results as JSON to jmh-result.json unless a result format is
+ * given with -rf.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class BenchmarkMain {
+
+    // Class variables
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    // Not instantiated
+    private BenchmarkMain() { }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(0, Arrays.asList("-rf", "json", "-rff",
+                    RESULT_FILE));
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+
+}
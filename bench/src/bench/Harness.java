@@ -0,0 +1,343 @@
+package bench;
+
+/**
+ * The Harness class gives the benchmarks access to the program's classes.
+ * They are in the default package, which classes in a named package cannot
+ * refer to, while JMH does not run benchmarks in the default package. Every
+ * method used is looked up once as a MethodHandle held in a static final
+ * field, which the JIT compiler inlines like a direct call, so the lookups
+ * add nothing to the measured times.
+ *
+ * Generated graphs are written once to the directory named by the system
+ * property "bench.dir" (target/bench-graphs by default) and reused by later
+ * runs and forks.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class Harness {
+
+    // Class variables
+    private static final Path GRAPH_DIR = Paths.get(
+            System.getProperty("bench.dir", "target/bench-graphs"));
+    private static final long SEED = 1;
+    private static final int MAX_TABLE_NODES = 4096;
+
+    private static final MethodHandle NEW_GRAPH = constructor("Graph", 0);
+    private static final MethodHandle SET_GRAPH_FILE =
+            method("Graph", "setGraphFile", 1);
+    private static final MethodHandle SET_DD_FILE =
+            method("Graph", "setDDFile", 1);
+    private static final MethodHandle POPULATE_GRAPH =
+            method("Graph", "populateGraph", 0);
+    private static final MethodHandle SAVE_SNAPSHOT =
+            method("Graph", "saveSnapshot", 1);
+    private static final MethodHandle OPEN_SNAPSHOT =
+            method("Graph", "openSnapshot", 1);
+    private static final MethodHandle FIND_NODE =
+            method("Graph", "findNode", 1);
+    private static final MethodHandle SET_DESTINATION_NODE =
+            method("Graph", "setDestinationNode", 1);
+    private static final MethodHandle GET_NODE = method("Graph", "getNode", 1);
+    private static final MethodHandle GET_NUM_NODES =
+            method("Graph", "getNumNodes", 0);
+    private static final MethodHandle BUILD_HIERARCHY =
+            method("Graph", "buildHierarchy", 0);
+    private static final MethodHandle BUILD_DISTANCE_TABLE =
+            method("Graph", "buildDistanceTable", 0);
+    private static final MethodHandle COMPRESS_GRAPH =
+            method("Graph", "compressGraph", 0);
+    private static final MethodHandle ALGORITHM_TYPE =
+            method("AlgorithmType", "fromName", 1);
+    private static final MethodHandle CREATE_ALGORITHM =
+            method("AlgorithmType", "create", 1);
+    private static final MethodHandle NEW_QUERY =
+            constructor("BatchQuery", 3);
+    private static final MethodHandle RUN_QUERY =
+            method("Algorithm", "run", 1);
+    private static final MethodHandle NEW_BATCH_RUNNER =
+            constructor("BatchRunner", 1);
+    private static final MethodHandle RUN_ALL =
+            method("BatchRunner", "runAll", 1);
+    private static final MethodHandle SHUTDOWN =
+            method("BatchRunner", "shutdown", 0);
+    private static final MethodHandle NEW_DELTA_STEPPING =
+            constructor("DeltaStepping", 2);
+    private static final MethodHandle RUN_DELTA_STEPPING =
+            method("DeltaStepping", "run", 1);
+    private static final MethodHandle NEW_DISTANCE_MATRIX =
+            constructor("DistanceMatrix", 1);
+    private static final MethodHandle COMPUTE_MATRIX =
+            method("DistanceMatrix", "compute", 2);
+    private static final MethodHandle SHAPE =
+            method("GraphGenerator$Shape", "fromName", 1);
+    private static final MethodHandle GENERATE =
+            method("GraphGenerator", "generate", 5);
+
+    // Not instantiated; All methods are static
+    private Harness() { }
+
+    /**
+     * The GraphFiles class names the files of a generated graph.
+     */
+    static final class GraphFiles {
+        final String graphFile;
+        final String ddFile;
+        final String destination;
+
+        private GraphFiles(String graphFile, String ddFile,
+                           String destination) {
+            this.graphFile = graphFile;
+            this.ddFile = ddFile;
+            this.destination = destination;
+        }
+    }
+
+    /**
+     * Returns the files of a generated graph, writing them first if an
+     * earlier run has not.
+     * @param shape String name of a GraphGenerator shape
+     * @param numNodes int number of nodes
+     * @return GraphFiles object
+     */
+    static GraphFiles generate(String shape, int numNodes) throws Throwable {
+        Files.createDirectories(GRAPH_DIR);
+        String base = GRAPH_DIR.resolve(shape + "-" + numNodes).toString();
+        Path destinationFile = Paths.get(base + ".dest");
+
+        // The destination file is written last, so it marks complete files
+        if (!Files.exists(destinationFile)) {
+            String destination = (String) GENERATE.invoke(
+                    SHAPE.invoke(shape), numNodes, SEED, base + ".txt",
+                    base + ".dd");
+            Files.write(destinationFile,
+                    destination.getBytes(StandardCharsets.US_ASCII));
+        }
+        String destination = new String(Files.readAllBytes(destinationFile),
+                StandardCharsets.US_ASCII);
+        return new GraphFiles(base + ".txt", base + ".dd", destination);
+    }
+
+    /**
+     * Parses a graph's text files into a new Graph.
+     * @param files GraphFiles object
+     * @return Graph object
+     */
+    static Object loadGraph(GraphFiles files) throws Throwable {
+        Object graph = NEW_GRAPH.invoke();
+        SET_GRAPH_FILE.invoke(graph, files.graphFile);
+        SET_DD_FILE.invoke(graph, files.ddFile);
+        POPULATE_GRAPH.invoke(graph);
+        return graph;
+    }
+
+    /**
+     * Opens a snapshot file into a new Graph.
+     * @param snapshotFile String name of the snapshot file
+     * @return Graph object
+     */
+    static Object openSnapshot(String snapshotFile) throws Throwable {
+        Object graph = NEW_GRAPH.invoke();
+        OPEN_SNAPSHOT.invoke(graph, snapshotFile);
+        return graph;
+    }
+
+    // Writes a graph to a snapshot file
+    static void saveSnapshot(Object graph, String snapshotFile)
+            throws Throwable {
+        SAVE_SNAPSHOT.invoke(graph, snapshotFile);
+    }
+
+    /**
+     * Loads a graph for queries to its generated destination and builds
+     * the preprocessed structures that an algorithm uses.
+     * @param files GraphFiles object
+     * @param algorithm String name of an AlgorithmType
+     * @return Graph object
+     */
+    static Object prepareGraph(GraphFiles files, String algorithm)
+            throws Throwable {
+        Object graph = loadGraph(files);
+        SET_DESTINATION_NODE.invoke(graph,
+                FIND_NODE.invoke(graph, files.destination));
+        switch (algorithm) {
+            case "TABLE_LOOKUP":
+                // Larger graphs fall back to the hierarchy, as in project
+                if ((int) GET_NUM_NODES.invoke(graph) <= MAX_TABLE_NODES) {
+                    BUILD_DISTANCE_TABLE.invoke(graph);
+                    break;
+                }
+                BUILD_HIERARCHY.invoke(graph);
+                break;
+            case "CONTRACTION_HIERARCHY":
+                BUILD_HIERARCHY.invoke(graph);
+                break;
+            case "COMPRESSED":
+                COMPRESS_GRAPH.invoke(graph);
+                break;
+            default:
+                break;
+        }
+        return graph;
+    }
+
+    /**
+     * Creates queries from random start nodes to the generated destination.
+     * @param graph Graph object
+     * @param files GraphFiles object of the graph
+     * @param algorithm String name of an AlgorithmType
+     * @param count int number of queries
+     * @return List of BatchQuery objects
+     */
+    static List<Object> randomQueries(Object graph, GraphFiles files,
+                                      String algorithm, int count)
+            throws Throwable {
+        Object type = ALGORITHM_TYPE.invoke(algorithm);
+        Object destination = FIND_NODE.invoke(graph, files.destination);
+        int numNodes = (int) GET_NUM_NODES.invoke(graph);
+        Random random = new Random(SEED);
+        List<Object> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object start = GET_NODE.invoke(graph, random.nextInt(numNodes));
+            queries.add(NEW_QUERY.invoke(start, destination, type));
+        }
+        return queries;
+    }
+
+    // Creates an Algorithm object of a type over a graph
+    static Object newAlgorithm(Object graph, String algorithm)
+            throws Throwable {
+        return CREATE_ALGORITHM.invoke(ALGORITHM_TYPE.invoke(algorithm),
+                graph);
+    }
+
+    // Runs one query and returns its QueryResult
+    static Object run(Object algorithm, Object query) throws Throwable {
+        return RUN_QUERY.invoke(algorithm, query);
+    }
+
+    // Creates a BatchRunner with one worker per processor
+    static Object newBatchRunner(Object graph) throws Throwable {
+        return NEW_BATCH_RUNNER.invoke(graph);
+    }
+
+    // Runs a batch of queries and returns their QueryResults
+    static Object runAll(Object runner, List<Object> queries)
+            throws Throwable {
+        return RUN_ALL.invoke(runner, queries);
+    }
+
+    // Stops a BatchRunner's workers
+    static void shutdown(Object runner) throws Throwable {
+        SHUTDOWN.invoke(runner);
+    }
+
+    // Creates a DeltaStepping over a graph, with 0 for the default delta
+    static Object newDeltaStepping(Object graph, int delta) throws Throwable {
+        return NEW_DELTA_STEPPING.invoke(graph, delta);
+    }
+
+    // Returns a random node of a graph
+    static Object randomNode(Object graph) throws Throwable {
+        int numNodes = (int) GET_NUM_NODES.invoke(graph);
+        return GET_NODE.invoke(graph, new Random(SEED).nextInt(numNodes));
+    }
+
+    // Finds the distances from a start node to every node
+    static Object runDeltaStepping(Object search, Object start)
+            throws Throwable {
+        return RUN_DELTA_STEPPING.invoke(search, start);
+    }
+
+    // Creates a DistanceMatrix over a graph
+    static Object newDistanceMatrix(Object graph) throws Throwable {
+        return NEW_DISTANCE_MATRIX.invoke(graph);
+    }
+
+    /**
+     * Returns random nodes of a graph. Calls with the same count return the
+     * same nodes.
+     * @param graph Graph object
+     * @param count int number of nodes
+     * @return List of Node objects
+     */
+    static List<Object> randomNodes(Object graph, int count)
+            throws Throwable {
+        int numNodes = (int) GET_NUM_NODES.invoke(graph);
+        Random random = new Random(SEED);
+        List<Object> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nodes.add(GET_NODE.invoke(graph, random.nextInt(numNodes)));
+        }
+        return nodes;
+    }
+
+    // Finds the distances from every source to every target
+    static Object computeMatrix(Object matrix, List<Object> sources,
+                                List<Object> targets) throws Throwable {
+        return COMPUTE_MATRIX.invoke(matrix, sources, targets);
+    }
+
+    /**
+     * Looks up the public method of a program class with a name and number
+     * of parameters.
+     * @param className String name of the class
+     * @param name String name of the method
+     * @param numParameters int number of parameters
+     * @return MethodHandle of the method
+     */
+    private static MethodHandle method(String className, String name,
+                                       int numParameters) {
+        try {
+            for (Method method : Class.forName(className).getMethods()) {
+                if (method.getName().equals(name)
+                        && method.getParameterCount() == numParameters) {
+                    return MethodHandles.publicLookup().unreflect(method);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        throw new IllegalStateException("No method " + className + "."
+                + name + " with " + numParameters + " parameters");
+    }
+
+    /**
+     * Looks up the public constructor of a program class with a number of
+     * parameters.
+     * @param className String name of the class
+     * @param numParameters int number of parameters
+     * @return MethodHandle of the constructor
+     */
+    private static MethodHandle constructor(String className,
+                                            int numParameters) {
+        try {
+            for (Constructor<?> constructor
+                    : Class.forName(className).getConstructors()) {
+                if (constructor.getParameterCount() == numParameters) {
+                    return MethodHandles.publicLookup()
+                            .unreflectConstructor(constructor);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        throw new IllegalStateException("No constructor " + className
+                + " with " + numParameters + " parameters");
+    }
+
+}
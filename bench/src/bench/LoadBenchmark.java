@@ -0,0 +1,63 @@
+package bench;
+
+/**
+ * The LoadBenchmark class measures loading a generated graph, either by
+ * parsing its text files with Graph.populateGraph or by opening a snapshot
+ * of it written by Graph.saveSnapshot.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    public String shape;
+
+    @Param({"100", "10000", "1000000"})
+    public int numNodes;
+
+    @Param({"text", "snapshot"})
+    public String format;
+
+    // Instance variables
+    private Harness.GraphFiles files;
+    private String snapshotFile;
+
+    @Setup
+    public void setUp() throws Throwable {
+        files = Harness.generate(shape, numNodes);
+        if (format.equals("snapshot")) {
+            snapshotFile = files.graphFile + ".snapshot";
+            Harness.saveSnapshot(Harness.loadGraph(files), snapshotFile);
+        }
+    }
+
+    @Benchmark
+    public Object load() throws Throwable {
+        return snapshotFile == null ? Harness.loadGraph(files)
+                : Harness.openSnapshot(snapshotFile);
+    }
+
+}
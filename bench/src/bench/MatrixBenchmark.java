@@ -0,0 +1,70 @@
+package bench;
+
+/**
+ * The MatrixBenchmark class measures finding the distances from every one
+ * of a list of random source nodes to every one of a list of random target
+ * nodes of a generated graph with DistanceMatrix, using the buckets of a
+ * contraction hierarchy or, with the NONE preparation, a Dijkstra search
+ * from each source.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixBenchmark {
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    public String shape;
+
+    @Param({"100000"})
+    public int numNodes;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"CONTRACTION_HIERARCHY", "NONE"})
+    public String preparation;
+
+    // Instance variables
+    private Object matrix;
+    private List<Object> sources;
+    private List<Object> targets;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Harness.GraphFiles files = Harness.generate(shape, numNodes);
+        Object graph = Harness.prepareGraph(files, preparation);
+        matrix = Harness.newDistanceMatrix(graph);
+        List<Object> nodes = Harness.randomNodes(graph, 2 * size);
+        sources = nodes.subList(0, size);
+        targets = nodes.subList(size, 2 * size);
+    }
+
+    @Benchmark
+    public Object distances() throws Throwable {
+        return Harness.computeMatrix(matrix, sources, targets);
+    }
+
+}
@@ -0,0 +1,72 @@
+package bench;
+
+/**
+ * The QueryBenchmark class measures single queries from random start nodes
+ * to a generated graph's destination with each type of algorithm. Each
+ * thread keeps its own Algorithm object, as a batch worker does, and runs
+ * the queries in turn. The hierarchy, distance table or compressed graph
+ * an algorithm needs is built before measuring.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryBenchmark {
+
+    // Class variables
+    private static final int NUM_QUERIES = 1024;
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    public String shape;
+
+    @Param({"100", "10000"})
+    public int numNodes;
+
+    @Param({"ALGORITHM_1", "ALGORITHM_2", "A_STAR", "BIDIRECTIONAL",
+            "CONTRACTION_HIERARCHY", "TABLE_LOOKUP", "COMPRESSED",
+            "ANYTIME"})
+    public String algorithm;
+
+    // Instance variables
+    private Object search;
+    private List<Object> queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Harness.GraphFiles files = Harness.generate(shape, numNodes);
+        Object graph = Harness.prepareGraph(files, algorithm);
+        search = Harness.newAlgorithm(graph, algorithm);
+        queries = Harness.randomQueries(graph, files, algorithm, NUM_QUERIES);
+    }
+
+    @Benchmark
+    public Object query() throws Throwable {
+        Object query = queries.get(next);
+        next = (next + 1) % NUM_QUERIES;
+        return Harness.run(search, query);
+    }
+
+}
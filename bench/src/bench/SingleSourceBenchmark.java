@@ -0,0 +1,61 @@
+package bench;
+
+/**
+ * The SingleSourceBenchmark class measures finding the distances from one
+ * node to every node of a generated graph with DeltaStepping. A delta of 0
+ * picks the default; the threads used are those of the common fork join
+ * pool, set with -Djava.util.concurrent.ForkJoinPool.common.parallelism.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SingleSourceBenchmark {
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    public String shape;
+
+    @Param({"10000", "1000000"})
+    public int numNodes;
+
+    @Param({"0"})
+    public int delta;
+
+    // Instance variables
+    private Object search;
+    private Object start;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Object graph = Harness.loadGraph(Harness.generate(shape, numNodes));
+        search = Harness.newDeltaStepping(graph, delta);
+        start = Harness.randomNode(graph);
+    }
+
+    @Benchmark
+    public Object distances() throws Throwable {
+        return Harness.runDeltaStepping(search, start);
+    }
+
+}
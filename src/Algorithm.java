@@ -6,67 +6,219 @@
  * which determines the shortest distance in a node's edge list. findShortest
  * is determined by the concrete implementation of the Algorithm class.
  *
+ * Searches run on the graph's CompactGraph using int node ids, and the
+ * sequence and shortest paths are IntPaths of node ids; Node objects are
+ * only looked up to print a path. Membership tests for visited nodes use a
+ * VisitedSet rather than searching the sequence path, which is kept as
+ * output only.
+ *
+ * An Algorithm object is a reusable search context: its paths, visited set
+ * and any heaps and distance arrays of a subclass are sized once and reset
+ * in time proportional to what the last search touched, so repeated
+ * searches allocate nothing. Objects are not thread safe and are kept per
+ * thread by BatchRunner and per request by QueryServer.
+ *
+ * The estimate of a node's remaining distance to the destination comes from
+ * the graph's HeuristicCache when it holds an exact table for the
+ * destination, then from the direct distances when the destination is the
+ * graph's destination node, and otherwise from the graph's Landmarks if
+ * they have been computed. Exact tables and the admissibility check of the
+ * direct distances only apply to searches that need admissible estimates.
+ *
+ * Searches skip nodes that the graph's ReachabilityIndex shows cannot
+ * reach the destination (isDeadEnd).
+ *
+ * While SearchStats are enabled each search counts its work into the
+ * algorithm's SearchStats, and queries run through run are timed, added to
+ * the SearchStats totals and reported as a QueryEvent.
+ *
  * @author Nikki Tebaldi
  * @version 1.0
  * @since 2020-04-24
  */
 
-import java.util.Stack;
-
 public abstract class Algorithm {
 
     // Instance variables
-    Stack<Node<Character>> sequencePath;
-    Stack<Node<Character>> shortestPath;
+    Graph graph;
+    CompactGraph compactGraph;
+    Landmarks landmarks;
+    ReachabilityIndex reachability;
+    HeuristicCache heuristics;
+    int[] exactDistances;
+    VisitedSet visited;
+    int destination;
+    boolean useDirectDistances;
+    final IntPath sequencePath = new IntPath();
+    final IntPath shortestPath = new IntPath();
+    final SearchStats stats = new SearchStats();
 
-    // Constructor - initializes all values to null or 0
-    public Algorithm(){
-        sequencePath = new Stack<>();
-        shortestPath = new Stack<>();
+    // Constructor - initializes the paths to empty paths over a graph
+    public Algorithm(Graph graph){
+        this.graph = graph;
+        compactGraph = graph.getCompactGraph();
+        visited = new VisitedSet(compactGraph.getNumNodes());
     }
 
     // Accessor methods
-    public Stack<Node<Character>> getSequencePath() { return sequencePath; }
-    public Stack<Node<Character>> getShortestPath() { return shortestPath; }
+    public Graph getGraph() { return graph; }
+    public VisitedSet getVisited() { return visited; }
+    public IntPath getSequencePath() { return sequencePath; }
+    public IntPath getShortestPath() { return shortestPath; }
+    public SearchStats getStats() { return stats; }
 
     // Abstract methods
 
     /**
-     * Abstract method that finds the shortest edge connected to a node object
+     * Abstract method that finds the shortest edge connected to a node
      * taking into account the sequence of visited nodes and any dead ends.
+     * @param currentNode int id of the node in the compact graph
+     * @return int id of the next node or -1 if no edge can be determined
      */
-    abstract Node<Character> findShortest(Node<Character> currentNode);
+    abstract int findShortest(int currentNode);
 
     // Concrete methods
 
+    /**
+     * Picks up the graph's current compact graph, which is replaced when the
+     * graph's edges or direct distances change. Called at the start of each
+     * search.
+     */
+    void refreshGraph() {
+        HeuristicCache cache = graph.getHeuristicCache();
+        reachability = currentReachability();
+        compactGraph = graph.getCompactGraph();
+        landmarks = graph.getLandmarks();
+
+        // The cache is replaced after the compact graph when an edge changes
+        heuristics = cache != null && cache.getGraph().hasSameEdges(
+                compactGraph) ? cache : null;
+    }
+
+    /**
+     * Returns the graph's reachability index if it describes the graph's
+     * current compact graph, or null. The index is read first, as the graph
+     * replaces it after the compact graph.
+     * @return ReachabilityIndex object or null
+     */
+    private ReachabilityIndex currentReachability() {
+        ReachabilityIndex index = graph.getReachability();
+        return index != null && index.getGraph() == graph.getCompactGraph()
+                ? index : null;
+    }
+
+    /**
+     * Tests if a node is known to have no path to the destination of the
+     * current search, so the search need not enter it.
+     * @param node int id of the node
+     * @return true if the destination cannot be reached from the node
+     */
+    boolean isDeadEnd(int node) {
+        if (exactDistances != null) {
+            return exactDistances[node] == HeuristicCache.UNREACHABLE;
+        }
+        return reachability != null
+                && !reachability.mayReach(node, destination);
+    }
+
+    /**
+     * Returns the number of operations on the algorithm's heaps since it
+     * was created, counted while SearchStats are enabled.
+     * @return long number of heap operations
+     */
+    long heapOperations() { return 0; }
+
+    /**
+     * Tests if the algorithm's searches need admissible estimates to find
+     * the shortest path. Only those searches use exact heuristic tables and
+     * skip direct distances that were found to overestimate.
+     * @return true if searches need admissible estimates
+     */
+    boolean needsAdmissibleEstimates() { return true; }
+
+    /**
+     * Sets the destination of a new search and asks the heuristic cache
+     * for its exact table. The direct distances are only used for
+     * estimates if there is no table and they were measured to this
+     * destination.
+     * @param destinationNode String Node object
+     */
+    void setDestination(Node<String> destinationNode) {
+        destination = destinationNode.getId();
+        boolean admissible = needsAdmissibleEstimates();
+        exactDistances = heuristics != null && admissible
+                ? heuristics.get(destination) : null;
+        Node<String> graphDestination = graph.getDestinationNode();
+        useDirectDistances = exactDistances == null
+                && graphDestination != null
+                && graphDestination.getId() == destination
+                && (!admissible || graph.hasAdmissibleDirectDistances());
+    }
+
+    /**
+     * Estimates the remaining distance from a node to the destination of
+     * the current search. The estimate is 0 if the destination has no
+     * direct distances and no landmarks have been computed.
+     * @param node int id of the node
+     * @return int estimated distance to the destination
+     */
+    int estimateDistance(int node) {
+        if (exactDistances != null) {
+            return exactDistances[node];
+        }
+        if (useDirectDistances) {
+            return compactGraph.getHeuristic(node);
+        }
+        return landmarks == null ? 0 : landmarks.lowerBound(node, destination);
+    }
+
     /**
      * Finds the shortest path from the input node to the destination node.
-     * @param inputNode Character Node object
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
      */
-    public void findShortestPath(Node<Character> inputNode,
-                                 Node<Character> destinationNode) {
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
 
         // Set current node to the inputNode
-        Node<Character> currentNode = inputNode;
+        int currentNode = inputNode.getId();
+
+        // Start a new search with every node unvisited and empty paths
+        refreshGraph();
+        setDestination(destinationNode);
+        visited.clear();
+        sequencePath.clear();
+        shortestPath.clear();
 
         // Keep moving through the graph as long as the currentNode is not the
         // destination node
-        while (currentNode.getElement() != destinationNode.getElement()) {
+        while (currentNode != destination) {
 
             // Add node to paths to track traversal
             sequencePath.push(currentNode);
             shortestPath.push(currentNode);
+            visited.visit(currentNode);
 
             // Find the shortest node that does not include dead ends or nodes
             // that have already been visited
-            Node<Character> shortestNode = findShortest(currentNode);
+            int shortestNode = findShortest(currentNode);
 
             // If a node could not be found; All nodes have been visited and
             // have encountered a dead end
-            if (shortestNode == null) {
+            if (shortestNode < 0) {
                 // Backtrack from the current node as it is a dead end; Remove
                 // from shortest path
+                if (SearchStats.ENABLED) {
+                    stats.backtracks++;
+                }
                 shortestPath.pop();
+                // Backtracked past the start node; The destination cannot
+                // be reached
+                if (shortestPath.isEmpty()) {
+                    return;
+                }
                 // Move forward with previously visited node
                 currentNode = shortestPath.pop();
             } else {
@@ -75,95 +227,126 @@ public abstract class Algorithm {
             }
         } // End while; Shortest path to destination has been found
 
-        // Add destination node to the sequence and shortest path stacks
+        // Add destination node to the sequence and shortest paths
         sequencePath.push(currentNode);
         shortestPath.push(currentNode);
+        visited.visit(currentNode);
     }
 
     /**
-     * Calculates the shortest path length by summing the edge weights of the
-     * Node object's present in the shortest path.
+     * Runs a query and collects its outcome into a QueryResult. A query
+     * whose destination cannot be reached gives a result with an empty path.
      *
-     * Suppresses warning for unchecked cast of Object type to  Node<Character>
-     * type as method is always dealing with Node<Character> objects in
-     * generation of array that contains the shortest path Nodes.
+     * While SearchStats are enabled the result holds a copy of the query's
+     * counters, which are also added to the totals and reported as a
+     * QueryEvent.
      *
-     * @return Integer that is the sum of all edge weights in the shortest path
+     * @param query BatchQuery object
+     * @return QueryResult object
      */
-    @SuppressWarnings("unchecked")
-    public int getShortestPathLength() {
-        // Convert the stack to an array
-        Object[] shortestPathArray = shortestPath.toArray();
+    public QueryResult run(BatchQuery query) {
+        if (!SearchStats.ENABLED) {
+            return search(query);
+        }
 
-        // Loop through array an sum edge weights of the shortest path
-        int length = shortestPathArray.length;
-        int totalPathLength = 0;
+        // Count and time the search
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        stats.clear();
+        long startHeapOperations = heapOperations();
+        long startTime = System.nanoTime();
+        QueryResult result = search(query);
+        stats.elapsedNanos = System.nanoTime() - startTime;
+        stats.nodesExpanded = sequencePath.size();
+        stats.heapOperations = heapOperations() - startHeapOperations;
+        SearchStats.record(stats);
 
-        for (int i = 0; i < length - 1; i++) {
-            // Cast array elements to Node objects
-            Node<Character> currentNode = (Node<Character>) shortestPathArray[i];
-            Node<Character> nextNode = (Node<Character>) shortestPathArray[i + 1];
+        // Report the query to Java Flight Recorder if it is recording
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = query.getAlgorithmType().name();
+            event.startNode = query.getStartNode().getElement();
+            event.destinationNode = query.getDestinationNode().getElement();
+            event.reachable = result.isReachable();
+            event.pathLength = result.getPathLength();
+            event.nodesExpanded = stats.nodesExpanded;
+            event.edgesScanned = stats.edgesScanned;
+            event.backtracks = stats.backtracks;
+            event.heapOperations = stats.heapOperations;
+            event.commit();
+        }
+        return result.withStats(stats.copy());
+    }
+
+    /**
+     * Runs a query's search and collects its outcome into a QueryResult.
+     * @param query BatchQuery object
+     * @return QueryResult object
+     */
+    private QueryResult search(BatchQuery query) {
+        // Reject a query whose destination cannot be reached at once
+        ReachabilityIndex index = currentReachability();
+        if (index != null && !index.canReach(query.getStartNode().getId(),
+                query.getDestinationNode().getId())) {
+            sequencePath.clear();
+            shortestPath.clear();
+            return new QueryResult(query, new int[0], 0, 0);
+        }
 
-            // Sum edge weight between current node and next node in list
-            totalPathLength += currentNode.getEdges().get(nextNode);
+        findShortestPath(query.getStartNode(), query.getDestinationNode());
+        return new QueryResult(query, shortestPath.toArray(),
+                getShortestPathLength(), sequencePath.size());
+    }
 
+    /**
+     * Calculates the shortest path length by summing the edge weights
+     * between the nodes of the shortest path.
+     * @return Integer that is the sum of all edge weights in the shortest path
+     */
+    public int getShortestPathLength() {
+        // Sum edge weights between each node and the next one in the path
+        int totalPathLength = 0;
+        for (int i = 0; i < shortestPath.size() - 1; i++) {
+            totalPathLength += compactGraph.getEdgeWeight(shortestPath.get(i),
+                    shortestPath.get(i + 1));
         }
 
         return totalPathLength;
     }
 
     /**
-     * Private class method to print the contents of an array that contains
-     * Node objects.
-     *
-     * Suppresses compiler warning for unchecked cast of Object type to
-     * Node<Character> type as method is always dealing with Node<Character>
-     * objects in private method.
-     *
-     * @param array Object array
+     * Prints the names of the nodes in a path.
+     * @param path IntPath of node ids
      */
-    @SuppressWarnings("unchecked")
-    private static void printNodeArray(Object[] array) {
-        // Print out each element in the array
-        int length = array.length;
+    private void printPath(IntPath path) {
+        // Print out each node's name
+        int length = path.size();
+        if (length == 0) {
+            System.out.println("none");
+            return;
+        }
         for (int i = 0; i < length - 1; i++) {
-            // Cast array elements to Node object
-            Node<Character> node = (Node<Character>) array[i];
-            // Print node object's element
-            System.out.print(node.getElement() + " -> ");
+            System.out.print(graph.getNode(path.get(i)).getElement() + " -> ");
         }
         // Print last element without an arrow
-        Node<Character> node = (Node<Character>) array[length - 1];
-        System.out.print(node.getElement());
+        System.out.print(graph.getNode(path.get(length - 1)).getElement());
         System.out.println();
     }
 
     /**
-     * Prints contents of sequence path stack.
+     * Prints contents of sequence path.
      */
     public void printSequencePath() {
-
-        // Convert the stack to an array
-        Object[] sequencePathArray = sequencePath.toArray();
-
         System.out.print("Sequence of all nodes: ");
-
-        // Print the contents of the array
-        printNodeArray(sequencePathArray);
+        printPath(sequencePath);
     }
 
     /**
-     * Prints contents of shortest path stack.
+     * Prints contents of shortest path.
      */
     public void printShortestPath() {
-
-        // Convert the stack to an array
-        Object[] shortestPathArray = shortestPath.toArray();
-
         System.out.print("Shortest path: ");
-
-        // Print the contents of the array
-        printNodeArray(shortestPathArray);
+        printPath(shortestPath);
     }
 
 }
@@ -10,12 +10,14 @@
  * @since 2020-04-24
  */
 
-import java.util.HashMap;
-
 public class Algorithm1 extends Algorithm {
 
     // Constructor - Initialized via parent constructor
-    public Algorithm1() { super(); }
+    public Algorithm1(Graph graph) { super(graph); }
+
+    // The greedy search follows the direct distances as given
+    @Override
+    boolean needsAdmissibleEstimates() { return false; }
 
     /**
      * Finds the shortest edge connected to a node object taking into account
@@ -24,31 +26,39 @@ public class Algorithm1 extends Algorithm {
      * Determines shortest node based on the edge node's direct distance to
      * destination node.
      *
-     * Returns null if an edge cannot be determined.
+     * Returns -1 if an edge cannot be determined.
      *
-     * @param currentNode Node object used to determine the next closest node
-     * @return Node object with the smallest distance to destination node
+     * @param currentNode int id of the node used to determine the next
+     *                    closest node
+     * @return int id of the node with the smallest distance to destination
      */
     @Override
-    public Node<Character> findShortest(Node<Character> currentNode) {
-        // Get node's edge list
-        HashMap<Node<Character>, Integer> edgeList = currentNode.getEdges();
+    public int findShortest(int currentNode) {
+        // Get the bounds of the node's edge list
+        int edgeStart = compactGraph.edgeStart(currentNode);
+        int edgeEnd = compactGraph.edgeEnd(currentNode);
 
         // Initialize variables to hold the smallest edge node and edge
         // weight values
         int smallestDDValue = Integer.MAX_VALUE;
-        Node<Character> smallestDDNode = null;
+        int smallestDDNode = -1;
+
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
 
-        // Loop through the node's HashMap of edges' keys
-        for(Node<Character> edgeNode : edgeList.keySet()) {
+        // Loop through the node's edges in the compact graph
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = compactGraph.edgeTarget(edge);
 
-            // Test if node has already been visited
-            boolean foundNode = getSequencePath().search(edgeNode) > -1;
+            // Test if node has already been visited or is a dead end
+            boolean foundNode = visited.isVisited(edgeNode)
+                    || isDeadEnd(edgeNode);
 
             // If the edge node has not been visited
             if (!foundNode) {
                 // Get the edge node's distance to destination node
-                int edgeDD = edgeNode.getDistanceToDest();
+                int edgeDD = estimateDistance(edgeNode);
                 // Compare edge node with current smallest edge
                 if (edgeDD < smallestDDValue) {
                     smallestDDValue = edgeDD;
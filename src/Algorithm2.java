@@ -11,13 +11,14 @@
  * @since 2020-04-24
  */
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class Algorithm2 extends Algorithm {
 
     // Constructor - Initialized via parent constructor
-    public Algorithm2() { super(); }
+    public Algorithm2(Graph graph) { super(graph); }
+
+    // The greedy search follows the direct distances as given
+    @Override
+    boolean needsAdmissibleEstimates() { return false; }
 
     /**
      * Finds the shortest edge connected to a node object taking into account
@@ -26,36 +27,44 @@ public class Algorithm2 extends Algorithm {
      * Determines shortest node based on the edge node's direct distance to
      * destination node plus the edge node's weight.
      *
-     * Returns null if an edge cannot be determined.
+     * Returns -1 if an edge cannot be determined.
      *
-     * @param currentNode Node object used to determine the next closest node
-     * @return Node object with the smallest distance to destination node
+     * @param currentNode int id of the node used to determine the next
+     *                    closest node
+     * @return int id of the node with the smallest distance to destination
      */
     @Override
-    public Node<Character> findShortest(Node<Character> currentNode) {
-        // Get node's edge list
-        HashMap<Node<Character>, Integer> edgeList = currentNode.getEdges();
+    public int findShortest(int currentNode) {
+        // Get the bounds of the node's edge list
+        int edgeStart = compactGraph.edgeStart(currentNode);
+        int edgeEnd = compactGraph.edgeEnd(currentNode);
 
         // Initialize variables to hold the smallest edge node and sum values
-        Node<Character> smallestNode = null;
+        int smallestNode = -1;
         int smallestSum = Integer.MAX_VALUE;
 
-        // Loop through the node's HashMap of edges entries (key, value)
-        for(Map.Entry<Node<Character>, Integer> edgeNode : edgeList.entrySet()) {
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
+
+        // Loop through the node's edges (target, weight) in the compact graph
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = compactGraph.edgeTarget(edge);
 
-            // Test if node has already been visited
-           boolean foundNode = getSequencePath().search(edgeNode.getKey()) > -1;
+            // Test if node has already been visited or is a dead end
+            boolean foundNode = visited.isVisited(edgeNode)
+                    || isDeadEnd(edgeNode);
 
             // If the edge node has not been visited
             if (!foundNode) {
                 // Calculate the sum of the edge weight and edge node's distance
                 // to destination node
-                int sumDDWeight = edgeNode.getValue()
-                        + edgeNode.getKey().getDistanceToDest();
+                int sumDDWeight = compactGraph.edgeWeight(edge)
+                        + estimateDistance(edgeNode);
                 // Determine if the sum is smaller than previous sums
                 if (sumDDWeight < smallestSum) {
                     smallestSum = sumDDWeight;
-                    smallestNode = edgeNode.getKey();
+                    smallestNode = edgeNode;
                 }
             }
 
@@ -0,0 +1,141 @@
+/**
+ * The Algorithm3 class represents an algorithm that finds the optimal
+ * shortest path through the graph from a specific node to the destination
+ * node using A* search. Nodes are settled in order of the sum of their
+ * distance from the start node and their direct distance to the destination
+ * node, which are held in an IndexedHeap that supports decrease-key.
+ *
+ * The path is optimal as long as no node's direct distance overestimates
+ * its true distance to the destination node. Direct distances are only
+ * measured to the graph's destination node, so queries to any other node
+ * use the lower bounds of the graph's Landmarks instead, or run as plain
+ * Dijkstra search if none have been computed. Settled nodes are reopened if
+ * a shorter route to them is found, so the direct distances do not also need
+ * to be consistent.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public class Algorithm3 extends Algorithm {
+
+    // Instance variables
+    private final IndexedHeap openSet;
+    private final VisitedSet reached;
+    private final int[] distance;
+    private final int[] parent;
+
+    // Constructor - Initialized via parent constructor and sized to the graph
+    public Algorithm3(Graph graph) {
+        super(graph);
+        int numNodes = compactGraph.getNumNodes();
+        openSet = new IndexedHeap(numNodes);
+        reached = new VisitedSet(numNodes);
+        distance = new int[numNodes];
+        parent = new int[numNodes];
+    }
+
+    // Operations on the open set, counted while SearchStats are enabled
+    @Override
+    long heapOperations() { return openSet.getOperations(); }
+
+    /**
+     * Relaxes the edges of a settled node and returns the next node to
+     * settle, which is the unsettled node with the smallest sum of distance
+     * from the start node and direct distance to the destination node.
+     *
+     * Returns -1 if every reachable node has been settled.
+     *
+     * @param currentNode int id of the node that was just settled
+     * @return int id of the next node to settle
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        // Get the bounds of the node's edge list
+        int edgeStart = compactGraph.edgeStart(currentNode);
+        int edgeEnd = compactGraph.edgeEnd(currentNode);
+        int currentDistance = distance[currentNode];
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
+
+        // Loop through the node's edges and relax each one
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = compactGraph.edgeTarget(edge);
+            if (isDeadEnd(edgeNode)) {
+                continue;
+            }
+            int newDistance = currentDistance + compactGraph.edgeWeight(edge);
+
+            // Test if this is the first or a shorter route to the edge node
+            if (!reached.isVisited(edgeNode)
+                    || newDistance < distance[edgeNode]) {
+                reached.visit(edgeNode);
+                distance[edgeNode] = newDistance;
+                parent[edgeNode] = currentNode;
+
+                // Reopen the edge node if it was already settled
+                visited.unvisit(edgeNode);
+                openSet.insertOrDecrease(edgeNode,
+                        newDistance + estimateDistance(edgeNode));
+            }
+        }
+
+        // Return the open node with the smallest estimated total distance
+        return openSet.isEmpty() ? -1 : openSet.poll();
+    }
+
+    /**
+     * Finds the optimal shortest path from the input node to the destination
+     * node. The sequence path holds the nodes in the order they were settled
+     * and the shortest path is rebuilt from each node's parent.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Start a new search from the input node
+        refreshGraph();
+        setDestination(destinationNode);
+        visited.clear();
+        reached.clear();
+        openSet.clear();
+        sequencePath.clear();
+        shortestPath.clear();
+
+        int startNode = inputNode.getId();
+        reached.visit(startNode);
+        distance[startNode] = 0;
+        parent[startNode] = -1;
+
+        // Settle nodes until the destination is settled or none are left
+        int currentNode = startNode;
+        while (currentNode >= 0 && currentNode != destination) {
+            visited.visit(currentNode);
+            sequencePath.push(currentNode);
+            currentNode = findShortest(currentNode);
+        }
+
+        // Destination could not be reached
+        if (currentNode < 0) {
+            return;
+        }
+        visited.visit(currentNode);
+        sequencePath.push(currentNode);
+
+        // Walk back through the parents, then put the path start first
+        for (int node = destination; node >= 0; node = parent[node]) {
+            shortestPath.push(node);
+        }
+        shortestPath.reverseFrom(0);
+    }
+
+}
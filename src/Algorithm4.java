@@ -0,0 +1,228 @@
+/**
+ * The Algorithm4 class represents an algorithm that finds the optimal
+ * shortest path through the graph from a specific node to the destination
+ * node using bidirectional Dijkstra search. One search runs forward from the
+ * start node over the graph's edges and another runs backward from the
+ * destination node over the graph's reverse edges. The search stops once the
+ * two frontiers meet and no shorter route through them is possible.
+ *
+ * On long routes each search only has to cover about half the distance, so
+ * far fewer nodes are settled than by a single search from the start node.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public class Algorithm4 extends Algorithm {
+
+    // Instance variables
+    private final SearchSide forward;
+    private final SearchSide backward;
+    private boolean settlingForward;
+    private int bestLength;
+    private int meetingNode;
+
+    // Constructor - Initialized via parent constructor and sized to the graph
+    public Algorithm4(Graph graph) {
+        super(graph);
+        forward = new SearchSide(compactGraph);
+        backward = new SearchSide(graph.getReverseGraph());
+    }
+
+    /**
+     * Picks up the graph's current forward and reverse compact graphs. The
+     * graph's lock keeps the pair from coming from two different changes.
+     */
+    @Override
+    void refreshGraph() {
+        synchronized (graph) {
+            super.refreshGraph();
+            forward.graph = compactGraph;
+            backward.graph = graph.getReverseGraph();
+        }
+    }
+
+    // Operations on both open sets, counted while SearchStats are enabled
+    @Override
+    long heapOperations() {
+        return forward.openSet.getOperations()
+                + backward.openSet.getOperations();
+    }
+
+    // Searches from both ends need no estimates
+    @Override
+    boolean needsAdmissibleEstimates() { return false; }
+
+    /**
+     * Relaxes the edges of the node that was just settled in the current
+     * direction, then returns the next node to settle from whichever
+     * direction has the smaller frontier distance.
+     *
+     * Returns -1 once the frontiers have met and the best route through
+     * them cannot be improved, or if either search has run out of nodes.
+     *
+     * @param currentNode int id of the node that was just settled
+     * @return int id of the next node to settle
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        SearchSide side = settlingForward ? forward : backward;
+        SearchSide other = settlingForward ? backward : forward;
+
+        // Get the bounds of the node's edge list in this direction
+        CompactGraph sideGraph = side.graph;
+        int edgeStart = sideGraph.edgeStart(currentNode);
+        int edgeEnd = sideGraph.edgeEnd(currentNode);
+        int currentDistance = side.distance[currentNode];
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
+
+        // Loop through the node's edges and relax each one
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = sideGraph.edgeTarget(edge);
+            if (side.settled.isVisited(edgeNode)
+                    || (settlingForward && isDeadEnd(edgeNode))) {
+                continue;
+            }
+            int newDistance = currentDistance + sideGraph.edgeWeight(edge);
+            if (!side.reached.isVisited(edgeNode)
+                    || newDistance < side.distance[edgeNode]) {
+                side.reach(edgeNode, newDistance, currentNode);
+            }
+
+            // Test if the edge node joins the two searches on a shorter route
+            if (other.reached.isVisited(edgeNode)) {
+                int routeLength = side.distance[edgeNode]
+                        + other.distance[edgeNode];
+                if (routeLength < bestLength) {
+                    bestLength = routeLength;
+                    meetingNode = edgeNode;
+                }
+            }
+        }
+
+        // Stop when either search is exhausted or the frontiers cannot
+        // produce a shorter route than the best one found so far
+        if (forward.openSet.isEmpty() || backward.openSet.isEmpty()) {
+            return -1;
+        }
+        int forwardKey = forward.openSet.peekKey();
+        int backwardKey = backward.openSet.peekKey();
+        if (bestLength != Integer.MAX_VALUE
+                && (long) forwardKey + backwardKey >= bestLength) {
+            return -1;
+        }
+
+        // Settle next in the direction with the smaller frontier distance
+        settlingForward = forwardKey <= backwardKey;
+        return (settlingForward ? forward : backward).openSet.poll();
+    }
+
+    /**
+     * Finds the optimal shortest path from the input node to the destination
+     * node by searching from both ends. The sequence path holds the nodes in
+     * the order they were settled by either search.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Start a new search from both ends
+        refreshGraph();
+        forward.clear();
+        backward.clear();
+        sequencePath.clear();
+        shortestPath.clear();
+
+        int startNode = inputNode.getId();
+        setDestination(destinationNode);
+        forward.reach(startNode, 0, -1);
+        backward.reach(destination, 0, -1);
+        bestLength = startNode == destination ? 0 : Integer.MAX_VALUE;
+        meetingNode = startNode == destination ? startNode : -1;
+
+        // Settle nodes alternately until the frontiers meet
+        settlingForward = true;
+        int currentNode = forward.openSet.poll();
+        while (currentNode >= 0) {
+            SearchSide side = settlingForward ? forward : backward;
+            side.settled.visit(currentNode);
+            sequencePath.push(currentNode);
+            currentNode = findShortest(currentNode);
+        }
+
+        // Destination could not be reached
+        if (meetingNode < 0) {
+            return;
+        }
+
+        // Walk back from the meeting node to the start node, then put the
+        // path start first
+        for (int node = meetingNode; node >= 0; node = forward.parent[node]) {
+            shortestPath.push(node);
+        }
+        shortestPath.reverseFrom(0);
+
+        // Walk forward from the meeting node to the destination node
+        for (int node = backward.parent[meetingNode]; node >= 0;
+             node = backward.parent[node]) {
+            shortestPath.push(node);
+        }
+    }
+
+    /**
+     * The SearchSide class holds the state of the search in one direction:
+     * the graph it expands, its open set and each node's distance and parent.
+     */
+    private static class SearchSide {
+
+        // Instance variables
+        private CompactGraph graph;
+        private final IndexedHeap openSet;
+        private final VisitedSet reached;
+        private final VisitedSet settled;
+        private final int[] distance;
+        private final int[] parent;
+
+        // Constructs an empty search over the given graph
+        private SearchSide(CompactGraph graph) {
+            this.graph = graph;
+            int numNodes = graph.getNumNodes();
+            openSet = new IndexedHeap(numNodes);
+            reached = new VisitedSet(numNodes);
+            settled = new VisitedSet(numNodes);
+            distance = new int[numNodes];
+            parent = new int[numNodes];
+        }
+
+        /**
+         * Records a route to a node and adds it to the open set.
+         * @param node int id of the node
+         * @param nodeDistance int distance from this search's origin
+         * @param parentNode int id of the previous node or -1
+         */
+        private void reach(int node, int nodeDistance, int parentNode) {
+            reached.visit(node);
+            distance[node] = nodeDistance;
+            parent[node] = parentNode;
+            openSet.insertOrDecrease(node, nodeDistance);
+        }
+
+        // Resets the search so that every node is unreached
+        private void clear() {
+            openSet.clear();
+            reached.clear();
+            settled.clear();
+        }
+    }
+
+}
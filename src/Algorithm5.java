@@ -0,0 +1,299 @@
+/**
+ * The Algorithm5 class represents an algorithm that finds the optimal
+ * shortest path through the graph from a specific node to the destination
+ * node using the graph's ContractionHierarchy. A search runs upward through
+ * the hierarchy from each end of the route, and the route is the cheapest
+ * one through a node that both searches reached. Its shortcut edges are
+ * then unpacked into the nodes of the graph.
+ *
+ * Both searches only follow edges to more important nodes, so each settles
+ * a small part of the graph, and each stops on its own once its smallest
+ * distance is no shorter than the best route found so far. Nodes of the
+ * hierarchy's uncontracted core are only set aside while the searches climb
+ * the hierarchy; once both are done the core is crossed by a bidirectional
+ * Dijkstra search that starts from every core node either side reached.
+ *
+ * If the graph has no hierarchy, as before one is built or after its edges
+ * change, queries fall back to bidirectional Dijkstra search.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm4
+ * class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.function.IntConsumer;
+
+public class Algorithm5 extends Algorithm4 {
+
+    // Instance variables
+    private ContractionHierarchy hierarchy;
+    private final UpwardSearch forward;
+    private final UpwardSearch backward;
+    private final IntPath forwardNodes = new IntPath();
+    private final IntPath unpackStack = new IntPath();
+    private final IntConsumer pathAppender = shortestPath::push;
+    private boolean settlingForward;
+    private boolean inCore;
+    private int bestLength;
+    private int meetingNode;
+
+    // Constructor - Initialized via parent constructor and sized to the graph
+    public Algorithm5(Graph graph) {
+        super(graph);
+        int numNodes = compactGraph.getNumNodes();
+        forward = new UpwardSearch(numNodes);
+        backward = new UpwardSearch(numNodes);
+    }
+
+    /**
+     * Picks up the graph's current compact graphs and hierarchy together.
+     */
+    @Override
+    void refreshGraph() {
+        synchronized (graph) {
+            super.refreshGraph();
+            hierarchy = graph.getHierarchy();
+        }
+    }
+
+    // Operations on the open sets of both this search and the fallback
+    // search, counted while SearchStats are enabled
+    @Override
+    long heapOperations() {
+        return super.heapOperations() + forward.heapOperations()
+                + backward.heapOperations();
+    }
+
+    /**
+     * Relaxes the hierarchy edges of the node that was just settled in the
+     * current direction, then returns the next node to settle.
+     *
+     * Returns -1 once neither search can find a shorter route.
+     *
+     * @param currentNode int id of the node that was just settled
+     * @return int id of the next node to settle
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        if (hierarchy == null) {
+            return super.findShortest(currentNode);
+        }
+        UpwardSearch side = settlingForward ? forward : backward;
+        UpwardSearch other = settlingForward ? backward : forward;
+        ContractionHierarchy.SearchGraph sideGraph = settlingForward
+                ? hierarchy.getUpward() : hierarchy.getDownward();
+
+        // Test if the node joins the two searches on a shorter route
+        int currentDistance = side.distance[currentNode];
+        joinAt(currentNode);
+
+        // Loop through the node's hierarchy edges and relax each one
+        int edgeStart = sideGraph.edgeStart(currentNode);
+        int edgeEnd = sideGraph.edgeEnd(currentNode);
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = sideGraph.edgeTarget(edge);
+            int newDistance = currentDistance + sideGraph.edgeWeight(edge);
+            if (!side.reached.isVisited(edgeNode)
+                    || newDistance < side.distance[edgeNode]) {
+                side.reach(edgeNode, newDistance, currentNode,
+                        sideGraph.middle(edge), hierarchy.isCore(edgeNode));
+                if (other.reached.isVisited(edgeNode)) {
+                    joinAt(edgeNode);
+                }
+            }
+        }
+
+        return nextNode();
+    }
+
+    /**
+     * Records a node reached by both searches as the meeting node if the
+     * route through it is the shortest so far.
+     * @param node int id of the node
+     */
+    private void joinAt(int node) {
+        if (!forward.reached.isVisited(node)
+                || !backward.reached.isVisited(node)) {
+            return;
+        }
+        int routeLength = forward.distance[node] + backward.distance[node];
+        if (routeLength < bestLength) {
+            bestLength = routeLength;
+            meetingNode = node;
+        }
+    }
+
+    /**
+     * Picks the direction to settle next and removes its next node.
+     *
+     * While climbing the hierarchy each search is done once its smallest
+     * distance is no shorter than the best route. In the core the search
+     * stops once the two smallest distances together are no shorter.
+     *
+     * @return int id of the next node to settle or -1 if the search is done
+     */
+    private int nextNode() {
+        if (!inCore) {
+            boolean forwardOpen = !forward.openSet.isEmpty()
+                    && forward.openSet.peekKey() < bestLength;
+            boolean backwardOpen = !backward.openSet.isEmpty()
+                    && backward.openSet.peekKey() < bestLength;
+            if (forwardOpen || backwardOpen) {
+                settlingForward = forwardOpen && (!backwardOpen
+                        || forward.openSet.peekKey()
+                            <= backward.openSet.peekKey());
+                return (settlingForward ? forward : backward).openSet.poll();
+            }
+            inCore = true;
+        }
+
+        // Cross the core from the core nodes that the searches reached
+        if (forward.coreSet.isEmpty() || backward.coreSet.isEmpty()) {
+            return -1;
+        }
+        int forwardKey = forward.coreSet.peekKey();
+        int backwardKey = backward.coreSet.peekKey();
+        if ((long) forwardKey + backwardKey >= bestLength) {
+            return -1;
+        }
+        settlingForward = forwardKey <= backwardKey;
+        return (settlingForward ? forward : backward).coreSet.poll();
+    }
+
+    /**
+     * Finds the optimal shortest path from the input node to the destination
+     * node by searching upward through the hierarchy from both ends. The
+     * sequence path holds the nodes in the order they were settled by
+     * either search.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Fall back to bidirectional Dijkstra without a hierarchy
+        refreshGraph();
+        if (hierarchy == null) {
+            super.findShortestPath(inputNode, destinationNode);
+            return;
+        }
+
+        // Start a new search from both ends
+        forward.clear();
+        backward.clear();
+        sequencePath.clear();
+        shortestPath.clear();
+
+        int startNode = inputNode.getId();
+        int destination = destinationNode.getId();
+        bestLength = Integer.MAX_VALUE;
+        meetingNode = -1;
+        inCore = false;
+        forward.reach(startNode, 0, -1, -1, hierarchy.isCore(startNode));
+        backward.reach(destination, 0, -1, -1,
+                hierarchy.isCore(destination));
+        joinAt(startNode);
+
+        // Settle nodes from either end until neither search can improve
+        int currentNode = nextNode();
+        while (currentNode >= 0) {
+            sequencePath.push(currentNode);
+            currentNode = findShortest(currentNode);
+        }
+
+        // Destination could not be reached
+        if (meetingNode < 0) {
+            return;
+        }
+
+        // Collect the forward edges from the start node to the meeting node
+        forwardNodes.clear();
+        for (int node = meetingNode; node != startNode;
+             node = forward.parent[node]) {
+            forwardNodes.push(node);
+        }
+
+        // Unpack the forward edges, then the backward edges from the
+        // meeting node to the destination node
+        shortestPath.push(startNode);
+        for (int node = startNode; !forwardNodes.isEmpty(); ) {
+            int next = forwardNodes.pop();
+            hierarchy.unpack(node, next, forward.middle[next], pathAppender,
+                    unpackStack);
+            node = next;
+        }
+        for (int node = meetingNode; node != destination;
+             node = backward.parent[node]) {
+            hierarchy.unpack(node, backward.parent[node],
+                    backward.middle[node], pathAppender, unpackStack);
+        }
+    }
+
+    /**
+     * The UpwardSearch class holds the state of the search in one
+     * direction: its open sets for contracted and core nodes and each
+     * node's distance, parent and the middle node of the edge from its
+     * parent.
+     */
+    private static class UpwardSearch {
+
+        // Instance variables
+        private final IndexedHeap openSet;
+        private final IndexedHeap coreSet;
+        private final VisitedSet reached;
+        private final int[] distance;
+        private final int[] parent;
+        private final int[] middle;
+
+        // Constructs an empty search sized to the graph
+        private UpwardSearch(int numNodes) {
+            openSet = new IndexedHeap(numNodes);
+            coreSet = new IndexedHeap(numNodes);
+            reached = new VisitedSet(numNodes);
+            distance = new int[numNodes];
+            parent = new int[numNodes];
+            middle = new int[numNodes];
+        }
+
+        /**
+         * Records a route to a node and adds it to the open set for its
+         * part of the hierarchy.
+         * @param node int id of the node
+         * @param nodeDistance int distance from this search's origin
+         * @param parentNode int id of the previous node or -1
+         * @param edgeMiddle int middle node of the edge from the parent
+         * @param core true if the node is in the hierarchy's core
+         */
+        private void reach(int node, int nodeDistance, int parentNode,
+                           int edgeMiddle, boolean core) {
+            reached.visit(node);
+            distance[node] = nodeDistance;
+            parent[node] = parentNode;
+            middle[node] = edgeMiddle;
+            (core ? coreSet : openSet).insertOrDecrease(node, nodeDistance);
+        }
+
+        // Operations on both open sets
+        private long heapOperations() {
+            return openSet.getOperations() + coreSet.getOperations();
+        }
+
+        // Resets the search so that every node is unreached
+        private void clear() {
+            openSet.clear();
+            coreSet.clear();
+            reached.clear();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * The Algorithm6 class represents an algorithm that finds the optimal
+ * shortest path through the graph from a specific node to the destination
+ * node by looking it up in the graph's DistanceTable. Each node of the path
+ * is the next hop from the node before it, so a query costs one lookup per
+ * node on its path and no search.
+ *
+ * If the graph has no distance table, as for graphs too large to hold one
+ * or after its edges change, queries fall back to the contraction hierarchy
+ * search of Algorithm5.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm5
+ * class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public class Algorithm6 extends Algorithm5 {
+
+    // Instance variables
+    private DistanceTable distanceTable;
+
+    // Constructor - Initialized via parent constructor
+    public Algorithm6(Graph graph) { super(graph); }
+
+    /**
+     * Picks up the graph's current compact graphs and distance table
+     * together.
+     */
+    @Override
+    void refreshGraph() {
+        synchronized (graph) {
+            super.refreshGraph();
+            distanceTable = graph.getDistanceTable();
+        }
+    }
+
+    /**
+     * Returns the next node on the shortest path from a node to the
+     * destination node.
+     *
+     * Returns -1 if the destination cannot be reached from the node.
+     *
+     * @param currentNode int id of the current node on the path
+     * @return int id of the next node on the path
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        if (distanceTable == null) {
+            return super.findShortest(currentNode);
+        }
+        return distanceTable.getNextHop(currentNode, destination);
+    }
+
+    /**
+     * Finds the optimal shortest path from the input node to the destination
+     * node by following the next hop table. The sequence path holds the
+     * same nodes as the shortest path, as no other nodes are looked at.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Fall back to the contraction hierarchy without a table
+        refreshGraph();
+        if (distanceTable == null) {
+            super.findShortestPath(inputNode, destinationNode);
+            return;
+        }
+
+        // Start a new lookup
+        setDestination(destinationNode);
+        sequencePath.clear();
+        shortestPath.clear();
+
+        // Destination could not be reached
+        int currentNode = inputNode.getId();
+        if (distanceTable.getDistance(currentNode, destination)
+                == DistanceTable.UNREACHABLE) {
+            return;
+        }
+
+        // Follow the next hops to the destination node
+        while (currentNode >= 0) {
+            sequencePath.push(currentNode);
+            shortestPath.push(currentNode);
+            currentNode = currentNode == destination ? -1
+                    : findShortest(currentNode);
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/**
+ * The Algorithm7 class represents an algorithm that finds the optimal
+ * shortest path through the graph from a specific node to the destination
+ * node using A* search over the graph's CompressedGraph. It settles nodes in
+ * the same order as Algorithm3, but decodes each node's edges from the
+ * compressed byte array with an EdgeCursor, and its distance and parent
+ * arrays are indexed by the renumbered node ids, so nodes that are close in
+ * the graph are also close in memory.
+ *
+ * Start and destination nodes are renumbered before the search and the
+ * settled nodes and the path are numbered back as they are recorded, so
+ * the paths hold the graph's usual node ids.
+ *
+ * If the graph has not been compressed, or its edges have changed since,
+ * queries fall back to the A* search of Algorithm3.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm3
+ * class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public class Algorithm7 extends Algorithm3 {
+
+    // Instance variables
+    private final IndexedHeap openSet;
+    private final VisitedSet reached;
+    private final int[] distance;
+    private final int[] parent;
+    private CompressedGraph compressedGraph;
+    private CompressedGraph.EdgeCursor edges;
+    private int internalDestination;
+
+    // Constructor - Initialized via parent constructor and sized to the graph
+    public Algorithm7(Graph graph) {
+        super(graph);
+        int numNodes = compactGraph.getNumNodes();
+        openSet = new IndexedHeap(numNodes);
+        reached = new VisitedSet(numNodes);
+        distance = new int[numNodes];
+        parent = new int[numNodes];
+    }
+
+    /**
+     * Picks up the graph's current compact graph and compressed graph
+     * together, and a cursor over the compressed graph if it changed.
+     */
+    @Override
+    void refreshGraph() {
+        synchronized (graph) {
+            super.refreshGraph();
+            compressedGraph = graph.getCompressedGraph();
+        }
+        if (compressedGraph != null
+                && (edges == null || edges.getGraph() != compressedGraph)) {
+            edges = compressedGraph.newEdgeCursor();
+        }
+    }
+
+    // Operations on both open sets, counted while SearchStats are enabled
+    @Override
+    long heapOperations() {
+        return super.heapOperations() + openSet.getOperations();
+    }
+
+    /**
+     * Relaxes the edges of a settled node and returns the next node to
+     * settle, as Algorithm3 does, with node ids of the compressed graph.
+     *
+     * Returns -1 if every reachable node has been settled.
+     *
+     * @param currentNode int id of the node in the compressed graph
+     * @return int id of the next node to settle
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        if (compressedGraph == null) {
+            return super.findShortest(currentNode);
+        }
+
+        // Loop through the node's edges and relax each one
+        int currentDistance = distance[currentNode];
+        edges.start(currentNode);
+        while (edges.next()) {
+            if (SearchStats.ENABLED) {
+                stats.edgesScanned++;
+            }
+            int edgeNode = edges.target();
+            if (isDeadEnd(compressedGraph.toOriginal(edgeNode))) {
+                continue;
+            }
+            int newDistance = currentDistance + edges.weight();
+
+            // Test if this is the first or a shorter route to the edge node
+            if (!reached.isVisited(edgeNode)
+                    || newDistance < distance[edgeNode]) {
+                reached.visit(edgeNode);
+                distance[edgeNode] = newDistance;
+                parent[edgeNode] = currentNode;
+                openSet.insertOrDecrease(edgeNode,
+                        newDistance + estimateInternal(edgeNode));
+            }
+        }
+
+        // Return the open node with the smallest estimated total distance
+        return openSet.isEmpty() ? -1 : openSet.poll();
+    }
+
+    /**
+     * Finds the optimal shortest path from the input node to the destination
+     * node over the compressed graph. The sequence path holds the nodes in
+     * the order they were settled and the shortest path is rebuilt from each
+     * node's parent.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Fall back to A* over the compact graph without a compressed graph
+        refreshGraph();
+        if (compressedGraph == null) {
+            super.findShortestPath(inputNode, destinationNode);
+            return;
+        }
+
+        // Start a new search from the renumbered input node
+        setDestination(destinationNode);
+        internalDestination = compressedGraph.toInternal(destination);
+        visited.clear();
+        reached.clear();
+        openSet.clear();
+        sequencePath.clear();
+        shortestPath.clear();
+
+        int startNode = compressedGraph.toInternal(inputNode.getId());
+        reached.visit(startNode);
+        distance[startNode] = 0;
+        parent[startNode] = -1;
+
+        // Settle nodes until the destination is settled or none are left
+        int currentNode = startNode;
+        while (currentNode >= 0 && currentNode != internalDestination) {
+            settle(currentNode);
+            currentNode = findShortest(currentNode);
+        }
+
+        // Destination could not be reached
+        if (currentNode < 0) {
+            return;
+        }
+        settle(currentNode);
+
+        // Walk back through the parents, then put the path start first
+        for (int node = internalDestination; node >= 0; node = parent[node]) {
+            shortestPath.push(compressedGraph.toOriginal(node));
+        }
+        shortestPath.reverseFrom(0);
+    }
+
+    // Records a settled node under its usual node id
+    private void settle(int node) {
+        int original = compressedGraph.toOriginal(node);
+        visited.visit(original);
+        sequencePath.push(original);
+    }
+
+    /**
+     * Estimates the remaining distance from a node of the compressed graph
+     * to the destination. Exact tables, direct distances and landmarks are
+     * looked up by the usual node id.
+     * @param node int id of the node in the compressed graph
+     * @return int estimated distance to the destination
+     */
+    private int estimateInternal(int node) {
+        int original = compressedGraph.toOriginal(node);
+        if (exactDistances != null) {
+            return exactDistances[original];
+        }
+        if (useDirectDistances) {
+            return compactGraph.getHeuristic(original);
+        }
+        return landmarks == null ? 0
+                : landmarks.lowerBound(original, destination);
+    }
+
+}
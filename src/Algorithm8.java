@@ -0,0 +1,316 @@
+/**
+ * The Algorithm8 class represents an anytime algorithm that finds a path
+ * through the graph from a specific node to the destination node within a
+ * time or expansion budget, using Anytime Repairing A* (ARA*). Where
+ * Algorithm1 and Algorithm2 stop at the first path their greedy walk finds,
+ * Algorithm8 keeps improving its path until the budget runs out and reports
+ * how far from the shortest path it can be.
+ *
+ * The first search is a weighted A* search that orders nodes by their
+ * distance from the start node plus EPSILON_START times their estimated
+ * distance to the destination node, which finds a path quickly. Each
+ * following search lowers the weight by EPSILON_STEP down to 1 and reuses
+ * the work of the searches before it: only nodes whose distance improved
+ * after they were expanded are expanded again. A search with weight w
+ * finds a path at most w times longer than the shortest one.
+ *
+ * When the budget runs out the best path found so far is returned with its
+ * suboptimality bound: the smaller of the last completed weight and the
+ * path length divided by the lowest distance plus estimate of any node
+ * still waiting to be expanded. The bound holds as long as the estimates
+ * are consistent, as the generated direct distances and landmarks are. The
+ * budget is only checked once a first path has been found, so a query
+ * always returns a path if the destination can be reached.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public class Algorithm8 extends Algorithm {
+
+    // Class variables
+    public static final long DEFAULT_DEADLINE_NANOS = 2000000;
+    static final int EPSILON_START = 30;
+    static final int EPSILON_STEP = 5;
+    private static final int EPSILON_SCALE = 10;
+    private static final int CLOCK_INTERVAL = 32;
+
+    // Instance variables
+    private final IndexedHeap openSet;
+    private final VisitedSet reached;
+    private final VisitedSet closed;
+    private final VisitedSet inconsistent;
+    private final IntPath inconsistentNodes = new IntPath();
+    private final IntPath reopened = new IntPath();
+    private final int[] distance;
+    private final int[] parent;
+    private long deadlineNanos = DEFAULT_DEADLINE_NANOS;
+    private long maxExpansions = Long.MAX_VALUE;
+    private long searchDeadline;
+    private long expansions;
+    private int epsilon;
+    private double suboptimality;
+
+    // Constructor - Initialized via parent constructor and sized to the graph
+    public Algorithm8(Graph graph) {
+        super(graph);
+        int numNodes = compactGraph.getNumNodes();
+        openSet = new IndexedHeap(numNodes);
+        reached = new VisitedSet(numNodes);
+        closed = new VisitedSet(numNodes);
+        inconsistent = new VisitedSet(numNodes);
+        distance = new int[numNodes];
+        parent = new int[numNodes];
+    }
+
+    // Accessor methods
+    public long getDeadlineNanos() { return deadlineNanos; }
+    public long getMaxExpansions() { return maxExpansions; }
+    public double getSuboptimality() { return suboptimality; }
+
+    // Mutator methods
+    public void setDeadlineNanos(long nanos) { deadlineNanos = nanos; }
+    public void setMaxExpansions(long count) { maxExpansions = count; }
+
+    // Operations on the open set, counted while SearchStats are enabled
+    @Override
+    long heapOperations() { return openSet.getOperations(); }
+
+    /**
+     * Runs a query within its deadline, or the algorithm's deadline if the
+     * query has none, and adds the suboptimality bound to its result.
+     * @param query BatchQuery object
+     * @return QueryResult object
+     */
+    @Override
+    public QueryResult run(BatchQuery query) {
+        long defaultDeadline = deadlineNanos;
+        if (query.getDeadlineNanos() > 0) {
+            deadlineNanos = query.getDeadlineNanos();
+        }
+        try {
+            return super.run(query).withSuboptimality(suboptimality);
+        } finally {
+            deadlineNanos = defaultDeadline;
+        }
+    }
+
+    /**
+     * Relaxes the edges of an expanded node. Nodes whose distance improves
+     * go into the open set, or into the inconsistent list if they were
+     * already expanded by the current search. Then returns the next node to
+     * expand.
+     *
+     * Returns -1 once the current search cannot improve the path to the
+     * destination, or if no nodes are left to expand.
+     *
+     * @param currentNode int id of the node that was just expanded
+     * @return int id of the next node to expand
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        // Get the bounds of the node's edge list
+        int edgeStart = compactGraph.edgeStart(currentNode);
+        int edgeEnd = compactGraph.edgeEnd(currentNode);
+        int currentDistance = distance[currentNode];
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
+
+        // Loop through the node's edges and relax each one
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = compactGraph.edgeTarget(edge);
+            int newDistance = currentDistance + compactGraph.edgeWeight(edge);
+            if (isDeadEnd(edgeNode) || (reached.isVisited(edgeNode)
+                    && newDistance >= distance[edgeNode])) {
+                continue;
+            }
+            reached.visit(edgeNode);
+            distance[edgeNode] = newDistance;
+            parent[edgeNode] = currentNode;
+            if (!closed.isVisited(edgeNode)) {
+                openSet.insertOrDecrease(edgeNode, weightedKey(edgeNode));
+            } else if (!inconsistent.isVisited(edgeNode)) {
+                inconsistent.visit(edgeNode);
+                inconsistentNodes.push(edgeNode);
+            }
+        }
+        return nextNode();
+    }
+
+    /**
+     * Finds a path from the input node to the destination node, improving
+     * it until the deadline or expansion budget runs out or the path is the
+     * shortest. The sequence path holds the nodes in the order they were
+     * expanded by all of the searches.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Start a new search from the input node with the largest weight
+        searchDeadline = System.nanoTime() + deadlineNanos;
+        expansions = 0;
+        refreshGraph();
+        setDestination(destinationNode);
+        visited.clear();
+        reached.clear();
+        closed.clear();
+        inconsistent.clear();
+        inconsistentNodes.clear();
+        openSet.clear();
+        sequencePath.clear();
+        shortestPath.clear();
+
+        int startNode = inputNode.getId();
+        reached.visit(startNode);
+        distance[startNode] = 0;
+        parent[startNode] = -1;
+        epsilon = EPSILON_START;
+        openSet.insertOrDecrease(startNode, weightedKey(startNode));
+
+        // Run searches with lower weights until the budget runs out or a
+        // search with weight 1 finds the shortest path
+        int completedEpsilon = Integer.MAX_VALUE;
+        while (improvePath()) {
+            completedEpsilon = epsilon;
+            if (epsilon == EPSILON_SCALE || !reached.isVisited(destination)) {
+                break;
+            }
+            epsilon = Math.max(EPSILON_SCALE, epsilon - EPSILON_STEP);
+            reopenInconsistentNodes();
+        }
+
+        // Destination could not be reached
+        if (!reached.isVisited(destination)) {
+            suboptimality = 1.0;
+            return;
+        }
+        suboptimality = bound(completedEpsilon);
+
+        // Walk back through the parents, then put the path start first
+        for (int node = destination; node >= 0; node = parent[node]) {
+            shortestPath.push(node);
+        }
+        shortestPath.reverseFrom(0);
+    }
+
+    /**
+     * Expands nodes with the current weight until the path to the
+     * destination cannot be improved by this search or the budget runs out.
+     * @return true if the search finished, false if the budget ran out
+     */
+    private boolean improvePath() {
+        int currentNode = nextNode();
+        while (currentNode >= 0) {
+            if (reached.isVisited(destination) && isOverBudget()) {
+                // Put the node back so the bound still accounts for it
+                openSet.insertOrDecrease(currentNode,
+                        weightedKey(currentNode));
+                return false;
+            }
+            closed.visit(currentNode);
+            visited.visit(currentNode);
+            sequencePath.push(currentNode);
+            expansions++;
+            currentNode = findShortest(currentNode);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the next node to expand with the current weight, or -1 if no
+     * open node's key is below the destination's distance.
+     * @return int id of the next node to expand
+     */
+    private int nextNode() {
+        if (openSet.isEmpty() || (reached.isVisited(destination)
+                && openSet.peekKey() >= distance[destination])) {
+            return -1;
+        }
+        return openSet.poll();
+    }
+
+    // Tests if the deadline has passed or the expansions are used up
+    private boolean isOverBudget() {
+        return expansions >= maxExpansions
+                || (expansions % CLOCK_INTERVAL == 0
+                        && System.nanoTime() - searchDeadline > 0);
+    }
+
+    /**
+     * Starts the next search: the inconsistent nodes are opened again, every
+     * open node's key is lowered to the new weight and no node counts as
+     * expanded by the new search.
+     */
+    private void reopenInconsistentNodes() {
+        reopened.clear();
+        for (int i = 0; i < openSet.size(); i++) {
+            reopened.push(openSet.nodeAt(i));
+        }
+        for (int i = 0; i < inconsistentNodes.size(); i++) {
+            reopened.push(inconsistentNodes.get(i));
+        }
+        for (int i = 0; i < reopened.size(); i++) {
+            int node = reopened.get(i);
+            openSet.insertOrDecrease(node, weightedKey(node));
+        }
+        inconsistentNodes.clear();
+        inconsistent.clear();
+        closed.clear();
+    }
+
+    /**
+     * Returns the proven bound on how many times longer the path is than
+     * the shortest path.
+     * @param completedEpsilon int weight of the last completed search, in
+     *                         tenths, or Integer.MAX_VALUE if none completed
+     * @return double suboptimality bound of at least 1
+     */
+    private double bound(int completedEpsilon) {
+        // Every shorter path passes through an open or inconsistent node
+        long lowerBound = Long.MAX_VALUE;
+        for (int i = 0; i < openSet.size(); i++) {
+            int node = openSet.nodeAt(i);
+            lowerBound = Math.min(lowerBound,
+                    (long) distance[node] + estimateDistance(node));
+        }
+        for (int i = 0; i < inconsistentNodes.size(); i++) {
+            int node = inconsistentNodes.get(i);
+            lowerBound = Math.min(lowerBound,
+                    (long) distance[node] + estimateDistance(node));
+        }
+
+        double bound = (double) completedEpsilon / EPSILON_SCALE;
+        int pathLength = distance[destination];
+        if (lowerBound == Long.MAX_VALUE || lowerBound >= pathLength) {
+            return 1.0;
+        }
+        if (lowerBound > 0) {
+            bound = Math.min(bound, (double) pathLength / lowerBound);
+        }
+        return Math.max(1.0, bound);
+    }
+
+    /**
+     * Returns a node's key for the current search: its distance from the
+     * start node plus the weighted estimate of its distance to the
+     * destination, rounded down.
+     * @param node int id of the node
+     * @return int key of the node
+     */
+    private int weightedKey(int node) {
+        long key = distance[node]
+                + (long) epsilon * estimateDistance(node) / EPSILON_SCALE;
+        return (int) Math.min(Integer.MAX_VALUE, key);
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * The AlgorithmType enum names each concrete implementation of the Algorithm
+ * class so that queries can choose an algorithm without holding an
+ * Algorithm object, which keeps per-query state and cannot be shared
+ * between threads.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public enum AlgorithmType {
+
+    ALGORITHM_1("Algorithm 1"),
+    ALGORITHM_2("Algorithm 2"),
+    A_STAR("Algorithm 3 (A*)"),
+    BIDIRECTIONAL("Algorithm 4 (Bidirectional Dijkstra)"),
+    CONTRACTION_HIERARCHY("Algorithm 5 (Contraction Hierarchies)"),
+    TABLE_LOOKUP("Algorithm 6 (All Pairs Table)"),
+    COMPRESSED("Algorithm 7 (Compressed A*)"),
+    ANYTIME("Algorithm 8 (Anytime A*)");
+
+    // Instance variables
+    private final String label;
+
+    // Constructs an algorithm type with a printable label
+    AlgorithmType(String label) { this.label = label; }
+
+    // Accessor methods
+    public String getLabel() { return label; }
+
+    /**
+     * Creates a new Algorithm object of this type over a graph.
+     * @param graph Graph object to search
+     * @return Algorithm object
+     */
+    public Algorithm create(Graph graph) {
+        switch (this) {
+            case ALGORITHM_1:
+                return new Algorithm1(graph);
+            case ALGORITHM_2:
+                return new Algorithm2(graph);
+            case A_STAR:
+                return new Algorithm3(graph);
+            case BIDIRECTIONAL:
+                return new Algorithm4(graph);
+            case CONTRACTION_HIERARCHY:
+                return new Algorithm5(graph);
+            case TABLE_LOOKUP:
+                return new Algorithm6(graph);
+            case COMPRESSED:
+                return new Algorithm7(graph);
+            default:
+                return new Algorithm8(graph);
+        }
+    }
+
+    /**
+     * Returns the algorithm type matching a name such as "A_STAR", "astar",
+     * or the algorithm's number "3".
+     * @param name String name of the algorithm type
+     * @return AlgorithmType object or null if no type matches
+     */
+    public static AlgorithmType fromName(String name) {
+        String key = name.trim().toUpperCase().replace("-", "_");
+        for (AlgorithmType type : values()) {
+            if (type.name().equals(key)
+                    || type.name().replace("_", "").equals(key)
+                    || String.valueOf(type.ordinal() + 1).equals(key)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,41 @@
+/**
+ * The BatchQuery class represents one shortest path query in a batch: a
+ * start node, a destination node and the type of algorithm to run.
+ * ANYTIME queries may also carry a deadline for their search.
+ * BatchQuery objects are immutable and can be shared between threads.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public final class BatchQuery {
+
+    // Instance variables
+    private final Node<String> startNode;
+    private final Node<String> destinationNode;
+    private final AlgorithmType algorithmType;
+    private final long deadlineNanos;
+
+    // Constructs a query from its start node, destination and algorithm
+    public BatchQuery(Node<String> startNode, Node<String> destinationNode,
+                      AlgorithmType algorithmType) {
+        this(startNode, destinationNode, algorithmType, 0);
+    }
+
+    // Constructs a query with a search deadline, or 0 for the default
+    public BatchQuery(Node<String> startNode, Node<String> destinationNode,
+                      AlgorithmType algorithmType, long deadlineNanos) {
+        this.startNode = startNode;
+        this.destinationNode = destinationNode;
+        this.algorithmType = algorithmType;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    // Accessor methods
+    public Node<String> getStartNode() { return startNode; }
+    public Node<String> getDestinationNode() { return destinationNode; }
+    public AlgorithmType getAlgorithmType() { return algorithmType; }
+    public long getDeadlineNanos() { return deadlineNanos; }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * The BatchRunner class runs a list of BatchQuery objects in parallel over a
+ * shared Graph using a ForkJoinPool. The graph is only read during a batch,
+ * while each worker thread keeps its own Algorithm object of every type so
+ * no search state is shared between threads. Results are returned in the
+ * same order as the queries.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BatchRunner {
+
+    // Instance variables
+    private final Graph graph;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<EnumMap<AlgorithmType, Algorithm>> algorithms =
+            ThreadLocal.withInitial(() -> new EnumMap<>(AlgorithmType.class));
+
+    // Constructs a runner with one worker per available processor
+    public BatchRunner(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Constructs a runner with a fixed number of worker threads
+    public BatchRunner(Graph graph, int parallelism) {
+        this.graph = graph;
+        pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    // Accessor methods
+    public Graph getGraph() { return graph; }
+    public int getParallelism() { return pool.getParallelism(); }
+
+    /**
+     * Runs every query in parallel and waits for all of them to finish.
+     * @param queries List of BatchQuery objects
+     * @return List of QueryResult objects in the order of the queries
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public List<QueryResult> runAll(List<BatchQuery> queries)
+            throws InterruptedException {
+        try {
+            return pool.submit(() -> IntStream.range(0, queries.size())
+                    .parallel()
+                    .mapToObj(i -> run(queries.get(i)))
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (ExecutionException e) {
+            // Rethrow failures from the workers unchanged
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Runs one query with the calling thread's Algorithm object of the
+     * query's type.
+     * @param query BatchQuery object
+     * @return QueryResult object
+     */
+    public QueryResult run(BatchQuery query) {
+        Algorithm algorithm = algorithms.get().computeIfAbsent(
+                query.getAlgorithmType(), type -> type.create(graph));
+
+        return algorithm.run(query);
+    }
+
+    /**
+     * Stops the worker threads once running batches have finished.
+     */
+    public void shutdown() { pool.shutdown(); }
+
+}
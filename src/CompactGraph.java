@@ -0,0 +1,272 @@
+/**
+ * The CompactGraph class represents an immutable graph stored in compressed
+ * sparse row (CSR) form. Vertices are identified by dense int ids and all
+ * edge data is kept in flat primitive arrays so that expanding a vertex is a
+ * sequential scan with no per-edge object dereferences.
+ *
+ * The outgoing edges of vertex v are stored at positions offsets[v] up to
+ * (but not including) offsets[v + 1] of the targets and weights arrays. The
+ * heuristic array holds each vertex's direct distance to the destination.
+ * The arrays are held as IntBuffers so that a graph can be served either
+ * from heap arrays or straight from a memory mapped GraphSnapshot file.
+ *
+ * CompactGraph objects are created by the nested Builder class, which
+ * Graph.populateGraph uses while parsing the input files. The Builder can
+ * also produce the reverse graph, in which every edge points the other way,
+ * for searches that run backward from the destination node.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+public final class CompactGraph {
+
+    // Instance variables
+    private final int numNodes;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private final IntBuffer heuristic;
+
+    // Constructor - the buffers must not be changed after construction
+    private CompactGraph(int numNodes, IntBuffer offsets, IntBuffer targets,
+                         IntBuffer weights, IntBuffer heuristic) {
+        this.numNodes = numNodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Creates a CompactGraph over existing CSR buffers without copying them,
+     * as when serving a graph from a memory mapped snapshot file.
+     * @param numNodes int number of nodes
+     * @param offsets IntBuffer of numNodes + 1 edge offsets
+     * @param targets IntBuffer of edge targets
+     * @param weights IntBuffer of edge weights
+     * @param heuristic IntBuffer of numNodes direct distances
+     * @return CompactGraph object
+     */
+    public static CompactGraph wrap(int numNodes, IntBuffer offsets,
+                                    IntBuffer targets, IntBuffer weights,
+                                    IntBuffer heuristic) {
+        return new CompactGraph(numNodes, offsets, targets, weights,
+                heuristic);
+    }
+
+    // Accessor methods
+    public int getNumNodes() { return numNodes; }
+    public int getNumEdges() { return offsets.get(numNodes); }
+    public int getHeuristic(int node) { return heuristic.get(node); }
+    public IntBuffer getOffsets() { return offsets.asReadOnlyBuffer(); }
+    public IntBuffer getTargets() { return targets.asReadOnlyBuffer(); }
+    public IntBuffer getWeights() { return weights.asReadOnlyBuffer(); }
+    public IntBuffer getHeuristics() { return heuristic.asReadOnlyBuffer(); }
+
+    /**
+     * Index of the first outgoing edge of a node in the edge arrays.
+     * @param node int id of the node
+     * @return int index into the targets and weights arrays
+     */
+    public int edgeStart(int node) { return offsets.get(node); }
+
+    /**
+     * Index one past the last outgoing edge of a node in the edge arrays.
+     * @param node int id of the node
+     * @return int index into the targets and weights arrays
+     */
+    public int edgeEnd(int node) { return offsets.get(node + 1); }
+
+    public int edgeTarget(int edge) { return targets.get(edge); }
+    public int edgeWeight(int edge) { return weights.get(edge); }
+
+    /**
+     * Returns the weight of the edge from one node to another.
+     * @param from int id of the source node
+     * @param to int id of the target node
+     * @return int edge weight or -1 if the nodes are not adjacent
+     */
+    public int getEdgeWeight(int from, int to) {
+        int end = offsets.get(from + 1);
+        for (int e = offsets.get(from); e < end; e++) {
+            if (targets.get(e) == to) {
+                return weights.get(e);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a copy of the graph with the weight of one edge changed. The
+     * edge is added if it does not exist and removed if the weight is 0.
+     * @param from int id of the source node
+     * @param to int id of the target node
+     * @param weight int new edge weight or 0 to remove the edge
+     * @return CompactGraph object with the edge changed
+     */
+    public CompactGraph withEdge(int from, int to, int weight) {
+        Builder builder = new Builder(numNodes);
+        boolean found = false;
+
+        // Copy every edge, replacing the changed one in place
+        for (int v = 0; v < numNodes; v++) {
+            int end = edgeEnd(v);
+            for (int e = edgeStart(v); e < end; e++) {
+                int target = targets.get(e);
+                if (v == from && target == to) {
+                    found = true;
+                    if (weight != 0) {
+                        builder.addEdge(v, target, weight);
+                    }
+                } else {
+                    builder.addEdge(v, target, weights.get(e));
+                }
+            }
+            builder.setHeuristic(v, heuristic.get(v));
+        }
+        if (!found && weight != 0) {
+            builder.addEdge(from, to, weight);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns a copy of the graph with one node's heuristic changed. The
+     * edge arrays are shared with this graph.
+     * @param node int id of the node
+     * @param distance int new direct distance to the destination
+     * @return CompactGraph object with the heuristic changed
+     */
+    public CompactGraph withHeuristic(int node, int distance) {
+        int[] newHeuristic = new int[numNodes];
+        heuristic.get(0, newHeuristic);
+        newHeuristic[node] = distance;
+        return new CompactGraph(numNodes, offsets, targets, weights,
+                IntBuffer.wrap(newHeuristic));
+    }
+
+    /**
+     * Tests if another graph shares this graph's edge arrays, as a copy
+     * made by withHeuristic does. Graphs built separately never do, even if
+     * their edges are equal.
+     * @param other CompactGraph object to compare
+     * @return true if both graphs hold the same edge arrays
+     */
+    public boolean hasSameEdges(CompactGraph other) {
+        return other != null && offsets == other.offsets
+                && targets == other.targets && weights == other.weights;
+    }
+
+    /**
+     * The Builder class collects edges and heuristic values in any order and
+     * packs them into the CSR arrays of a CompactGraph.
+     */
+    public static final class Builder {
+
+        // Instance variables
+        private final int numNodes;
+        private final int[] heuristic;
+        private int[] edgeSources = new int[16];
+        private int[] edgeTargets = new int[16];
+        private int[] edgeWeights = new int[16];
+        private int numEdges;
+
+        // Constructs a builder for a graph with a fixed number of nodes
+        public Builder(int numNodes) {
+            this.numNodes = numNodes;
+            this.heuristic = new int[numNodes];
+        }
+
+        // Mutator methods
+        public Builder addEdge(int from, int to, int weight) {
+            if (numEdges == edgeSources.length) {
+                int capacity = numEdges * 2;
+                edgeSources = Arrays.copyOf(edgeSources, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            edgeSources[numEdges] = from;
+            edgeTargets[numEdges] = to;
+            edgeWeights[numEdges] = weight;
+            numEdges++;
+            return this;
+        }
+        public Builder addEdges(int[] from, int[] to, int[] weight,
+                                int count) {
+            if (numEdges + count > edgeSources.length) {
+                int capacity = Math.max(edgeSources.length * 2,
+                        numEdges + count);
+                edgeSources = Arrays.copyOf(edgeSources, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            System.arraycopy(from, 0, edgeSources, numEdges, count);
+            System.arraycopy(to, 0, edgeTargets, numEdges, count);
+            System.arraycopy(weight, 0, edgeWeights, numEdges, count);
+            numEdges += count;
+            return this;
+        }
+        public Builder setHeuristic(int node, int distance) {
+            heuristic[node] = distance;
+            return this;
+        }
+
+        /**
+         * Packs the collected edges into CSR arrays using a counting sort on
+         * the source node so that edges keep their insertion order per node.
+         * @return CompactGraph object
+         */
+        public CompactGraph build() {
+            return pack(edgeSources, edgeTargets);
+        }
+
+        /**
+         * Packs the collected edges with their direction reversed, so the
+         * edges of a node in the result are its incoming edges.
+         * @return CompactGraph object of the reverse graph
+         */
+        public CompactGraph buildReverse() {
+            return pack(edgeTargets, edgeSources);
+        }
+
+        /**
+         * Counting sorts the edges on their source node into CSR arrays.
+         * @param sources int array of each edge's source node
+         * @param ends int array of each edge's target node
+         * @return CompactGraph object
+         */
+        private CompactGraph pack(int[] sources, int[] ends) {
+            // Count the out degree of each node
+            int[] offsets = new int[numNodes + 1];
+            for (int i = 0; i < numEdges; i++) {
+                offsets[sources[i] + 1]++;
+            }
+
+            // Prefix sum the degrees into offsets
+            for (int v = 0; v < numNodes; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            // Scatter edges into their node's slice
+            int[] targets = new int[numEdges];
+            int[] weights = new int[numEdges];
+            int[] next = Arrays.copyOf(offsets, numNodes);
+            for (int i = 0; i < numEdges; i++) {
+                int slot = next[sources[i]]++;
+                targets[slot] = ends[i];
+                weights[slot] = edgeWeights[i];
+            }
+
+            return new CompactGraph(numNodes, IntBuffer.wrap(offsets),
+                    IntBuffer.wrap(targets), IntBuffer.wrap(weights),
+                    IntBuffer.wrap(heuristic.clone()));
+        }
+    }
+
+}
@@ -0,0 +1,305 @@
+/**
+ * The CompressedGraph class represents an immutable copy of a CompactGraph
+ * whose edges take a fraction of the CompactGraph's memory, so searches of
+ * it read less memory. It is kept in addition to the CompactGraph, which
+ * it takes its direct distances from, so it does not shrink the graph.
+ *
+ * Nodes are first renumbered in reverse Cuthill-McKee order: a breadth first
+ * search from a node of lowest degree, visiting each node's neighbors in
+ * order of degree, numbers nodes that are joined by edges close together.
+ * The search follows outgoing edges and restarts from the lowest degree
+ * node left until every node is numbered. The edges of each node are then
+ * sorted by target and stored in one byte array as the varint encoded gap
+ * from the previous target (the first as a zigzag encoded difference from
+ * the node itself), each followed by its weight in the fewest bytes that
+ * fit the largest weight of the graph. After renumbering most gaps fit in
+ * one byte, and the searches of nearby nodes touch nearby memory.
+ *
+ * Node ids of a CompressedGraph are the renumbered ones; toInternal and
+ * toOriginal convert between them and the ids of the CompactGraph. The
+ * edges of a node are read with an EdgeCursor, which decodes them one at a
+ * time without allocating.
+ *
+ * The byte array limits a compressed graph to 2 GiB of encoded edges.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+
+public final class CompressedGraph {
+
+    // Instance variables
+    private final int numNodes;
+    private final int numEdges;
+    private final int[] offsets;
+    private final byte[] edges;
+    private final int weightBytes;
+    private final int[] order;
+    private final int[] rank;
+
+    // Constructor - only called by compress
+    private CompressedGraph(int numNodes, int numEdges, int[] offsets,
+                            byte[] edges, int weightBytes, int[] order,
+                            int[] rank) {
+        this.numNodes = numNodes;
+        this.numEdges = numEdges;
+        this.offsets = offsets;
+        this.edges = edges;
+        this.weightBytes = weightBytes;
+        this.order = order;
+        this.rank = rank;
+    }
+
+    // Accessor methods
+    public int getNumNodes() { return numNodes; }
+    public int getNumEdges() { return numEdges; }
+    public int getWeightBytes() { return weightBytes; }
+    public int toInternal(int originalNode) { return rank[originalNode]; }
+    public int toOriginal(int node) { return order[node]; }
+
+    /**
+     * Returns the number of bytes held by the graph's arrays.
+     * @return long size in bytes
+     */
+    public long getSizeInBytes() {
+        return edges.length + 4L * (offsets.length + order.length
+                + rank.length);
+    }
+
+    /**
+     * Returns a new cursor over the edges of this graph.
+     * @return EdgeCursor object
+     */
+    public EdgeCursor newEdgeCursor() { return new EdgeCursor(this); }
+
+    /**
+     * Compresses a CompactGraph, renumbering its nodes to bring neighbors
+     * close together.
+     * @param graph CompactGraph object to compress
+     * @return CompressedGraph object
+     */
+    public static CompressedGraph compress(CompactGraph graph) {
+        int numNodes = graph.getNumNodes();
+        int[] order = reverseCuthillMcKee(graph);
+        int[] rank = new int[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            rank[order[node]] = node;
+        }
+
+        // Use the fewest bytes that fit every weight
+        int maxWeight = 0;
+        for (int edge = 0; edge < graph.getNumEdges(); edge++) {
+            maxWeight = Math.max(maxWeight, graph.edgeWeight(edge));
+        }
+        int weightBytes = 1;
+        while (weightBytes < 4 && maxWeight >>> (8 * weightBytes) != 0) {
+            weightBytes++;
+        }
+
+        // Encode the edges of each node sorted by their renumbered target
+        int[] offsets = new int[numNodes + 1];
+        byte[] edges = new byte[Math.max(16, graph.getNumEdges() * 2)];
+        long[] sorted = new long[16];
+        int position = 0;
+        for (int node = 0; node < numNodes; node++) {
+            int original = order[node];
+            offsets[node] = position;
+
+            int degree = graph.edgeEnd(original) - graph.edgeStart(original);
+            if (degree > sorted.length) {
+                sorted = new long[Math.max(degree, sorted.length * 2)];
+            }
+            for (int i = 0; i < degree; i++) {
+                int edge = graph.edgeStart(original) + i;
+                sorted[i] = (long) rank[graph.edgeTarget(edge)] << 32
+                        | graph.edgeWeight(edge);
+            }
+            Arrays.sort(sorted, 0, degree);
+
+            int previous = node;
+            for (int i = 0; i < degree; i++) {
+                // Leave room for the longest varint and weight
+                if (edges.length - position < 9) {
+                    long capacity = Math.min(Integer.MAX_VALUE - 8,
+                            (long) edges.length * 2);
+                    if (capacity - position < 9) {
+                        throw new IllegalStateException(
+                                "Graph is too large to compress");
+                    }
+                    edges = Arrays.copyOf(edges, (int) capacity);
+                }
+                int target = (int) (sorted[i] >>> 32);
+                int gap = target - previous;
+                position = writeVarint(edges, position,
+                        i == 0 ? (gap << 1) ^ (gap >> 31) : gap);
+                int weight = (int) sorted[i];
+                for (int b = 0; b < weightBytes; b++) {
+                    edges[position++] = (byte) (weight >>> (8 * b));
+                }
+                previous = target;
+            }
+        }
+        offsets[numNodes] = position;
+
+        return new CompressedGraph(numNodes, graph.getNumEdges(), offsets,
+                Arrays.copyOf(edges, position), weightBytes, order, rank);
+    }
+
+    /**
+     * Numbers the nodes of a graph in reverse Cuthill-McKee order.
+     * @param graph CompactGraph object
+     * @return int array of the original id of each new node id
+     */
+    static int[] reverseCuthillMcKee(CompactGraph graph) {
+        int numNodes = graph.getNumNodes();
+
+        // Counting sort the nodes by degree to pick each search's start
+        int[] degree = new int[numNodes];
+        int maxDegree = 0;
+        for (int node = 0; node < numNodes; node++) {
+            degree[node] = graph.edgeEnd(node) - graph.edgeStart(node);
+            maxDegree = Math.max(maxDegree, degree[node]);
+        }
+        int[] byDegree = new int[numNodes];
+        int[] counts = new int[maxDegree + 2];
+        for (int node = 0; node < numNodes; node++) {
+            counts[degree[node] + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            counts[d + 1] += counts[d];
+        }
+        for (int node = 0; node < numNodes; node++) {
+            byDegree[counts[degree[node]]++] = node;
+        }
+
+        // Breadth first search with the order array as the queue
+        int[] order = new int[numNodes];
+        boolean[] numbered = new boolean[numNodes];
+        long[] neighbors = new long[16];
+        int tail = 0;
+        for (int start : byDegree) {
+            if (numbered[start]) {
+                continue;
+            }
+            numbered[start] = true;
+            order[tail++] = start;
+            for (int head = tail - 1; head < tail; head++) {
+                int node = order[head];
+
+                // Queue unnumbered neighbors in order of degree
+                int count = 0;
+                int edgeEnd = graph.edgeEnd(node);
+                for (int edge = graph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int target = graph.edgeTarget(edge);
+                    if (!numbered[target]) {
+                        numbered[target] = true;
+                        if (count == neighbors.length) {
+                            neighbors = Arrays.copyOf(neighbors, count * 2);
+                        }
+                        neighbors[count++] = (long) degree[target] << 32
+                                | target;
+                    }
+                }
+                Arrays.sort(neighbors, 0, count);
+                for (int i = 0; i < count; i++) {
+                    order[tail++] = (int) neighbors[i];
+                }
+            }
+        }
+
+        // Reverse the Cuthill-McKee order
+        for (int i = 0, j = numNodes - 1; i < j; i++, j--) {
+            int node = order[i];
+            order[i] = order[j];
+            order[j] = node;
+        }
+        return order;
+    }
+
+    /**
+     * Appends an unsigned varint: 7 bits per byte, low bits first, with the
+     * high bit set on every byte but the last.
+     * @param bytes byte array to write to
+     * @param position int index of the first byte to write
+     * @param value int value to write
+     * @return int index after the last byte written
+     */
+    private static int writeVarint(byte[] bytes, int position, int value) {
+        while ((value & ~0x7f) != 0) {
+            bytes[position++] = (byte) (value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * The EdgeCursor class decodes the edges of one node at a time. A search
+     * keeps one cursor and starts it on each node it expands:
+     *
+     *     cursor.start(node);
+     *     while (cursor.next()) {
+     *         relax(cursor.target(), cursor.weight());
+     *     }
+     */
+    public static final class EdgeCursor {
+
+        // Instance variables
+        private final CompressedGraph graph;
+        private int position;
+        private int end;
+        private int target;
+        private int weight;
+        private boolean first;
+
+        // Constructs a cursor with no edges left
+        private EdgeCursor(CompressedGraph graph) { this.graph = graph; }
+
+        // Accessor methods
+        public CompressedGraph getGraph() { return graph; }
+        public int target() { return target; }
+        public int weight() { return weight; }
+
+        /**
+         * Starts reading the edges of a node.
+         * @param node int id of the node in the compressed graph
+         */
+        public void start(int node) {
+            position = graph.offsets[node];
+            end = graph.offsets[node + 1];
+            target = node;
+            first = true;
+        }
+
+        /**
+         * Decodes the next edge of the node.
+         * @return true if there was an edge, false once all were read
+         */
+        public boolean next() {
+            if (position >= end) {
+                return false;
+            }
+            byte[] bytes = graph.edges;
+            int b = bytes[position++];
+            int gap = b & 0x7f;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = bytes[position++];
+                gap |= (b & 0x7f) << shift;
+            }
+            target += first ? (gap >>> 1) ^ -(gap & 1) : gap;
+            first = false;
+
+            int value = bytes[position++] & 0xff;
+            for (int i = 1; i < graph.weightBytes; i++) {
+                value |= (bytes[position++] & 0xff) << (8 * i);
+            }
+            weight = value;
+            return true;
+        }
+    }
+
+}
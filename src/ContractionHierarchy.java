@@ -0,0 +1,656 @@
+/**
+ * The ContractionHierarchy class holds a contraction hierarchy of a graph
+ * for Algorithm5. Nodes are contracted in order of importance, and each
+ * contraction adds shortcut edges between the node's neighbors that keep
+ * their shortest distances. Every edge then leads to a node contracted
+ * later, so a query's searches from both ends only move up the hierarchy.
+ *
+ * The upward graph holds each node's outgoing edges to later nodes and the
+ * downward graph its incoming edges from later nodes. Each edge keeps the
+ * node it shortcuts, or -1, so routes can be unpacked. build contracts
+ * every node, so the hierarchies it builds have an empty core; a core of
+ * uncontracted nodes that keep all their edges in both graphs is still
+ * read from hierarchy files.
+ *
+ * Hierarchies are written to files with the little endian layout of a
+ * GraphSnapshot: a header, each node's rank, then the upward graph's
+ * offsets, targets, weights and middle nodes followed by the downward
+ * graph's.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public final class ContractionHierarchy {
+
+    // Class variables
+    public static final int MAGIC = 0x53504348;
+    public static final int VERSION = 1;
+    private static final int HEADER_INTS = 6;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    // Instance variables
+    private final int numNodes;
+    private final int coreSize;
+    private final IntBuffer rank;
+    private final SearchGraph upward;
+    private final SearchGraph downward;
+
+    // Constructor - only called by build and open
+    private ContractionHierarchy(int numNodes, int coreSize, IntBuffer rank,
+                                 SearchGraph upward, SearchGraph downward) {
+        this.numNodes = numNodes;
+        this.coreSize = coreSize;
+        this.rank = rank;
+        this.upward = upward;
+        this.downward = downward;
+    }
+
+    // Accessor methods
+    public int getNumNodes() { return numNodes; }
+    public int getCoreSize() { return coreSize; }
+    public int getRank(int node) { return rank.get(node); }
+    public boolean isCore(int node) {
+        return rank.get(node) >= numNodes - coreSize;
+    }
+    public SearchGraph getUpward() { return upward; }
+    public SearchGraph getDownward() { return downward; }
+
+    /**
+     * Contracts every node of a graph and builds its hierarchy.
+     * @param graph CompactGraph object of the graph's edges
+     * @return ContractionHierarchy object
+     */
+    public static ContractionHierarchy build(CompactGraph graph) {
+        return new Contractor(graph).contract();
+    }
+
+    /**
+     * Unpacks an edge of the hierarchy into the input graph's nodes on its
+     * route, passing each node after the edge's source to a consumer in
+     * route order.
+     * @param from int id of the edge's source node
+     * @param to int id of the edge's target node
+     * @param middle int id of the node the edge shortcuts or -1
+     * @param consumer IntConsumer that receives the node ids
+     */
+    public void unpack(int from, int to, int middle, IntConsumer consumer) {
+        unpack(from, to, middle, consumer, new IntPath());
+    }
+
+    /**
+     * Unpacks an edge of the hierarchy like unpack, keeping the edges still
+     * to unpack in a caller's IntPath so that repeated calls allocate
+     * nothing.
+     * @param from int id of the edge's source node
+     * @param to int id of the edge's target node
+     * @param middle int id of the node the edge shortcuts or -1
+     * @param consumer IntConsumer that receives the node ids
+     * @param stack IntPath object used as the stack, left empty
+     */
+    public void unpack(int from, int to, int middle, IntConsumer consumer,
+                       IntPath stack) {
+        // Stack of (from, to, middle) edges still to unpack
+        stack.clear();
+        stack.push(from);
+        stack.push(to);
+        stack.push(middle);
+
+        while (!stack.isEmpty()) {
+            middle = stack.pop();
+            to = stack.pop();
+            from = stack.pop();
+            if (middle < 0) {
+                consumer.accept(to);
+                continue;
+            }
+
+            // The two halves of a shortcut are edges of its middle node;
+            // Push the second half first so that the first is unpacked first
+            int second = upward.findEdge(middle, to);
+            stack.push(middle);
+            stack.push(to);
+            stack.push(upward.middle(second));
+            int first = downward.findEdge(middle, from);
+            stack.push(from);
+            stack.push(middle);
+            stack.push(downward.middle(first));
+        }
+    }
+
+    /**
+     * Writes the hierarchy to a file, replacing any existing file.
+     * @param filename String name of the hierarchy file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            IntBuffer header = IntBuffer.wrap(new int[] { MAGIC, VERSION,
+                    numNodes, coreSize, upward.getNumEdges(),
+                    downward.getNumEdges() });
+            GraphSnapshot.writeInts(channel, buffer, header);
+            GraphSnapshot.writeInts(channel, buffer, rank.duplicate());
+            for (SearchGraph g : new SearchGraph[] { upward, downward }) {
+                for (IntBuffer section : new IntBuffer[] {
+                        g.offsets, g.targets, g.weights, g.middles }) {
+                    GraphSnapshot.writeInts(channel, buffer,
+                            section.duplicate());
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a hierarchy file and maps its sections.
+     * @param filename String name of the hierarchy file
+     * @return ContractionHierarchy object over the mapped file
+     * @throws IOException if the file cannot be read or is not a hierarchy
+     */
+    public static ContractionHierarchy open(String filename)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+
+            // Read and check the header
+            long fileSize = channel.size();
+            if (fileSize < HEADER_INTS * 4L) {
+                throw new IOException("Not a contraction hierarchy: "
+                        + filename);
+            }
+            IntBuffer header = GraphSnapshot.map(channel, 0, HEADER_INTS);
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Not a contraction hierarchy: "
+                        + filename);
+            }
+            if (header.get(1) != VERSION) {
+                throw new IOException("Unsupported contraction hierarchy "
+                        + "version " + header.get(1) + ": " + filename);
+            }
+            int numNodes = header.get(2);
+            int coreSize = header.get(3);
+            int numUpEdges = header.get(4);
+            int numDownEdges = header.get(5);
+            long expectedSize = 4L * (HEADER_INTS + numNodes
+                    + 2L * (numNodes + 1) + 3L * numUpEdges
+                    + 3L * numDownEdges);
+            if (fileSize != expectedSize) {
+                throw new IOException("Truncated contraction hierarchy: "
+                        + filename);
+            }
+
+            // Map the sections; The mappings stay valid after closing
+            long position = HEADER_INTS * 4L;
+            IntBuffer rank = GraphSnapshot.map(channel, position, numNodes);
+            position += 4L * numNodes;
+            SearchGraph[] graphs = new SearchGraph[2];
+            for (int i = 0; i < graphs.length; i++) {
+                int numEdges = i == 0 ? numUpEdges : numDownEdges;
+                IntBuffer offsets = GraphSnapshot.map(channel, position,
+                        numNodes + 1);
+                position += 4L * (numNodes + 1);
+                IntBuffer[] edges = new IntBuffer[3];
+                for (int j = 0; j < edges.length; j++) {
+                    edges[j] = GraphSnapshot.map(channel, position, numEdges);
+                    position += 4L * numEdges;
+                }
+                graphs[i] = new SearchGraph(offsets, edges[0], edges[1],
+                        edges[2]);
+            }
+            return new ContractionHierarchy(numNodes, coreSize, rank,
+                    graphs[0], graphs[1]);
+        }
+    }
+
+    /**
+     * The SearchGraph class holds one direction of a hierarchy in CSR form,
+     * like a CompactGraph with the middle node of each edge added.
+     */
+    public static final class SearchGraph {
+
+        // Instance variables
+        private final IntBuffer offsets;
+        private final IntBuffer targets;
+        private final IntBuffer weights;
+        private final IntBuffer middles;
+
+        // Constructor - the buffers must not be changed after construction
+        private SearchGraph(IntBuffer offsets, IntBuffer targets,
+                            IntBuffer weights, IntBuffer middles) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.middles = middles;
+        }
+
+        // Accessor methods
+        public int getNumEdges() { return targets.limit(); }
+        public int edgeStart(int node) { return offsets.get(node); }
+        public int edgeEnd(int node) { return offsets.get(node + 1); }
+        public int edgeTarget(int edge) { return targets.get(edge); }
+        public int edgeWeight(int edge) { return weights.get(edge); }
+        public int middle(int edge) { return middles.get(edge); }
+
+        /**
+         * Returns the index of a node's edge to a target node.
+         * @param node int id of the node
+         * @param target int id of the target node
+         * @return int index of the edge or -1 if there is none
+         */
+        public int findEdge(int node, int target) {
+            int end = offsets.get(node + 1);
+            for (int e = offsets.get(node); e < end; e++) {
+                if (targets.get(e) == target) {
+                    return e;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The Contractor class holds the remaining graph while its nodes are
+     * contracted, with each node's incoming and outgoing edges in an
+     * EdgeSet. The last nodes contracted are the most connected, so on
+     * graphs without a clear hierarchy, such as scale-free graphs, most of
+     * the time is spent on their witness searches.
+     */
+    private static final class Contractor {
+
+        // Class variables
+        private static final int MIN_WITNESS_SETTLE_LIMIT = 50;
+        private static final int MAX_WITNESS_SETTLE_LIMIT = 1000;
+        private static final int WITNESS_SETTLES_PER_EDGE = 20;
+
+        // Instance variables
+        private final int numNodes;
+        private final EdgeSet[] out;
+        private final EdgeSet[] in;
+        private final int[] priority;
+        private final int[] deletedNeighbors;
+        private final int[] depth;
+        private final int[] rank;
+        private int nextRank;
+        private int witnessSettleLimit = MIN_WITNESS_SETTLE_LIMIT;
+        private final ConcurrentLinkedQueue<WitnessSearch> searches =
+                new ConcurrentLinkedQueue<>();
+
+        // Constructs a contractor over a copy of a graph's edges
+        private Contractor(CompactGraph graph) {
+            numNodes = graph.getNumNodes();
+            out = new EdgeSet[numNodes];
+            in = new EdgeSet[numNodes];
+            for (int v = 0; v < numNodes; v++) {
+                out[v] = new EdgeSet();
+                in[v] = new EdgeSet();
+            }
+            for (int v = 0; v < numNodes; v++) {
+                int end = graph.edgeEnd(v);
+                for (int e = graph.edgeStart(v); e < end; e++) {
+                    int target = graph.edgeTarget(e);
+                    if (target != v) {
+                        out[v].addOrLower(target, graph.edgeWeight(e), -1);
+                        in[target].addOrLower(v, graph.edgeWeight(e), -1);
+                    }
+                }
+            }
+            priority = new int[numNodes];
+            deletedNeighbors = new int[numNodes];
+            depth = new int[numNodes];
+            rank = new int[numNodes];
+        }
+
+        /**
+         * Contracts every node in order of importance. Importance is
+         * updated lazily: the least important node's importance is worked
+         * out again before it is contracted, and the node is queued again
+         * if it is no longer the least important.
+         * @return ContractionHierarchy object
+         */
+        private ContractionHierarchy contract() {
+            // Work out every node's importance and queue the nodes by it
+            IntStream.range(0, numNodes).parallel()
+                    .forEach(v -> priority[v] =
+                            importance(v, findShortcuts(v)));
+            IndexedHeap queue = new IndexedHeap(numNodes);
+            long remainingEdges = 0;
+            for (int v = 0; v < numNodes; v++) {
+                queue.insertOrDecrease(v, priority[v]);
+                remainingEdges += out[v].size;
+            }
+
+            while (!queue.isEmpty()) {
+                // Search longer for witnesses as the remaining graph gets
+                // denser, where missed witnesses add the most shortcuts
+                witnessSettleLimit = (int) Math.max(MIN_WITNESS_SETTLE_LIMIT,
+                        Math.min(MAX_WITNESS_SETTLE_LIMIT,
+                                WITNESS_SETTLES_PER_EDGE * remainingEdges
+                                        / queue.size()));
+
+                // Update the least important node's importance
+                int node = queue.poll();
+                int[] shortcuts = findShortcuts(node);
+                priority[node] = importance(node, shortcuts);
+                if (!queue.isEmpty() && priority[node] > queue.peekKey()) {
+                    queue.insertOrDecrease(node, priority[node]);
+                    continue;
+                }
+
+                // Contract the node and add its shortcuts
+                remainingEdges -= removeNode(node);
+                for (int s = 0; s < shortcuts.length; s += 3) {
+                    int from = shortcuts[s];
+                    int to = shortcuts[s + 1];
+                    int weight = shortcuts[s + 2];
+                    if (out[from].addOrLower(to, weight, node)) {
+                        remainingEdges++;
+                    }
+                    in[to].addOrLower(from, weight, node);
+                }
+
+                // Requeue the neighbors, whose contracted neighbor counts
+                // rose; Their other changes are found when they are polled
+                for (EdgeSet edges : new EdgeSet[] { out[node], in[node] }) {
+                    for (int i = 0; i < edges.size; i++) {
+                        int neighbor = edges.nodes[i];
+                        if (queue.remove(neighbor)) {
+                            queue.insertOrDecrease(neighbor,
+                                    priority[neighbor]);
+                        }
+                    }
+                }
+            }
+            return new ContractionHierarchy(numNodes, 0,
+                    IntBuffer.wrap(rank), pack(out), pack(in));
+        }
+
+        /**
+         * Importance of a node if it were contracted next.
+         * @param node int id of the node
+         * @param shortcuts int array of the node's shortcut triples
+         * @return int edge difference plus contracted neighbors and depth
+         */
+        private int importance(int node, int[] shortcuts) {
+            return shortcuts.length / 3 - out[node].size - in[node].size
+                    + deletedNeighbors[node] + depth[node];
+        }
+
+        /**
+         * Finds the shortcuts needed to contract a node. A shortcut from an
+         * incoming to an outgoing neighbor is needed unless a witness search
+         * finds a route between them, avoiding the node, that is no longer
+         * than the route through the node.
+         * @param node int id of the node
+         * @return int array of (from, to, weight) shortcut triples
+         */
+        private int[] findShortcuts(int node) {
+            EdgeSet nodeIn = in[node];
+            EdgeSet nodeOut = out[node];
+            int maxOut = 0;
+            for (int i = 0; i < nodeOut.size; i++) {
+                maxOut = Math.max(maxOut, nodeOut.weights[i]);
+            }
+
+            // Borrow an idle witness search or create one
+            WitnessSearch search = searches.poll();
+            if (search == null) {
+                search = new WitnessSearch(numNodes);
+            }
+
+            int[] shortcuts = new int[0];
+            int numShortcuts = 0;
+            for (int i = 0; i < nodeIn.size; i++) {
+                int from = nodeIn.nodes[i];
+                int inWeight = nodeIn.weights[i];
+                search.run(from, node, inWeight + maxOut, nodeOut);
+
+                for (int j = 0; j < nodeOut.size; j++) {
+                    int to = nodeOut.nodes[j];
+                    int viaWeight = inWeight + nodeOut.weights[j];
+                    if (to == from || search.distance(to) <= viaWeight) {
+                        continue;
+                    }
+                    if (numShortcuts * 3 == shortcuts.length) {
+                        shortcuts = Arrays.copyOf(shortcuts,
+                                Math.max(12, shortcuts.length * 2));
+                    }
+                    shortcuts[numShortcuts * 3] = from;
+                    shortcuts[numShortcuts * 3 + 1] = to;
+                    shortcuts[numShortcuts * 3 + 2] = viaWeight;
+                    numShortcuts++;
+                }
+            }
+            searches.offer(search);
+            return Arrays.copyOf(shortcuts, numShortcuts * 3);
+        }
+
+        /**
+         * Removes a contracted node from its neighbors' edge sets. The
+         * node's own edge sets are kept as its edges in the hierarchy.
+         * @param node int id of the node
+         * @return int number of edges removed from the remaining graph
+         */
+        private int removeNode(int node) {
+            for (int i = 0; i < out[node].size; i++) {
+                int neighbor = out[node].nodes[i];
+                in[neighbor].remove(node);
+                raiseNeighbor(neighbor, node);
+            }
+            for (int i = 0; i < in[node].size; i++) {
+                int neighbor = in[node].nodes[i];
+                out[neighbor].remove(node);
+                raiseNeighbor(neighbor, node);
+            }
+            rank[node] = nextRank++;
+            return out[node].size + in[node].size;
+        }
+
+        /**
+         * Raises the importance of a contracted node's neighbor, which has
+         * one more contracted neighbor and lies at least one level above
+         * the node in the hierarchy.
+         * @param neighbor int id of the neighbor
+         * @param node int id of the contracted node
+         */
+        private void raiseNeighbor(int neighbor, int node) {
+            int neighborDepth = Math.max(depth[neighbor], depth[node] + 1);
+            priority[neighbor] += 1 + neighborDepth - depth[neighbor];
+            deletedNeighbors[neighbor]++;
+            depth[neighbor] = neighborDepth;
+        }
+
+        /**
+         * Packs the kept edge sets of every node into a SearchGraph.
+         * @param sets EdgeSet array of each node's edges
+         * @return SearchGraph object
+         */
+        private SearchGraph pack(EdgeSet[] sets) {
+            int[] offsets = new int[numNodes + 1];
+            for (int v = 0; v < numNodes; v++) {
+                offsets[v + 1] = offsets[v] + sets[v].size;
+            }
+            int numEdges = offsets[numNodes];
+            int[] targets = new int[numEdges];
+            int[] weights = new int[numEdges];
+            int[] middles = new int[numEdges];
+            for (int v = 0; v < numNodes; v++) {
+                EdgeSet edges = sets[v];
+                System.arraycopy(edges.nodes, 0, targets, offsets[v],
+                        edges.size);
+                System.arraycopy(edges.weights, 0, weights, offsets[v],
+                        edges.size);
+                System.arraycopy(edges.middles, 0, middles, offsets[v],
+                        edges.size);
+            }
+            return new SearchGraph(IntBuffer.wrap(offsets),
+                    IntBuffer.wrap(targets), IntBuffer.wrap(weights),
+                    IntBuffer.wrap(middles));
+        }
+
+        /**
+         * The WitnessSearch class is a Dijkstra search over the remaining
+         * graph that skips one node. It stops once every target is settled,
+         * and gives up once it passes a distance or settles more than
+         * witnessSettleLimit nodes, so a witness may be missed and an
+         * unneeded shortcut added, which costs space but never a wrong
+         * route.
+         */
+        private final class WitnessSearch {
+
+            // Instance variables
+            private final IndexedHeap openSet;
+            private final VisitedSet reached;
+            private final VisitedSet targets;
+            private final int[] distance;
+
+            // Constructs a search sized to the graph
+            private WitnessSearch(int numNodes) {
+                openSet = new IndexedHeap(numNodes);
+                reached = new VisitedSet(numNodes);
+                targets = new VisitedSet(numNodes);
+                distance = new int[numNodes];
+            }
+
+            /**
+             * Searches from a node until its targets are settled or the
+             * search passes a maximum distance.
+             * @param source int id of the node to search from
+             * @param skipped int id of the node being contracted
+             * @param maxDistance int distance at which to stop
+             * @param targetSet EdgeSet of the nodes to search for
+             */
+            private void run(int source, int skipped, int maxDistance,
+                             EdgeSet targetSet) {
+                openSet.clear();
+                reached.clear();
+                reached.visit(source);
+                distance[source] = 0;
+                openSet.insertOrDecrease(source, 0);
+
+                // Mark the targets so the search can stop once they settle
+                targets.clear();
+                int unsettled = 0;
+                for (int i = 0; i < targetSet.size; i++) {
+                    int target = targetSet.nodes[i];
+                    if (target != source && !targets.isVisited(target)) {
+                        targets.visit(target);
+                        unsettled++;
+                    }
+                }
+
+                int settled = 0;
+                while (unsettled > 0 && !openSet.isEmpty()
+                        && openSet.peekKey() <= maxDistance
+                        && settled++ < witnessSettleLimit) {
+                    int node = openSet.poll();
+                    if (targets.isVisited(node)) {
+                        unsettled--;
+                    }
+                    EdgeSet edges = out[node];
+                    for (int i = 0; i < edges.size; i++) {
+                        int edgeNode = edges.nodes[i];
+                        if (edgeNode == skipped) {
+                            continue;
+                        }
+                        int newDistance = distance[node] + edges.weights[i];
+                        if (!reached.isVisited(edgeNode)
+                                || newDistance < distance[edgeNode]) {
+                            reached.visit(edgeNode);
+                            distance[edgeNode] = newDistance;
+                            openSet.insertOrDecrease(edgeNode, newDistance);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Shortest distance found from the source to a node.
+             * @param node int id of the node
+             * @return int distance or Integer.MAX_VALUE if not reached
+             */
+            private int distance(int node) {
+                return reached.isVisited(node) ? distance[node]
+                        : Integer.MAX_VALUE;
+            }
+        }
+    }
+
+    /**
+     * The EdgeSet class holds the edges of one node in one direction as
+     * parallel arrays of neighbor, weight and middle node, with at most one
+     * edge per neighbor.
+     */
+    private static final class EdgeSet {
+
+        // Instance variables
+        private int[] nodes = new int[4];
+        private int[] weights = new int[4];
+        private int[] middles = new int[4];
+        private int size;
+
+        /**
+         * Adds an edge, or lowers the weight of the edge to the same
+         * neighbor if the new edge is shorter.
+         * @param node int id of the neighbor
+         * @param weight int edge weight
+         * @param middle int id of the node the edge shortcuts or -1
+         * @return true if a new edge was added
+         */
+        private boolean addOrLower(int node, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return false;
+                }
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+            return true;
+        }
+
+        /**
+         * Removes the edge to a neighbor by moving the last edge into its
+         * place.
+         * @param node int id of the neighbor
+         */
+        private void remove(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+}
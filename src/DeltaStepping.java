@@ -0,0 +1,283 @@
+/**
+ * The DeltaStepping class finds the shortest distance from one start node to
+ * every node of a graph with the parallel delta-stepping algorithm, so that
+ * graphs with tens of millions of edges keep every core busy.
+ *
+ * Nodes waiting to be settled are kept in buckets of tentative distances
+ * delta wide. The lowest bucket is emptied in phases: in each phase the
+ * light edges (weight up to delta) of every node in the bucket are relaxed
+ * in parallel, which may put nodes back into the bucket for another phase.
+ * Once the bucket stays empty its nodes are settled, and their heavy edges
+ * are relaxed in parallel in one more phase. Buckets are kept in a ring of
+ * maxWeight / delta + 2 slots, which is all that tentative distances ever
+ * span at once.
+ *
+ * Each phase splits the nodes into chunks of CHUNK_SIZE that parallel
+ * workers relax with compare and swap on a plain int array of distances, so
+ * no locks are taken. Workers note the nodes they improved in their own
+ * lists, which are sorted into buckets between phases. A small delta does
+ * little wasted work but needs many phases, and a large one the reverse; by
+ * default delta is the maximum weight divided by the average out degree.
+ *
+ * A DeltaStepping object reuses its arrays from one run to the next and
+ * runs one search at a time.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+public final class DeltaStepping {
+
+    // Class variables
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int CHUNK_SIZE = 256;
+    private static final VarHandle DISTANCE =
+            MethodHandles.arrayElementVarHandle(int[].class);
+
+    // Instance variables
+    private final Graph graph;
+    private final int fixedDelta;
+    private final ConcurrentLinkedQueue<Worker> idleWorkers =
+            new ConcurrentLinkedQueue<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private CompactGraph compactGraph;
+    private int delta;
+    private IntPath[] buckets;
+    private int[] queuedBucket;
+    private int[] settledBucket;
+    private int[] frontier;
+    private int[] settled;
+
+    // Constructs a search over a populated graph with the default delta
+    public DeltaStepping(Graph graph) { this(graph, 0); }
+
+    /**
+     * Constructs a search over a populated graph with a fixed delta.
+     * @param graph Graph object populated with data
+     * @param delta int width of the buckets, or 0 for the default
+     */
+    public DeltaStepping(Graph graph, int delta) {
+        if (delta < 0) {
+            throw new IllegalArgumentException("Delta must not be negative: "
+                    + delta);
+        }
+        this.graph = graph;
+        this.fixedDelta = delta;
+    }
+
+    // Accessor methods
+    public Graph getGraph() { return graph; }
+    public int getDelta() { return delta; }
+
+    /**
+     * Finds the shortest distance from a start node to every node.
+     * @param startNode String Node object
+     * @return int array of distances indexed by node id, with UNREACHABLE
+     *         for the nodes that cannot be reached
+     */
+    public int[] run(Node<String> startNode) {
+        // Pick up the current graph, resizing the arrays if it changed
+        CompactGraph current;
+        synchronized (graph) {
+            current = graph.getCompactGraph();
+        }
+        if (current != compactGraph) {
+            prepare(current);
+        }
+
+        int[] distance = new int[compactGraph.getNumNodes()];
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(settledBucket, -1);
+        int start = startNode.getId();
+        distance[start] = 0;
+        queuedBucket[start] = 0;
+        buckets[0].push(start);
+        long pending = 1;
+
+        for (int bucket = 0; pending > 0; bucket++) {
+            IntPath nodes = buckets[bucket % buckets.length];
+            int numSettled = 0;
+
+            // Relax light edges until no node falls back into the bucket
+            while (!nodes.isEmpty()) {
+                int size = 0;
+                for (int i = 0; i < nodes.size(); i++) {
+                    int node = nodes.get(i);
+                    pending--;
+
+                    // Skip nodes that moved to a lower bucket since
+                    if (queuedBucket[node] != bucket) {
+                        continue;
+                    }
+                    queuedBucket[node] = -1;
+                    frontier[size++] = node;
+                    if (settledBucket[node] != bucket) {
+                        settledBucket[node] = bucket;
+                        settled[numSettled++] = node;
+                    }
+                }
+                nodes.clear();
+                relaxAll(distance, frontier, size, true);
+                pending += sortIntoBuckets(distance);
+            }
+
+            // Relax the heavy edges of the nodes settled in the bucket
+            relaxAll(distance, settled, numSettled, false);
+            pending += sortIntoBuckets(distance);
+        }
+        return distance;
+    }
+
+    /**
+     * Sizes the buckets and arrays for a graph and picks its delta.
+     * @param compactGraph CompactGraph object to search
+     */
+    private void prepare(CompactGraph compactGraph) {
+        int numNodes = compactGraph.getNumNodes();
+        int numEdges = compactGraph.getNumEdges();
+        int maxWeight = 1;
+        for (int edge = 0; edge < numEdges; edge++) {
+            maxWeight = Math.max(maxWeight, compactGraph.edgeWeight(edge));
+        }
+        delta = fixedDelta;
+        if (delta == 0) {
+            double degree = Math.max(1.0, (double) numEdges / numNodes);
+            delta = Math.max(1, (int) (maxWeight / degree));
+        }
+
+        buckets = new IntPath[maxWeight / delta + 2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntPath();
+        }
+        if (queuedBucket == null || queuedBucket.length != numNodes) {
+            queuedBucket = new int[numNodes];
+            settledBucket = new int[numNodes];
+            frontier = new int[numNodes];
+            settled = new int[numNodes];
+        }
+        Arrays.fill(queuedBucket, -1);
+        this.compactGraph = compactGraph;
+    }
+
+    /**
+     * Relaxes the light or heavy edges of a list of nodes, in parallel
+     * chunks if there is more than one chunk of them.
+     * @param distance int array of tentative distances
+     * @param nodes int array of node ids
+     * @param size int number of nodes in the array
+     * @param light boolean true for light edges, false for heavy edges
+     */
+    private void relaxAll(int[] distance, int[] nodes, int size,
+                          boolean light) {
+        int numChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (numChunks <= 1) {
+            relaxChunk(distance, nodes, 0, size, light);
+            return;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(chunk ->
+                relaxChunk(distance, nodes, chunk * CHUNK_SIZE,
+                        Math.min(size, (chunk + 1) * CHUNK_SIZE), light));
+    }
+
+    /**
+     * Relaxes the light or heavy edges of a chunk of nodes with an idle
+     * worker, creating one if none is idle.
+     * @param distance int array of tentative distances
+     * @param nodes int array of node ids
+     * @param from int index of the first node of the chunk
+     * @param to int index after the last node of the chunk
+     * @param light boolean true for light edges, false for heavy edges
+     */
+    private void relaxChunk(int[] distance, int[] nodes, int from, int to,
+                            boolean light) {
+        Worker worker = idleWorkers.poll();
+        if (worker == null) {
+            worker = new Worker();
+            synchronized (workers) {
+                workers.add(worker);
+            }
+        }
+
+        try {
+            for (int i = from; i < to; i++) {
+                int node = nodes[i];
+                int nodeDistance = (int) DISTANCE.getVolatile(distance, node);
+                int edgeEnd = compactGraph.edgeEnd(node);
+                for (int edge = compactGraph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int weight = compactGraph.edgeWeight(edge);
+                    if ((weight <= delta) == light) {
+                        worker.relax(distance, compactGraph.edgeTarget(edge),
+                                nodeDistance + weight);
+                    }
+                }
+            }
+        } finally {
+            idleWorkers.offer(worker);
+        }
+    }
+
+    /**
+     * Puts every node improved by the workers into the bucket of its new
+     * distance, unless it is already waiting there.
+     * @param distance int array of tentative distances
+     * @return int number of nodes put into buckets
+     */
+    private int sortIntoBuckets(int[] distance) {
+        int added = 0;
+        for (Worker worker : workers) {
+            IntPath improved = worker.improved;
+            for (int i = 0; i < improved.size(); i++) {
+                int node = improved.get(i);
+                int bucket = distance[node] / delta;
+                if (queuedBucket[node] != bucket) {
+                    queuedBucket[node] = bucket;
+                    buckets[bucket % buckets.length].push(node);
+                    added++;
+                }
+            }
+            improved.clear();
+        }
+        return added;
+    }
+
+    /**
+     * The Worker class holds the list of nodes one parallel worker improved
+     * during a phase.
+     */
+    private static final class Worker {
+
+        // Instance variables
+        private final IntPath improved = new IntPath();
+
+        /**
+         * Lowers the tentative distance of a node if a new distance is
+         * shorter, retrying if another worker changes it at the same time.
+         * @param distance int array of tentative distances
+         * @param node int id of the node
+         * @param newDistance int distance through the relaxed edge
+         */
+        private void relax(int[] distance, int node, int newDistance) {
+            int oldDistance = (int) DISTANCE.getVolatile(distance, node);
+            while (newDistance < oldDistance) {
+                int witness = (int) DISTANCE.compareAndExchange(distance,
+                        node, oldDistance, newDistance);
+                if (witness == oldDistance) {
+                    improved.push(node);
+                    return;
+                }
+                oldDistance = witness;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,314 @@
+/**
+ * The DistanceMatrix class finds the shortest distance from every one of a
+ * list of source nodes to every one of a list of target nodes, such as the
+ * origin by destination cost matrices of routing jobs, without a separate
+ * query for each pair.
+ *
+ * If the graph has a ContractionHierarchy the distances are found with
+ * buckets. A search runs from each target over the downward graph, which
+ * only climbs the hierarchy, and leaves an entry of the target and its
+ * distance in a bucket at every node it settles. A search then runs from
+ * each source over the upward graph, and at each node it settles combines
+ * its distance with every entry in the node's bucket. As every shortest
+ * path climbs the hierarchy from its source and then descends to its
+ * target, the smallest sum for a pair is their distance. Each search
+ * settles only the small part of the graph above its node, and is shared
+ * by every pair it belongs to. Searches skip the nodes they reach with a
+ * distance that a more important node they reached already beats (stall on
+ * demand).
+ *
+ * Routes through the hierarchy's uncontracted core can meet at any core
+ * node, so only the searches from the sources cross the core, as a Dijkstra
+ * search of its edges. The searches from the targets stop at the first
+ * core nodes they reach, which keeps the buckets of the core small.
+ *
+ * Without a hierarchy each source runs a Dijkstra search of the compact
+ * graph until all of the targets are settled.
+ *
+ * In both cases the searches from the targets, and then those from the
+ * sources, run in parallel on the common fork join pool, each borrowing a
+ * search context from a pool.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+public final class DistanceMatrix {
+
+    // Class variables
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Instance variables
+    private final Graph graph;
+    private final ConcurrentLinkedQueue<RegionSearch> idleSearches =
+            new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<HierarchySearch>
+            idleHierarchySearches = new ConcurrentLinkedQueue<>();
+
+    // Constructs a matrix search over a graph
+    public DistanceMatrix(Graph graph) { this.graph = graph; }
+
+    /**
+     * Finds the shortest distance from each source node to each target
+     * node. The distance from source i to target j is at index
+     * i * targets.size() + j of the result, or UNREACHABLE if there is no
+     * path.
+     * @param sources List of source Node objects
+     * @param targets List of target Node objects
+     * @return int array of the distances in row major order
+     */
+    public int[] compute(List<Node<String>> sources,
+                         List<Node<String>> targets) {
+        int numSources = sources.size();
+        int numTargets = targets.size();
+        if ((long) numSources * numTargets > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A matrix of " + numSources
+                    + " by " + numTargets + " distances is too large");
+        }
+        int[] sourceNodes = new int[numSources];
+        for (int i = 0; i < numSources; i++) {
+            sourceNodes[i] = sources.get(i).getId();
+        }
+        int[] targetNodes = new int[numTargets];
+        for (int j = 0; j < numTargets; j++) {
+            targetNodes[j] = targets.get(j).getId();
+        }
+
+        // Pick up the graph's current compact graph and hierarchy together
+        CompactGraph compactGraph;
+        ContractionHierarchy hierarchy;
+        synchronized (graph) {
+            compactGraph = graph.getCompactGraph();
+            hierarchy = graph.getHierarchy();
+        }
+
+        int[] matrix = new int[numSources * numTargets];
+        Arrays.fill(matrix, UNREACHABLE);
+        if (hierarchy == null) {
+            searchTargets(compactGraph, sourceNodes, targetNodes, matrix);
+        } else {
+            searchBuckets(hierarchy, sourceNodes, targetNodes, matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * Fills the matrix with a Dijkstra search from each source that stops
+     * once every target is settled.
+     * @param compactGraph CompactGraph object to search
+     * @param sourceNodes int array of the source node ids
+     * @param targetNodes int array of the target node ids
+     * @param matrix int array of the distances to fill
+     */
+    private void searchTargets(CompactGraph compactGraph, int[] sourceNodes,
+                               int[] targetNodes, int[] matrix) {
+        int numTargets = targetNodes.length;
+        IntStream.range(0, sourceNodes.length).parallel().forEach(i -> {
+            RegionSearch search = idleSearches.poll();
+            if (search == null
+                    || search.getNumNodes() != compactGraph.getNumNodes()) {
+                search = new RegionSearch(compactGraph.getNumNodes());
+            }
+            search.run(compactGraph, sourceNodes[i], targetNodes,
+                    numTargets);
+            for (int j = 0; j < numTargets; j++) {
+                if (search.isReached(targetNodes[j])) {
+                    matrix[i * numTargets + j] =
+                            search.getDistance(targetNodes[j]);
+                }
+            }
+            idleSearches.offer(search);
+        });
+    }
+
+    /**
+     * Fills the matrix by collecting the targets' searches of the hierarchy
+     * in buckets and scanning them with the sources' searches.
+     * @param hierarchy ContractionHierarchy object of the graph
+     * @param sourceNodes int array of the source node ids
+     * @param targetNodes int array of the target node ids
+     * @param matrix int array of the distances to fill
+     */
+    private void searchBuckets(ContractionHierarchy hierarchy,
+                               int[] sourceNodes, int[] targetNodes,
+                               int[] matrix) {
+        ContractionHierarchy.SearchGraph upward = hierarchy.getUpward();
+        ContractionHierarchy.SearchGraph downward = hierarchy.getDownward();
+        int numNodes = hierarchy.getNumNodes();
+        int numTargets = targetNodes.length;
+
+        // Search up from each target over the incoming edges, keeping the
+        // nodes it settles and their distances
+        int[][] settledNodes = new int[numTargets][];
+        int[][] settledDistances = new int[numTargets][];
+        IntStream.range(0, numTargets).parallel().forEach(j -> {
+            HierarchySearch search = borrowHierarchySearch(numNodes);
+            search.run(downward, upward, targetNodes[j], hierarchy);
+            settledNodes[j] = search.settled.toArray();
+            settledDistances[j] = new int[settledNodes[j].length];
+            for (int k = 0; k < settledNodes[j].length; k++) {
+                settledDistances[j][k] = search.distance[settledNodes[j][k]];
+            }
+            idleHierarchySearches.offer(search);
+        });
+
+        // Counting sort the entries into a bucket per node
+        int[] bucketStart = new int[numNodes + 1];
+        long numEntries = 0;
+        for (int[] nodes : settledNodes) {
+            for (int node : nodes) {
+                bucketStart[node + 1]++;
+            }
+            numEntries += nodes.length;
+        }
+        if (numEntries > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many targets for the "
+                    + "buckets of one matrix");
+        }
+        for (int node = 0; node < numNodes; node++) {
+            bucketStart[node + 1] += bucketStart[node];
+        }
+        int[] bucketTarget = new int[(int) numEntries];
+        int[] bucketDistance = new int[(int) numEntries];
+        int[] next = Arrays.copyOf(bucketStart, numNodes);
+        for (int j = 0; j < numTargets; j++) {
+            for (int k = 0; k < settledNodes[j].length; k++) {
+                int slot = next[settledNodes[j][k]]++;
+                bucketTarget[slot] = j;
+                bucketDistance[slot] = settledDistances[j][k];
+            }
+            settledNodes[j] = null;
+            settledDistances[j] = null;
+        }
+
+        // Search up from each source and combine its distance to each node
+        // it settles with the node's bucket; Each source fills its own row
+        IntStream.range(0, sourceNodes.length).parallel().forEach(i -> {
+            HierarchySearch search = borrowHierarchySearch(numNodes);
+            search.run(upward, downward, sourceNodes[i], null);
+            int row = i * numTargets;
+            for (int k = 0; k < search.settled.size(); k++) {
+                int node = search.settled.get(k);
+                long nodeDistance = search.distance[node];
+                int bucketEnd = bucketStart[node + 1];
+                for (int entry = bucketStart[node]; entry < bucketEnd;
+                     entry++) {
+                    long total = nodeDistance + bucketDistance[entry];
+                    int cell = row + bucketTarget[entry];
+                    if (total < matrix[cell]) {
+                        matrix[cell] = (int) total;
+                    }
+                }
+            }
+            idleHierarchySearches.offer(search);
+        });
+    }
+
+    // Borrows an idle hierarchy search or creates one sized to the graph
+    private HierarchySearch borrowHierarchySearch(int numNodes) {
+        HierarchySearch search = idleHierarchySearches.poll();
+        if (search == null || search.distance.length != numNodes) {
+            search = new HierarchySearch(numNodes);
+        }
+        return search;
+    }
+
+    /**
+     * The HierarchySearch class is a reusable Dijkstra search of one
+     * direction of a contraction hierarchy that settles every node it
+     * reaches, except those it stalls.
+     */
+    private static final class HierarchySearch {
+
+        // Instance variables
+        private final IndexedHeap openSet;
+        private final VisitedSet reached;
+        private final int[] distance;
+        private final IntPath settled = new IntPath();
+
+        // Constructs a search sized to the graph
+        private HierarchySearch(int numNodes) {
+            openSet = new IndexedHeap(numNodes);
+            reached = new VisitedSet(numNodes);
+            distance = new int[numNodes];
+        }
+
+        /**
+         * Searches one direction of the hierarchy from a node. A node is
+         * stalled, and neither kept nor relaxed, if a node reached by the
+         * search has an edge in the other direction that reaches it with a
+         * shorter distance, as then its distance is not the shortest one.
+         * @param graph SearchGraph object of the direction to search
+         * @param opposite SearchGraph object of the other direction
+         * @param origin int id of the node to search from
+         * @param stopAtCore ContractionHierarchy object whose core nodes
+         *                   are kept but not relaxed, or null to search
+         *                   through the core
+         */
+        private void run(ContractionHierarchy.SearchGraph graph,
+                         ContractionHierarchy.SearchGraph opposite,
+                         int origin, ContractionHierarchy stopAtCore) {
+            openSet.clear();
+            reached.clear();
+            settled.clear();
+            reached.visit(origin);
+            distance[origin] = 0;
+            openSet.insertOrDecrease(origin, 0);
+
+            while (!openSet.isEmpty()) {
+                int node = openSet.poll();
+                int nodeDistance = distance[node];
+                if (isStalled(opposite, node, nodeDistance)) {
+                    continue;
+                }
+                settled.push(node);
+                if (stopAtCore != null && stopAtCore.isCore(node)) {
+                    continue;
+                }
+
+                // Relax the node's edges
+                int edgeEnd = graph.edgeEnd(node);
+                for (int edge = graph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int edgeNode = graph.edgeTarget(edge);
+                    int newDistance = nodeDistance + graph.edgeWeight(edge);
+                    if (!reached.isVisited(edgeNode)
+                            || newDistance < distance[edgeNode]) {
+                        reached.visit(edgeNode);
+                        distance[edgeNode] = newDistance;
+                        openSet.insertOrDecrease(edgeNode, newDistance);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tests if a reached node beats a node's distance over an edge of
+         * the other direction.
+         * @param opposite SearchGraph object of the other direction
+         * @param node int id of the node
+         * @param nodeDistance int distance of the node
+         * @return true if the node should be stalled
+         */
+        private boolean isStalled(ContractionHierarchy.SearchGraph opposite,
+                                  int node, int nodeDistance) {
+            int edgeEnd = opposite.edgeEnd(node);
+            for (int edge = opposite.edgeStart(node); edge < edgeEnd;
+                 edge++) {
+                int edgeNode = opposite.edgeTarget(edge);
+                if (reached.isVisited(edgeNode) && (long) distance[edgeNode]
+                        + opposite.edgeWeight(edge) < nodeDistance) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
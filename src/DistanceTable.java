@@ -0,0 +1,320 @@
+/**
+ * The DistanceTable class holds the shortest distance between every pair of
+ * nodes and the first node after the start of each shortest path, so that
+ * a query is answered by a lookup and a path by following next hops. Both
+ * tables are flat numNodes by numNodes int arrays in row major order, which
+ * suits graphs of up to a few thousand nodes.
+ *
+ * Tables are filled by one of two methods chosen by the graph's density:
+ *  - dense graphs use Floyd-Warshall, blocked into tiles that fit in the
+ *    processor cache, with the tiles of each phase updated in parallel
+ *  - sparse graphs run a Dijkstra search from every node in parallel
+ * Dijkstra is used while numEdges * log2(numNodes) is below numNodes^2.
+ *
+ * Tables can be written to a file with the same little endian layout as a
+ * GraphSnapshot: a header of MAGIC, VERSION and numNodes followed by the
+ * distance table and the next hop table.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+public final class DistanceTable {
+
+    // Class variables
+    public static final int MAGIC = 0x53504150;
+    public static final int VERSION = 1;
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int HEADER_INTS = 3;
+    private static final int BLOCK_SIZE = 64;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    // Instance variables
+    private final int numNodes;
+    private final IntBuffer distance;
+    private final IntBuffer nextHop;
+
+    // Constructor - only called by build and open
+    private DistanceTable(int numNodes, IntBuffer distance,
+                          IntBuffer nextHop) {
+        this.numNodes = numNodes;
+        this.distance = distance;
+        this.nextHop = nextHop;
+    }
+
+    // Accessor methods
+    public int getNumNodes() { return numNodes; }
+
+    /**
+     * Shortest distance from one node to another.
+     * @param from int id of the start node
+     * @param to int id of the end node
+     * @return int distance or UNREACHABLE
+     */
+    public int getDistance(int from, int to) {
+        return distance.get(from * numNodes + to);
+    }
+
+    /**
+     * Node after the start node on the shortest path between two nodes.
+     * @param from int id of the start node
+     * @param to int id of the end node
+     * @return int id of the next node or -1 if there is none
+     */
+    public int getNextHop(int from, int to) {
+        return nextHop.get(from * numNodes + to);
+    }
+
+    /**
+     * Rebuilds the shortest path between two nodes from the next hop table.
+     * @param from int id of the start node
+     * @param to int id of the end node
+     * @return int array of node ids from start to end, empty if unreachable
+     */
+    public int[] getPath(int from, int to) {
+        if (from != to && getNextHop(from, to) < 0) {
+            return new int[0];
+        }
+        int[] path = new int[8];
+        int length = 0;
+        path[length++] = from;
+        for (int node = from; node != to; ) {
+            node = getNextHop(node, to);
+            if (length == path.length) {
+                path = Arrays.copyOf(path, length * 2);
+            }
+            path[length++] = node;
+        }
+        return Arrays.copyOf(path, length);
+    }
+
+    /**
+     * Fills the tables for a graph, choosing Floyd-Warshall or a Dijkstra
+     * search from every node by the graph's density.
+     * @param graph CompactGraph object of the graph's edges
+     * @return DistanceTable object
+     */
+    public static DistanceTable build(CompactGraph graph) {
+        int numNodes = graph.getNumNodes();
+        int[] distance = new int[numNodes * numNodes];
+        int[] nextHop = new int[numNodes * numNodes];
+
+        int log2 = 32 - Integer.numberOfLeadingZeros(Math.max(numNodes, 1));
+        if ((long) graph.getNumEdges() * log2 < (long) numNodes * numNodes) {
+            fillByDijkstra(graph, distance, nextHop);
+        } else {
+            fillByFloydWarshall(graph, distance, nextHop);
+        }
+        return new DistanceTable(numNodes, IntBuffer.wrap(distance),
+                IntBuffer.wrap(nextHop));
+    }
+
+    /**
+     * Fills the tables with a Dijkstra search from every node in parallel.
+     * Each search writes only its own row of the tables.
+     * @param graph CompactGraph object of the graph's edges
+     * @param distance int array of the distance table
+     * @param nextHop int array of the next hop table
+     */
+    private static void fillByDijkstra(CompactGraph graph, int[] distance,
+                                       int[] nextHop) {
+        int numNodes = graph.getNumNodes();
+        ConcurrentLinkedQueue<IndexedHeap> openSets =
+                new ConcurrentLinkedQueue<>();
+
+        IntStream.range(0, numNodes).parallel().forEach(source -> {
+            // Borrow an idle open set or create one
+            IndexedHeap openSet = openSets.poll();
+            if (openSet == null) {
+                openSet = new IndexedHeap(numNodes);
+            }
+
+            int row = source * numNodes;
+            Arrays.fill(distance, row, row + numNodes, UNREACHABLE);
+            Arrays.fill(nextHop, row, row + numNodes, -1);
+            distance[row + source] = 0;
+            openSet.insertOrDecrease(source, 0);
+
+            while (!openSet.isEmpty()) {
+                int node = openSet.poll();
+                int nodeDistance = distance[row + node];
+                int edgeEnd = graph.edgeEnd(node);
+                for (int edge = graph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int edgeNode = graph.edgeTarget(edge);
+                    int newDistance = nodeDistance + graph.edgeWeight(edge);
+                    if (newDistance < distance[row + edgeNode]) {
+                        // The first hop is inherited from the parent node
+                        distance[row + edgeNode] = newDistance;
+                        nextHop[row + edgeNode] = node == source
+                                ? edgeNode : nextHop[row + node];
+                        openSet.insertOrDecrease(edgeNode, newDistance);
+                    }
+                }
+            }
+            openSets.offer(openSet);
+        });
+    }
+
+    /**
+     * Fills the tables with blocked Floyd-Warshall. For each block of
+     * intermediate nodes the diagonal tile is updated first, then the tiles
+     * in its row and column, then all other tiles; the tiles of the last two
+     * phases do not depend on each other and are updated in parallel.
+     * @param graph CompactGraph object of the graph's edges
+     * @param distance int array of the distance table
+     * @param nextHop int array of the next hop table
+     */
+    private static void fillByFloydWarshall(CompactGraph graph,
+                                            int[] distance, int[] nextHop) {
+        int numNodes = graph.getNumNodes();
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(nextHop, -1);
+        for (int v = 0; v < numNodes; v++) {
+            distance[v * numNodes + v] = 0;
+            int edgeEnd = graph.edgeEnd(v);
+            for (int edge = graph.edgeStart(v); edge < edgeEnd; edge++) {
+                int cell = v * numNodes + graph.edgeTarget(edge);
+                if (graph.edgeWeight(edge) < distance[cell]) {
+                    distance[cell] = graph.edgeWeight(edge);
+                    nextHop[cell] = graph.edgeTarget(edge);
+                }
+            }
+        }
+
+        int numBlocks = (numNodes + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int k = 0; k < numBlocks; k++) {
+            int kBlock = k;
+
+            // Diagonal tile
+            updateTile(distance, nextHop, numNodes, k, k, k);
+
+            // Tiles in the diagonal tile's row and column
+            IntStream.range(0, numBlocks).parallel()
+                    .filter(b -> b != kBlock)
+                    .forEach(b -> {
+                        updateTile(distance, nextHop, numNodes, kBlock, b,
+                                kBlock);
+                        updateTile(distance, nextHop, numNodes, b, kBlock,
+                                kBlock);
+                    });
+
+            // All other tiles
+            IntStream.range(0, numBlocks * numBlocks).parallel()
+                    .filter(t -> t / numBlocks != kBlock
+                            && t % numBlocks != kBlock)
+                    .forEach(t -> updateTile(distance, nextHop, numNodes,
+                            t / numBlocks, t % numBlocks, kBlock));
+        }
+    }
+
+    /**
+     * Relaxes the paths of one tile through one block of intermediate
+     * nodes.
+     * @param distance int array of the distance table
+     * @param nextHop int array of the next hop table
+     * @param numNodes int number of nodes
+     * @param iBlock int block of the tile's rows (start nodes)
+     * @param jBlock int block of the tile's columns (end nodes)
+     * @param kBlock int block of intermediate nodes
+     */
+    private static void updateTile(int[] distance, int[] nextHop,
+                                   int numNodes, int iBlock, int jBlock,
+                                   int kBlock) {
+        int kEnd = Math.min((kBlock + 1) * BLOCK_SIZE, numNodes);
+        int iEnd = Math.min((iBlock + 1) * BLOCK_SIZE, numNodes);
+        int jStart = jBlock * BLOCK_SIZE;
+        int jEnd = Math.min(jStart + BLOCK_SIZE, numNodes);
+
+        for (int k = kBlock * BLOCK_SIZE; k < kEnd; k++) {
+            int kRow = k * numNodes;
+            for (int i = iBlock * BLOCK_SIZE; i < iEnd; i++) {
+                int iRow = i * numNodes;
+                int ik = distance[iRow + k];
+                if (ik == UNREACHABLE) {
+                    continue;
+                }
+                int hop = nextHop[iRow + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    int kj = distance[kRow + j];
+                    if (kj != UNREACHABLE && ik + kj < distance[iRow + j]) {
+                        distance[iRow + j] = ik + kj;
+                        nextHop[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the tables to a file, replacing any existing file.
+     * @param filename String name of the table file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            GraphSnapshot.writeInts(channel, buffer,
+                    IntBuffer.wrap(new int[] { MAGIC, VERSION, numNodes }));
+            GraphSnapshot.writeInts(channel, buffer, distance.duplicate());
+            GraphSnapshot.writeInts(channel, buffer, nextHop.duplicate());
+        }
+    }
+
+    /**
+     * Opens a table file and maps its tables.
+     * @param filename String name of the table file
+     * @return DistanceTable object over the mapped file
+     * @throws IOException if the file cannot be read or is not a table
+     */
+    public static DistanceTable open(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+
+            // Read and check the header
+            long fileSize = channel.size();
+            if (fileSize < HEADER_INTS * 4L) {
+                throw new IOException("Not a distance table: " + filename);
+            }
+            IntBuffer header = GraphSnapshot.map(channel, 0, HEADER_INTS);
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Not a distance table: " + filename);
+            }
+            if (header.get(1) != VERSION) {
+                throw new IOException("Unsupported distance table version "
+                        + header.get(1) + ": " + filename);
+            }
+            int numNodes = header.get(2);
+            int numCells = numNodes * numNodes;
+            if (fileSize != 4L * (HEADER_INTS + 2L * numCells)) {
+                throw new IOException("Truncated distance table: "
+                        + filename);
+            }
+
+            // Map the tables; The mappings stay valid after closing
+            long position = HEADER_INTS * 4L;
+            IntBuffer distance = GraphSnapshot.map(channel, position,
+                    numCells);
+            IntBuffer nextHop = GraphSnapshot.map(channel,
+                    position + 4L * numCells, numCells);
+            return new DistanceTable(numNodes, distance, nextHop);
+        }
+    }
+
+}
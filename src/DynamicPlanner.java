@@ -0,0 +1,291 @@
+/**
+ * The DynamicPlanner class represents an algorithm that finds the optimal
+ * shortest path through the graph from a specific node to the destination
+ * node and keeps its search between queries, so that after edge weights
+ * change only the part of the shortest path tree that the changes affect is
+ * searched again.
+ *
+ * The planner keeps a search backward from the destination in the style of
+ * D* Lite. Each node has a distance g to the destination and a one step
+ * lookahead rhs, the smallest edge weight plus g over its outgoing edges. A
+ * node whose g and rhs differ is inconsistent and waits in the open set; a
+ * query settles inconsistent nodes in order of min(g, rhs) until the start
+ * node is consistent and no waiting node could still shorten its route.
+ * Changing an edge only recomputes the rhs of the edge's start node, so the
+ * next query repairs the nodes whose distances really changed.
+ *
+ * No heuristic is used, so a node's key does not depend on the start node:
+ * the same search serves queries from any start node to its destination and
+ * keys stay valid when the start node moves. Changing the destination
+ * starts a new search.
+ *
+ * The planner works on its own copy of the edge weights, taken from the
+ * graph when it is created. Weights are changed with updateEdge, which
+ * costs one pass over the start node's edges rather than a copy of the
+ * graph as Graph.setEdge does; only edges that exist can be changed, and a
+ * weight of 0 closes an edge until it is given a weight again.
+ *
+ * This class is a concrete implementation (subclass) of the Algorithm
+ * class.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+
+public class DynamicPlanner extends Algorithm {
+
+    // Class variables
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int CLOSED = -1;
+
+    // Instance variables
+    private final CompactGraph reverseGraph;
+    private final int[] weights;
+    private final int[] distance;
+    private final int[] lookahead;
+    private final IndexedHeap openSet;
+    private int goal = -1;
+    private int start = -1;
+
+    // Constructor - copies the graph's current edge weights
+    public DynamicPlanner(Graph graph) {
+        super(graph);
+        synchronized (graph) {
+            compactGraph = graph.getCompactGraph();
+            reverseGraph = graph.getReverseGraph();
+        }
+        int numNodes = compactGraph.getNumNodes();
+        weights = new int[compactGraph.getNumEdges()];
+        compactGraph.getWeights().get(weights);
+        distance = new int[numNodes];
+        lookahead = new int[numNodes];
+        openSet = new IndexedHeap(numNodes);
+    }
+
+    // Operations on the open set, counted while SearchStats are enabled
+    @Override
+    long heapOperations() { return openSet.getOperations(); }
+
+    /**
+     * The planner keeps the compact graph it was created with, as its edge
+     * weights are changed through updateEdge.
+     */
+    @Override
+    void refreshGraph() { }
+
+    /**
+     * Returns the next node on the shortest path from a node to the
+     * destination node: the successor with the smallest edge weight plus
+     * distance to the destination.
+     *
+     * Returns -1 if the destination cannot be reached from the node.
+     *
+     * @param currentNode int id of the current node on the path
+     * @return int id of the next node on the path
+     */
+    @Override
+    public int findShortest(int currentNode) {
+        int shortestNode = -1;
+        int shortestDistance = UNREACHABLE;
+        int edgeStart = compactGraph.edgeStart(currentNode);
+        int edgeEnd = compactGraph.edgeEnd(currentNode);
+        if (SearchStats.ENABLED) {
+            stats.edgesScanned += edgeEnd - edgeStart;
+        }
+        for (int edge = edgeStart; edge < edgeEnd; edge++) {
+            int edgeNode = compactGraph.edgeTarget(edge);
+            int newDistance = routeThrough(edge);
+            if (newDistance < shortestDistance) {
+                shortestDistance = newDistance;
+                shortestNode = edgeNode;
+            }
+        }
+        return shortestNode;
+    }
+
+    /**
+     * Changes the weight of every edge from one node to another. The change
+     * is seen by the next call to findShortestPath or replan.
+     * @param from Node object at the start of the edge
+     * @param to Node object at the end of the edge
+     * @param weight int new edge weight or 0 to close the edge
+     * @throws IllegalArgumentException if the edge does not exist or the
+     *                                  weight is negative
+     */
+    public void updateEdge(Node<String> from, Node<String> to, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative edge weight: "
+                    + weight);
+        }
+        int fromNode = from.getId();
+        int toNode = to.getId();
+        boolean found = false;
+        int edgeEnd = compactGraph.edgeEnd(fromNode);
+        for (int edge = compactGraph.edgeStart(fromNode); edge < edgeEnd;
+             edge++) {
+            if (compactGraph.edgeTarget(edge) == toNode) {
+                weights[edge] = weight == 0 ? CLOSED : weight;
+                found = true;
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("No edge from "
+                    + from.getElement() + " to " + to.getElement());
+        }
+
+        // Only the start node's lookahead depends on the edge directly
+        if (goal >= 0) {
+            updateNode(fromNode);
+        }
+    }
+
+    /**
+     * Finds the optimal shortest path from a new or the same start node to
+     * the destination of the last query, repairing the search after any
+     * edge updates.
+     * @param inputNode String Node object
+     * @throws IllegalStateException if no query has set a destination
+     */
+    public void replan(Node<String> inputNode) {
+        if (goal < 0) {
+            throw new IllegalStateException("No destination to replan to");
+        }
+        findShortestPath(inputNode, graph.getNode(goal));
+    }
+
+    /**
+     * Finds the optimal shortest path from the input node to the destination
+     * node, continuing the search kept from earlier queries to the same
+     * destination. The sequence path holds the nodes settled by this query,
+     * in the order they were settled.
+     *
+     * If the destination cannot be reached the shortest path is left empty.
+     *
+     * @param inputNode String Node object
+     * @param destinationNode String Node object
+     */
+    @Override
+    public void findShortestPath(Node<String> inputNode,
+                                 Node<String> destinationNode) {
+
+        // Start a new search for a new destination
+        if (destinationNode.getId() != goal) {
+            startSearch(destinationNode.getId());
+        }
+        start = inputNode.getId();
+        sequencePath.clear();
+        shortestPath.clear();
+
+        // Settle inconsistent nodes until the start node's distance is final
+        while (!openSet.isEmpty()
+                && (openSet.peekKey() < key(start)
+                    || distance[start] != lookahead[start])) {
+            int node = openSet.poll();
+            sequencePath.push(node);
+
+            if (distance[node] > lookahead[node]) {
+                // Overconsistent; Its distance has become shorter
+                distance[node] = lookahead[node];
+            } else {
+                // Underconsistent; Its distance has become longer, so raise
+                // it and let its lookahead bring it back down
+                distance[node] = UNREACHABLE;
+                updateNode(node);
+            }
+
+            // The nodes with edges to this node depend on its distance
+            int edgeEnd = reverseGraph.edgeEnd(node);
+            if (SearchStats.ENABLED) {
+                stats.edgesScanned += edgeEnd - reverseGraph.edgeStart(node);
+            }
+            for (int edge = reverseGraph.edgeStart(node); edge < edgeEnd;
+                 edge++) {
+                updateNode(reverseGraph.edgeTarget(edge));
+            }
+        }
+
+        // Destination could not be reached
+        if (distance[start] == UNREACHABLE) {
+            return;
+        }
+
+        // Follow the cheapest successors to the destination node
+        int currentNode = start;
+        while (currentNode >= 0) {
+            shortestPath.push(currentNode);
+            currentNode = currentNode == goal ? -1 : findShortest(currentNode);
+        }
+    }
+
+    /**
+     * Returns the length of the shortest path found by the last query under
+     * the planner's current edge weights.
+     * @return int shortest path length or 0 if there is no path
+     */
+    @Override
+    public int getShortestPathLength() {
+        return shortestPath.isEmpty() ? 0 : distance[start];
+    }
+
+    /**
+     * Resets every node to unreached and queues the destination node.
+     * @param destinationNode int id of the new destination node
+     */
+    private void startSearch(int destinationNode) {
+        goal = destinationNode;
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(lookahead, UNREACHABLE);
+        openSet.clear();
+        lookahead[goal] = 0;
+        openSet.insertOrDecrease(goal, 0);
+    }
+
+    /**
+     * Recomputes a node's lookahead from its outgoing edges and queues it
+     * if it is inconsistent.
+     * @param node int id of the node
+     */
+    private void updateNode(int node) {
+        if (node != goal) {
+            int best = UNREACHABLE;
+            int edgeEnd = compactGraph.edgeEnd(node);
+            if (SearchStats.ENABLED) {
+                stats.edgesScanned += edgeEnd - compactGraph.edgeStart(node);
+            }
+            for (int edge = compactGraph.edgeStart(node); edge < edgeEnd;
+                 edge++) {
+                best = Math.min(best, routeThrough(edge));
+            }
+            lookahead[node] = best;
+        }
+        openSet.remove(node);
+        if (distance[node] != lookahead[node]) {
+            openSet.insertOrDecrease(node, key(node));
+        }
+    }
+
+    /**
+     * Distance to the destination along an edge and then the shortest path
+     * from its end node.
+     * @param edge int edge index in the compact graph
+     * @return int distance or UNREACHABLE if the edge is closed or its end
+     *         node cannot reach the destination
+     */
+    private int routeThrough(int edge) {
+        int weight = weights[edge];
+        int edgeDistance = distance[compactGraph.edgeTarget(edge)];
+        if (weight == CLOSED || edgeDistance == UNREACHABLE) {
+            return UNREACHABLE;
+        }
+        return weight + edgeDistance;
+    }
+
+    // Key of a node in the open set
+    private int key(int node) {
+        return Math.min(distance[node], lookahead[node]);
+    }
+
+}
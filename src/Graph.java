@@ -6,34 +6,122 @@
  * The Graph class also has a destination node instance variable to track the
  * destination of a graph traversal.
  *
- * The graph instance variable is an ArrayList that represents the vertices
- * and their edges in a graph.
+ * Node names map to dense int ids through a NameIndex, and the edges and
+ * direct distances are held in an immutable CompactGraph and its reverse.
+ * Node objects are created when first requested. setEdge and
+ * setDistanceToDest replace the compact graphs with updated copies and
+ * increment the graph's version; the search structures built from the
+ * graph are discarded or rebuilt when a change makes them stale.
  *
  * @author Nikki Tebaldi
  * @version 1.0
  * @since 2020-04-04
  */
 
-import java.util.ArrayList;
-import java.util.Scanner;
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class Graph {
 
+    // Class variables
+    private static final int MAX_PRINTED_NODES = 50;
+    private static final int NODE_CHUNK_BITS = 12;
+    private static final int NODE_CHUNK_SIZE = 1 << NODE_CHUNK_BITS;
+
     // Instance variable
     private String graphFile;
     private String DDFile;
-    private Node<Character> destinationNode;
-    private ArrayList<Node<Character>> graph = new ArrayList<>();
-
-    // Constructor which initializes an empty array list
+    private Node<String> destinationNode;
+    private AtomicReferenceArray<AtomicReferenceArray<Node<String>>>
+            nodeChunks = new AtomicReferenceArray<>(0);
+    private int numNodes;
+    private NameIndex nameIndex = new NameIndex();
+    private volatile CompactGraph compactGraph;
+    private volatile CompactGraph reverseGraph;
+    private volatile Landmarks landmarks;
+    private volatile ContractionHierarchy hierarchy;
+    private volatile DistanceTable distanceTable;
+    private volatile CompressedGraph compressedGraph;
+    private volatile ReachabilityIndex reachability;
+    private volatile HeuristicCache heuristicCache;
+    private volatile boolean directDistancesAdmissible = true;
+    private final AtomicLong version = new AtomicLong();
+
+    // Constructor which initializes an empty graph
     public Graph() { }
 
     // Accessor methods
     public String getGraphFile() { return graphFile; }
     public String getDDFile() { return DDFile; }
-    public Node<Character> getDestinationNode() { return destinationNode; }
+    public Node<String> getDestinationNode() { return destinationNode; }
+    public CompactGraph getCompactGraph() { return compactGraph; }
+    public CompactGraph getReverseGraph() { return reverseGraph; }
+    public NameIndex getNameIndex() { return nameIndex; }
+    public Landmarks getLandmarks() { return landmarks; }
+    public ContractionHierarchy getHierarchy() { return hierarchy; }
+    public DistanceTable getDistanceTable() { return distanceTable; }
+    public CompressedGraph getCompressedGraph() { return compressedGraph; }
+    public HeuristicCache getHeuristicCache() { return heuristicCache; }
+    public boolean hasAdmissibleDirectDistances() {
+        return directDistancesAdmissible;
+    }
+    public long getVersion() { return version.get(); }
+    public int getNumNodes() { return numNodes; }
+
+    /**
+     * Returns the node with the given id, creating it from the name index
+     * and compact graph the first time it is requested. If two threads
+     * create the same node at once, both receive the one stored first.
+     * @param id int id of the node
+     * @return Node object
+     */
+    public Node<String> getNode(int id) {
+        AtomicReferenceArray<Node<String>> chunk = getNodeChunk(id);
+        int index = id & (NODE_CHUNK_SIZE - 1);
+        Node<String> node = chunk.get(index);
+        if (node == null) {
+            // Create a Node object from the node's name
+            node = new Node<>(nameIndex.getName(id));
+            node.setId(id);
+            node.setDistanceToDest(compactGraph.getHeuristic(id));
+            if (!chunk.compareAndSet(index, null, node)) {
+                node = chunk.get(index);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the chunk of node slots that holds an id, creating it the
+     * first time it is needed. Nodes are kept in chunks of NODE_CHUNK_SIZE
+     * so that only the parts of a large graph that are queried take memory.
+     * @param id int id of the node
+     * @return AtomicReferenceArray of the chunk's nodes
+     */
+    private AtomicReferenceArray<Node<String>> getNodeChunk(int id) {
+        int chunkIndex = id >>> NODE_CHUNK_BITS;
+        AtomicReferenceArray<Node<String>> chunk = nodeChunks.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicReferenceArray<>(Math.min(NODE_CHUNK_SIZE,
+                    numNodes - (chunkIndex << NODE_CHUNK_BITS)));
+            if (!nodeChunks.compareAndSet(chunkIndex, null, chunk)) {
+                chunk = nodeChunks.get(chunkIndex);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Empties the node chunks for a graph with a number of nodes.
+     * @param count int number of nodes
+     */
+    private void resetNodes(int count) {
+        numNodes = count;
+        nodeChunks = new AtomicReferenceArray<>(
+                (count + NODE_CHUNK_SIZE - 1) >>> NODE_CHUNK_BITS);
+    }
 
     // Mutator methods
     public void setGraphFile(String filename) {
@@ -42,53 +130,270 @@ public class Graph {
     public void setDDFile(String filename) {
         DDFile = filename;
     }
-    public void setDestinationNode(Node<Character> dNode) { destinationNode = dNode; }
+    public void setDestinationNode(Node<String> dNode) { destinationNode = dNode; }
 
-    // Graph methods
     /**
-     * Tries to create and open a file for reading as a Scanner object.
-     * If an error occurs program prints an error message and exits.
-     * @param filename String value of a file to try to read
-     * @return Scanner object that contains file data
+     * Sets the weight of the edge between two nodes, adding the edge if it
+     * does not exist or removing it if the weight is 0. The compact graphs
+     * are replaced by updated copies, so searches already running keep
+     * their view of the graph, and the graph version is incremented so
+     * cached results are invalidated. A new or shorter edge can make the
+     * direct distances overestimate, so searches that need admissible
+     * estimates stop using them until validateDirectDistances is called.
+     * @param from Node object at the start of the edge
+     * @param to Node object at the end of the edge
+     * @param weight int new edge weight or 0 to remove the edge
      */
-    private static Scanner getFileScanner(String filename) {
-        // Try to read the input file
-        Scanner fileScanner = null;
-        try {
-            fileScanner = new Scanner(new File(filename));
+    public synchronized void setEdge(Node<String> from, Node<String> to,
+                                     int weight) {
+        int oldWeight = compactGraph.getEdgeWeight(from.getId(), to.getId());
+        if (weight != 0 && (oldWeight < 0 || weight < oldWeight)) {
+            directDistancesAdmissible = false;
+        }
+        landmarks = null;
+        hierarchy = null;
+        distanceTable = null;
+        compressedGraph = null;
+        compactGraph = compactGraph.withEdge(from.getId(), to.getId(), weight);
+        reverseGraph = reverseGraph.withEdge(to.getId(), from.getId(), weight);
+        reachability = keepsReachability(oldWeight, from.getId(), to.getId(),
+                weight) ? reachability.withGraph(compactGraph) : null;
+        if (heuristicCache != null) {
+            heuristicCache.close();
+            heuristicCache = new HeuristicCache(compactGraph, reverseGraph,
+                    heuristicCache.getMaxBytes());
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Tests if changing an edge leaves the reachability index unchanged: a
+     * changed weight or a removed edge that did not exist leaves every path
+     * in place, and a new edge adds no path if its start already reaches
+     * its end.
+     * @param oldWeight int weight of the edge before the change or -1
+     * @param from int id of the node at the start of the edge
+     * @param to int id of the node at the end of the edge
+     * @param weight int new edge weight or 0 to remove the edge
+     * @return true if the index still describes the changed graph
+     */
+    private boolean keepsReachability(int oldWeight, int from, int to,
+                                      int weight) {
+        if (reachability == null) {
+            return false;
+        }
+        if (weight == 0) {
+            return oldWeight < 0;
+        }
+        return oldWeight >= 0 || reachability.canReach(from, to);
+    }
+
+    /**
+     * Returns the graph's ReachabilityIndex, building it first if the graph
+     * was loaded or an edge changed since it was last built.
+     * @return ReachabilityIndex object
+     */
+    public ReachabilityIndex getReachability() {
+        ReachabilityIndex index = reachability;
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            if (reachability == null) {
+                reachability = ReachabilityIndex.build(compactGraph);
+            }
+            return reachability;
+        }
+    }
+
+    /**
+     * Sets a node's direct distance to the destination node in both the
+     * Node object and the compact graphs, and increments the graph version
+     * so cached results are invalidated. A larger direct distance can
+     * overestimate, so searches that need admissible estimates stop using
+     * the direct distances until validateDirectDistances is called.
+     * @param node Node object to change
+     * @param distance int new direct distance
+     */
+    public synchronized void setDistanceToDest(Node<String> node,
+                                               int distance) {
+        if (distance > compactGraph.getHeuristic(node.getId())) {
+            directDistancesAdmissible = false;
+        }
+        node.setDistanceToDest(distance);
+        compressedGraph = null;
+        compactGraph = compactGraph.withHeuristic(node.getId(), distance);
+        reverseGraph = reverseGraph.withHeuristic(node.getId(), distance);
+        if (reachability != null) {
+            reachability = reachability.withGraph(compactGraph);
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Picks landmark nodes and computes the distances to and from each of
+     * them, replacing any landmarks computed before.
+     * @param count int number of landmarks
+     */
+    public synchronized void computeLandmarks(int count) {
+        landmarks = Landmarks.select(compactGraph, reverseGraph,
+                getReachability(), count);
+    }
+
+    /**
+     * Starts keeping exact heuristic tables for hot destinations, replacing
+     * any tables kept before.
+     * @param maxBytes long memory budget of the tables in bytes
+     */
+    public synchronized void cacheHeuristics(long maxBytes) {
+        if (heuristicCache != null) {
+            heuristicCache.close();
+        }
+        heuristicCache = new HeuristicCache(compactGraph, reverseGraph,
+                maxBytes);
+    }
+
+    /**
+     * Checks the direct distances against the exact distances to the
+     * destination node. If they overestimate any distance, searches that
+     * need admissible estimates stop using them until they are checked
+     * again and found admissible.
+     * @return HeuristicValidation object
+     */
+    public synchronized HeuristicValidation validateDirectDistances() {
+        HeuristicValidation validation = HeuristicValidation.check(
+                compactGraph, reverseGraph, destinationNode.getId());
+        directDistancesAdmissible = validation.isAdmissible();
+        return validation;
+    }
+
+    /**
+     * Contracts the graph into a ContractionHierarchy, replacing any
+     * hierarchy built or opened before.
+     */
+    public synchronized void buildHierarchy() {
+        hierarchy = ContractionHierarchy.build(compactGraph);
+    }
+
+    /**
+     * Writes the graph's ContractionHierarchy to a file that can be opened
+     * later with openHierarchy instead of contracting the graph again.
+     * @param filename String name of the hierarchy file
+     * @throws IOException if the file cannot be written
+     */
+    public void saveHierarchy(String filename) throws IOException {
+        hierarchy.write(filename);
+    }
+
+    /**
+     * Opens a ContractionHierarchy file written by saveHierarchy.
+     * @param filename String name of the hierarchy file
+     * @throws IOException if the file cannot be read, is not a hierarchy
+     *                     or was built for a graph of another size
+     */
+    public synchronized void openHierarchy(String filename)
+            throws IOException {
+        ContractionHierarchy opened = ContractionHierarchy.open(filename);
+        if (opened.getNumNodes() != compactGraph.getNumNodes()) {
+            throw new IOException("Contraction hierarchy does not match the "
+                    + "graph: " + filename);
+        }
+        hierarchy = opened;
+    }
+
+    /**
+     * Compresses the graph's edges into a CompressedGraph, replacing any
+     * compressed before.
+     */
+    public synchronized void compressGraph() {
+        compressedGraph = CompressedGraph.compress(compactGraph);
+    }
+
+    /**
+     * Fills a DistanceTable of the shortest paths between every pair of
+     * nodes, replacing any table built or opened before.
+     */
+    public synchronized void buildDistanceTable() {
+        distanceTable = DistanceTable.build(compactGraph);
+    }
+
+    /**
+     * Writes the graph's DistanceTable to a file that can be opened later
+     * with openDistanceTable instead of filling the table again.
+     * @param filename String name of the table file
+     * @throws IOException if the file cannot be written
+     */
+    public void saveDistanceTable(String filename) throws IOException {
+        distanceTable.write(filename);
+    }
 
-        } catch (FileNotFoundException e) {
+    /**
+     * Opens a DistanceTable file written by saveDistanceTable.
+     * @param filename String name of the table file
+     * @throws IOException if the file cannot be read, is not a table or
+     *                     was filled for a graph of another size
+     */
+    public synchronized void openDistanceTable(String filename)
+            throws IOException {
+        DistanceTable opened = DistanceTable.open(filename);
+        if (opened.getNumNodes() != compactGraph.getNumNodes()) {
+            throw new IOException("Distance table does not match the "
+                    + "graph: " + filename);
+        }
+        distanceTable = opened;
+    }
+
+    // Graph methods
+    /**
+     * Prints an error message for a file that could not be read and exits.
+     * @param filename String value of the file that could not be read
+     * @param e IOException object raised while reading the file
+     */
+    private static void exitOnReadError(String filename, IOException e) {
+        if (e instanceof NoSuchFileException) {
             // File cannot be found; Print error message and exit program
             System.out.println("File not found: " + filename
                     + ". Exiting program...");
-            System.exit(0);
+        } else {
+            System.out.println("Could not read file: " + filename + " ("
+                    + e.getMessage() + "). Exiting program...");
         }
-
-        return fileScanner;
+        System.exit(0);
     }
 
     /**
-     * Creates a Character array of Node elements from String parameter.
+     * Creates an empty array of Node objects.
      *
-     * Suppress warning in place as cast from Node object to Node<Character>
-     * object is always safe as Node objects are created and inserted into
-     * array by private method.
+     * Suppress warning in place as cast from Node object to Node<String>
+     * object is always safe as only Node<String> objects are inserted
+     * into the array.
      *
-     * @param nodeNames String array of node names.
-     * @return Character array of Node elements.
+     * @param numNodes int length of the array
+     * @return Node array of the given length
      */
     @SuppressWarnings("unchecked")
-    private Node<Character>[] createNodeElementArray(String[] nodeNames) {
+    private static Node<String>[] newNodeArray(int numNodes) {
+        return new Node[numNodes];
+    }
+
+    /**
+     * Creates a String array of Node elements from String parameter.
+     *
+     * @param nodeNames String array of node names.
+     * @return String array of Node elements.
+     */
+    private Node<String>[] createNodeElementArray(String[] nodeNames) {
 
         int numNodes = nodeNames.length;
-        Node<Character>[] nodeElements = new Node[numNodes];
+        Node<String>[] nodeElements = newNodeArray(numNodes);
 
         // Loop through node names and create Node objects
         for (int i = 0; i < numNodes; i++) {
-            // Convert String to a character
-            char element = nodeNames[i].charAt(0);
-            // Create a Node object from the element making sure it is uppercase
-            nodeElements[i] =  new Node<>(Character.toUpperCase(element));
+            // Create a Node object from the name
+            nodeElements[i] =  new Node<>(nodeNames[i]);
+            // The node's position in the name index is its id in the
+            // compact graph
+            nodeElements[i].setId(i);
         }
 
         return nodeElements;
@@ -96,106 +401,117 @@ public class Graph {
 
     /**
      * Populates graph list of Nodes as vertices by parsing the file stored
-     * in the instance variable graphFile.
+     * in the instance variable graphFile with a GraphLoader. Edges are
+     * collected in the loader's CompactGraph.Builder to be built once the
+     * direct distances are known.
+     * @param loader GraphLoader object used to read the graph files
      */
-    private void createGraphVertices() {
+    private void createGraphVertices(GraphLoader loader) {
         // Read the input file
-        Scanner graphScanner = getFileScanner(graphFile);
-
-        // Retrieve the first line of the file as column names
-        String[] nodeNames = graphScanner.nextLine().trim().split("\\s+");
-
-        // Convert first line into character array of Node elements
-        Node<Character>[] nodeElements = createNodeElementArray(nodeNames);
-
-        // Initialize a variable to serve as index to node elements list
-        int nodeIndex = 0;
-
-        // Read through the file and populate graph with nodes
-        while (graphScanner.hasNext()) {
-
-            // Get next line in the file
-            String[] row = graphScanner.nextLine().trim().split("\\s+");
-
-            // Store reference to node in elements list for comparison with row
-            Node<Character> node = nodeElements[nodeIndex];
-
-            // Loop through each value in the row to create a Node with
-            // appropriate edges
-            for (int i = 1; i < row.length; i++) {
-                // Test if row element is an edge of the node
-                if (row[i].charAt(0) != '0') {
-                    // Convert row element to an integer
-                    int value = Integer.parseInt(row[i]);
-                    // Set edge for Node object retrieved from elements list
-                    // and row data
-                    node.setEdge(nodeElements[i - 1], value);
-                }
-            }
+        try {
+            loader.loadGraph(graphFile);
+        } catch (IOException e) {
+            exitOnReadError(graphFile, e);
+        }
 
-            // Add node to graph list
-            graph.add(node);
+        // Retrieve the node names in the order of their ids
+        nameIndex = loader.getNameIndex();
+        String[] nodeNames = new String[nameIndex.size()];
+        for (int i = 0; i < nodeNames.length; i++) {
+            nodeNames[i] = nameIndex.getName(i);
+        }
 
-            // Increment nodeIndex to point to next node in elements list
-            nodeIndex++;
+        // Convert node names into character array of Node elements
+        Node<String>[] nodeElements = createNodeElementArray(nodeNames);
+        resetNodes(nodeElements.length);
+        for (int i = 0; i < nodeElements.length; i++) {
+            getNodeChunk(i).set(i & (NODE_CHUNK_SIZE - 1), nodeElements[i]);
         }
     }
 
     /**
      * Using the file stored by the instance variable DDFile set each node
      * object's direct distance to destinationNode instance variable.
+     * @param loader GraphLoader object used to read the graph files
      */
-    private void setDirectDistances() {
+    private void setDirectDistances(GraphLoader loader) {
 
         // Read the input file
-        Scanner ddScanner = getFileScanner(DDFile);
-
-        // Read through the file and populate the graph's node elements
-        // distance to destination variable
-        while (ddScanner.hasNext()) {
-
-            // Get the next line in the file
-            String[] row = ddScanner.nextLine().trim().split("\\s+");
-
-            // Match the character in file with a node in the graph
-            Node<Character> node = findNode(row[0].charAt(0));
-
-            // If a node was found set it's distanceToDest variable value
-            if (node != null) {
-                node.setDistanceToDest(Integer.parseInt(row[1]));
-            }
+        int[] distances = null;
+        try {
+            distances = loader.loadDirectDistances(DDFile);
+        } catch (IOException e) {
+            exitOnReadError(DDFile, e);
+        }
 
+        // Populate the graph's node elements distance to destination variable
+        for (int i = 0; i < numNodes; i++) {
+            getNode(i).setDistanceToDest(distances[i]);
         }
 
     }
 
+    /**
+     * Populates the graph by parsing the files stored in the instance
+     * variables graphFile and DDFile.
+     */
     public void populateGraph() {
         // Populate graph with nodes
-        createGraphVertices();
+        GraphLoader loader = new GraphLoader();
+        createGraphVertices(loader);
 
         // Set each node's distance to the destination node
-        setDirectDistances();
+        setDirectDistances(loader);
+        CompactGraph.Builder builder = loader.getBuilder();
+
+        // Copy direct distances into the compact graph's heuristic array
+        for (int i = 0; i < numNodes; i++) {
+            builder.setHeuristic(i, getNode(i).getDistanceToDest());
+        }
+        compactGraph = builder.build();
+        reverseGraph = builder.buildReverse();
+        reachability = null;
 
     }
 
     /**
-     * If it exists, return the node that contains an element with a value
-     * that matches parameter c.
-     * @param c Character object to search for
-     * @return Node object or null.
+     * Writes the graph to a GraphSnapshot file that can be opened later with
+     * openSnapshot instead of parsing the input files again.
+     * @param filename String name of the snapshot file
+     * @throws IOException if the file cannot be written
      */
-    public Node<Character> findNode(Character c) {
+    public void saveSnapshot(String filename) throws IOException {
+        GraphSnapshot.write(filename, nameIndex, compactGraph, reverseGraph);
+    }
 
-        Node<Character> foundNode = null;
+    /**
+     * Opens a GraphSnapshot file written by saveSnapshot. The edge arrays are
+     * served straight from the memory mapped file and Node objects are only
+     * created when they are requested.
+     * @param filename String name of the snapshot file
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public void openSnapshot(String filename) throws IOException {
+        GraphSnapshot snapshot = GraphSnapshot.open(filename);
+        nameIndex = snapshot.getNameIndex();
+        compactGraph = snapshot.getCompactGraph();
+        reverseGraph = snapshot.getReverseGraph();
+        reachability = null;
+        resetNodes(compactGraph.getNumNodes());
+    }
 
-        for (Node<Character> node : graph) {
-            if (node.getElement() == c ) {
-                foundNode = node;
-                break;
-            }
-        }
+    /**
+     * If it exists, return the node whose name matches parameter name. The
+     * name is looked up in the hashed name index in O(1).
+     * @param name String name to search for
+     * @return Node object or null.
+     */
+    public Node<String> findNode(String name) {
 
-        return foundNode;
+        // Look up the name's id in the name index
+        int id = nameIndex.find(name);
+
+        return id < 0 ? null : getNode(id);
     }
 
     /**
@@ -204,20 +520,21 @@ public class Graph {
     public void printGraph() {
         // Print out column names
         System.out.print("      ");
-        for (Node<Character> node : graph) {
-            System.out.printf("%-6s", node.getElement());
+        for (int i = 0; i < numNodes; i++) {
+            System.out.printf("%-6s", getNode(i).getElement());
         }
         System.out.println();
 
         // Print each row's edges
-        for (Node<Character> node1 : graph) {
+        for (int i = 0; i < numNodes; i++) {
 
-            System.out.printf("%-6s", node1.getElement());
+            System.out.printf("%-6s", getNode(i).getElement());
 
-            for (Node<Character> node2 : graph) {
+            for (int j = 0; j < numNodes; j++) {
 
-                if (node1.getEdges().containsKey(node2)) {
-                    System.out.printf("%-6s", node1.getEdges().get(node2));
+                int weight = compactGraph.getEdgeWeight(i, j);
+                if (weight > 0) {
+                    System.out.printf("%-6s", weight);
                 } else {
                     System.out.print("0     ");
                 }
@@ -232,7 +549,8 @@ public class Graph {
     public void printDirectDistances() {
         // Loop through each node in the graph and print its direct distance
         // to destination node
-        for (Node<Character> node : graph) {
+        for (int i = 0; i < numNodes; i++) {
+            Node<String> node = getNode(i);
             System.out.println(node.getElement() + ": "
                     + node.getDistanceToDest());
         }
@@ -244,13 +562,23 @@ public class Graph {
     public void printNodes() {
         // Loop through each node in the graph and print its direct distance to
         // destination node
-        int size = graph.size();
+        int size = numNodes;
+
+        // Only print the start of large graphs
+        if (size > MAX_PRINTED_NODES) {
+            for (int i = 0; i < MAX_PRINTED_NODES; i++) {
+                System.out.print(getNode(i).getElement() + ", ");
+            }
+            System.out.println("... (" + size + " nodes)");
+            return;
+        }
+
         for (int i = 0; i < size - 2; i++) {
-            System.out.print(graph.get(i).getElement() + ", ");
+            System.out.print(getNode(i).getElement() + ", ");
         }
 
         // Print last element without a comma
-        System.out.print(graph.get(size- 1).getElement() + "\n");
+        System.out.print(getNode(size- 1).getElement() + "\n");
 
     }
 
@@ -0,0 +1,328 @@
+/**
+ * The GraphGenerator program writes synthetic graphs in the edge list format
+ * read by GraphLoader, with a direct distance file to one destination node,
+ * so that algorithms can be measured on graphs of any size.
+ *
+ * Every node is given a position in the plane and every edge is at least
+ * as long as the straight line between its nodes. Each direct distance is
+ * the straight line distance to the destination rounded down, so the direct
+ * distances are consistent: no edge is shorter than the drop in direct
+ * distance along it. Three shapes of graph can be written:
+ *  - GRID: a square lattice with edges between horizontal and vertical
+ *    neighbours, like a street grid
+ *  - GEOMETRIC: nodes placed at random and joined to every node within a
+ *    radius that gives GEOMETRIC_DEGREE neighbours on average
+ *  - SCALE_FREE: nodes added one by one, each joined to SCALE_FREE_EDGES
+ *    nodes picked with probability in proportion to their degree
+ *    (Barabasi-Albert), so a few hubs have very many edges
+ * Every edge is written in both directions, each with its own weight. Nodes
+ * are named "v0" to "vN" and the destination is the highest numbered node
+ * with an edge, as a random geometric graph can leave nodes on their own.
+ *
+ * Run with the arguments "shape numNodes graphFile ddFile [seed]". Graphs of
+ * 10^7 nodes need a heap of a few gigabytes for the geometric and scale free
+ * shapes; grids are written without holding any edges.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+public final class GraphGenerator {
+
+    // Class variables
+    private static final int SCALE = 100;
+    private static final int GEOMETRIC_DEGREE = 6;
+    private static final int SCALE_FREE_EDGES = 3;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The Shape enum names the kinds of graph that can be generated.
+     */
+    public enum Shape {
+        GRID, GEOMETRIC, SCALE_FREE;
+
+        /**
+         * Returns the shape matching a name such as "GRID" or "scale-free".
+         * @param name String name of the shape
+         * @return Shape object or null if no shape matches
+         */
+        public static Shape fromName(String name) {
+            String key = name.trim().toUpperCase().replace("-", "_");
+            for (Shape shape : values()) {
+                if (shape.name().equals(key)) {
+                    return shape;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Instance variables
+    private final int numNodes;
+    private final Random random;
+    private final int[] x;
+    private final int[] y;
+    private int lastJoined = -1;
+
+    // Constructor - only called by generate
+    private GraphGenerator(int numNodes, long seed) {
+        this.numNodes = numNodes;
+        random = new Random(seed);
+        x = new int[numNodes];
+        y = new int[numNodes];
+    }
+
+    /**
+     * Writes a graph file and a direct distance file for a generated graph.
+     * @param shape Shape of the graph
+     * @param numNodes int number of nodes, at least 2
+     * @param seed long seed of the random generator; the same seed gives
+     *             the same files
+     * @param graphFile String name of the edge list file to write
+     * @param ddFile String name of the direct distance file to write
+     * @return String name of the destination node of the direct distances
+     * @throws IOException if a file cannot be written
+     */
+    public static String generate(Shape shape, int numNodes, long seed,
+                                  String graphFile, String ddFile)
+            throws IOException {
+        if (numNodes < 2) {
+            throw new IllegalArgumentException("A graph needs at least 2 "
+                    + "nodes: " + numNodes);
+        }
+        GraphGenerator generator = new GraphGenerator(numNodes, seed);
+
+        try (Writer out = newWriter(graphFile)) {
+            switch (shape) {
+                case GRID:
+                    generator.writeGrid(out);
+                    break;
+                case GEOMETRIC:
+                    generator.writeGeometric(out);
+                    break;
+                default:
+                    generator.writeScaleFree(out);
+                    break;
+            }
+        }
+
+        int destination = generator.lastJoined;
+        try (Writer out = newWriter(ddFile)) {
+            generator.writeDirectDistances(out, destination);
+        }
+        return name(destination);
+    }
+
+    /**
+     * Writes a square lattice of nodes SCALE apart.
+     * @param out Writer of the graph file
+     * @throws IOException if the file cannot be written
+     */
+    private void writeGrid(Writer out) throws IOException {
+        int side = (int) Math.ceil(Math.sqrt(numNodes));
+        for (int v = 0; v < numNodes; v++) {
+            x[v] = (v % side) * SCALE;
+            y[v] = (v / side) * SCALE;
+        }
+        for (int v = 0; v < numNodes; v++) {
+            if (v % side + 1 < side && v + 1 < numNodes) {
+                writeEdges(out, v, v + 1);
+            }
+            if (v + side < numNodes) {
+                writeEdges(out, v, v + side);
+            }
+        }
+    }
+
+    /**
+     * Writes a random geometric graph. Nodes are sorted into square cells
+     * as wide as the radius, so each node is only compared with the nodes
+     * of its own and the eight neighbouring cells.
+     * @param out Writer of the graph file
+     * @throws IOException if the file cannot be written
+     */
+    private void writeGeometric(Writer out) throws IOException {
+        int width = placeAtRandom();
+        double radius = SCALE * Math.sqrt(GEOMETRIC_DEGREE / Math.PI);
+        long radiusSquared = (long) (radius * radius);
+        int cellSize = (int) Math.ceil(radius);
+        int cellsPerSide = width / cellSize + 1;
+
+        // Counting sort of the nodes by cell
+        int[] cellStart = new int[cellsPerSide * cellsPerSide + 1];
+        for (int v = 0; v < numNodes; v++) {
+            cellStart[cellOf(v, cellSize, cellsPerSide) + 1]++;
+        }
+        for (int c = 0; c < cellsPerSide * cellsPerSide; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] cellNodes = new int[numNodes];
+        int[] fill = cellStart.clone();
+        for (int v = 0; v < numNodes; v++) {
+            cellNodes[fill[cellOf(v, cellSize, cellsPerSide)]++] = v;
+        }
+
+        // Join each node to the higher numbered nodes within the radius
+        for (int v = 0; v < numNodes; v++) {
+            int cellX = x[v] / cellSize;
+            int cellY = y[v] / cellSize;
+            for (int cy = Math.max(cellY - 1, 0);
+                 cy <= Math.min(cellY + 1, cellsPerSide - 1); cy++) {
+                for (int cx = Math.max(cellX - 1, 0);
+                     cx <= Math.min(cellX + 1, cellsPerSide - 1); cx++) {
+                    int cell = cy * cellsPerSide + cx;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1];
+                         i++) {
+                        int u = cellNodes[i];
+                        if (u > v && squaredDistance(u, v) <= radiusSquared) {
+                            writeEdges(out, v, u);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a scale free graph by preferential attachment. The first
+     * SCALE_FREE_EDGES + 1 nodes are all joined to each other; every later
+     * node is joined to SCALE_FREE_EDGES different earlier nodes, each
+     * picked from the list of all edge ends so far.
+     * @param out Writer of the graph file
+     * @throws IOException if the file cannot be written
+     */
+    private void writeScaleFree(Writer out) throws IOException {
+        placeAtRandom();
+        int m = Math.min(SCALE_FREE_EDGES, numNodes - 1);
+        int[] ends = new int[2 * m * numNodes];
+        int numEnds = 0;
+
+        // Complete graph of the first nodes
+        for (int v = 0; v <= m; v++) {
+            for (int u = 0; u < v; u++) {
+                writeEdges(out, u, v);
+                ends[numEnds++] = u;
+                ends[numEnds++] = v;
+            }
+        }
+
+        // Each later node picks distinct targets in proportion to degree
+        int[] picked = new int[m];
+        for (int v = m + 1; v < numNodes; v++) {
+            int numPicked = 0;
+            while (numPicked < m) {
+                int u = ends[random.nextInt(numEnds)];
+                boolean repeated = false;
+                for (int i = 0; i < numPicked; i++) {
+                    repeated |= picked[i] == u;
+                }
+                if (!repeated) {
+                    picked[numPicked++] = u;
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                writeEdges(out, v, picked[i]);
+                ends[numEnds++] = v;
+                ends[numEnds++] = picked[i];
+            }
+        }
+    }
+
+    /**
+     * Places every node at random in a square that holds one node per
+     * SCALE by SCALE area on average.
+     * @return int width of the square
+     */
+    private int placeAtRandom() {
+        int width = (int) Math.ceil(Math.sqrt(numNodes)) * SCALE;
+        for (int v = 0; v < numNodes; v++) {
+            x[v] = random.nextInt(width);
+            y[v] = random.nextInt(width);
+        }
+        return width;
+    }
+
+    /**
+     * Writes each node's straight line distance to the destination node,
+     * rounded down.
+     * @param out Writer of the direct distance file
+     * @param destination int id of the destination node
+     * @throws IOException if the file cannot be written
+     */
+    private void writeDirectDistances(Writer out, int destination)
+            throws IOException {
+        for (int v = 0; v < numNodes; v++) {
+            long distance = (long) Math.floor(
+                    Math.sqrt(squaredDistance(v, destination)));
+            out.write(name(v) + " " + distance + "\n");
+        }
+    }
+
+    /**
+     * Writes an edge in each direction between two nodes. Each weight is the
+     * straight line distance rounded up plus a random delay of up to half
+     * of it, and at least 1.
+     * @param out Writer of the graph file
+     * @param u int id of one node
+     * @param v int id of the other node
+     * @throws IOException if the file cannot be written
+     */
+    private void writeEdges(Writer out, int u, int v) throws IOException {
+        lastJoined = Math.max(lastJoined, Math.max(u, v));
+        int length = (int) Math.max(1,
+                Math.ceil(Math.sqrt(squaredDistance(u, v))));
+        out.write(name(u) + " " + name(v) + " "
+                + (length + random.nextInt(length / 2 + 1)) + "\n");
+        out.write(name(v) + " " + name(u) + " "
+                + (length + random.nextInt(length / 2 + 1)) + "\n");
+    }
+
+    // Squared straight line distance between two nodes
+    private long squaredDistance(int u, int v) {
+        long dx = x[u] - x[v];
+        long dy = y[u] - y[v];
+        return dx * dx + dy * dy;
+    }
+
+    // Index of the cell that holds a node
+    private int cellOf(int v, int cellSize, int cellsPerSide) {
+        return (y[v] / cellSize) * cellsPerSide + x[v] / cellSize;
+    }
+
+    // Name of a node in the generated files
+    private static String name(int v) { return "v" + v; }
+
+    // Opens a buffered writer that replaces any existing file
+    private static Writer newWriter(String filename) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(Paths.get(filename),
+                StandardCharsets.US_ASCII), WRITE_BUFFER_SIZE);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Shape shape = args.length >= 4 ? Shape.fromName(args[0]) : null;
+        if (shape == null) {
+            System.out.println("Usage: java GraphGenerator "
+                    + "grid|geometric|scale-free numNodes graphFile ddFile "
+                    + "[seed]");
+            return;
+        }
+        int numNodes = Integer.parseInt(args[1]);
+        long seed = args.length >= 5 ? Long.parseLong(args[4]) : 1;
+
+        String destination = generate(shape, numNodes, seed, args[2],
+                args[3]);
+        System.out.println("Wrote " + numNodes + " node " + shape + " graph "
+                + "to " + args[2] + " with direct distances to "
+                + destination + " in " + args[3]);
+    }
+
+}
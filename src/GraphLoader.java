@@ -0,0 +1,644 @@
+/**
+ * The GraphLoader class reads graph and direct distance files into a
+ * NameIndex of node names and a CompactGraph.Builder of edges.
+ *
+ * Files are memory mapped through NIO and split into chunks at line
+ * boundaries. The chunks are parsed in parallel with hand written integer
+ * parsing straight from the mapped bytes, so no String is created per line
+ * or per value. Chunk results are merged in file order, so the loaded graph
+ * does not depend on the number of chunks.
+ *
+ * Two graph file formats are accepted:
+ *  - Matrix: a header line of node names followed by one row per node that
+ *    starts with the node's name and holds an edge weight (or 0 for no edge)
+ *    for every column.
+ *  - Edge list: one directed edge per line written as "source target weight".
+ *    Blank lines and lines starting with '#' are ignored.
+ * A file is read as an edge list when its first line has exactly three
+ * values, the third an integer, and its second line does not have the four
+ * values of a three node matrix row; otherwise it is read as a matrix.
+ * Negative edge weights are rejected with the number of their line.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class GraphLoader {
+
+    // Class variables
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    // Instance variables
+    private final int parallelism;
+    private final NameIndex nameIndex = new NameIndex();
+    private CompactGraph.Builder builder;
+
+    // Constructs a loader that uses one chunk per available processor
+    public GraphLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Constructs a loader that splits files into at most parallelism chunks
+    public GraphLoader(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // Accessor methods
+    public NameIndex getNameIndex() { return nameIndex; }
+    public CompactGraph.Builder getBuilder() { return builder; }
+
+    /**
+     * Reads a graph file in matrix or edge list format. Node names are added
+     * to the name index in the order they first appear and the edges are
+     * collected in a new builder.
+     * @param filename String name of the graph file
+     * @throws IOException if the file cannot be read
+     */
+    public void loadGraph(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+
+            // Map the start of the file to read its first line
+            long fileSize = channel.size();
+            ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(fileSize, Integer.MAX_VALUE));
+            int limit = head.limit();
+            int lineStart = skipBlankLines(head, 0, limit);
+
+            if (isEdgeList(head, lineStart, limit)) {
+                loadEdgeList(channel, lineStart, filename);
+            } else {
+                loadMatrix(channel, head, lineStart, filename);
+            }
+        }
+    }
+
+    /**
+     * Reads a direct distance file of "name distance" lines. Names that are
+     * not in the name index are ignored.
+     * @param filename String name of the direct distance file
+     * @return int array of each node's distance indexed by node id
+     * @throws IOException if the file cannot be read
+     */
+    public int[] loadDirectDistances(String filename) throws IOException {
+        int[] distances = new int[nameIndex.size()];
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+
+            // Each chunk writes the distances of its own lines
+            parseChunks(channel, 0, filename, (buffer, position, end) -> {
+                int limit = buffer.limit();
+                while (position < end && position < limit) {
+                    position = skipSpaces(buffer, position, limit);
+                    if (isLineEnd(buffer, position, limit)) {
+                        position++;
+                        continue;
+                    }
+
+                    // Match the name with a node in the graph
+                    int nameEnd = tokenEnd(buffer, position, limit);
+                    int node = nameIndex.find(buffer, position,
+                            nameEnd - position);
+                    position = skipSpaces(buffer, nameEnd, limit);
+                    int valueEnd = tokenEnd(buffer, position, limit);
+
+                    // If a node was found set its distance
+                    if (node >= 0 && valueEnd > position) {
+                        distances[node] = parseInt(buffer, position, valueEnd,
+                                filename);
+                    }
+                    position = nextLine(buffer, valueEnd, limit);
+                }
+                return null;
+            });
+        }
+
+        return distances;
+    }
+
+    /**
+     * Reads the header line of a matrix file into the name index, then parses
+     * the rows in parallel chunks.
+     * @param channel FileChannel of the graph file
+     * @param head ByteBuffer mapped from the start of the file
+     * @param headerStart int index of the header line
+     * @param filename String name of the graph file for error messages
+     * @throws IOException if the file cannot be read
+     */
+    private void loadMatrix(FileChannel channel, ByteBuffer head,
+                            int headerStart, String filename)
+            throws IOException {
+        int limit = head.limit();
+
+        // Retrieve the header line as column names
+        IntList columns = new IntList();
+        int position = skipSpaces(head, headerStart, limit);
+        while (!isLineEnd(head, position, limit)) {
+            int end = tokenEnd(head, position, limit);
+            columns.add(nameIndex.getOrAdd(head, position, end - position));
+            position = skipSpaces(head, end, limit);
+        }
+        int[] columnIds = columns.toArray();
+        int dataStart = Math.min(position + 1, limit);
+
+        // Parse the rows; each chunk collects edges of its own lines
+        List<EdgeList> chunks = parseChunks(channel, dataStart, filename,
+                (buffer, start, end) -> parseMatrixRows(buffer, start, end,
+                        columnIds, filename));
+
+        // Merge the chunks' edges in file order
+        builder = new CompactGraph.Builder(nameIndex.size());
+        for (EdgeList edges : chunks) {
+            edges.addTo(builder);
+        }
+    }
+
+    /**
+     * Parses the matrix rows that start before the end of a chunk.
+     * @param buffer ByteBuffer mapped over the chunk
+     * @param position int index of the first row in the chunk
+     * @param end int index where the chunk's rows end
+     * @param columnIds int array of the node id of each matrix column
+     * @param filename String name of the graph file for error messages
+     * @return EdgeList object of the chunk's edges
+     */
+    private EdgeList parseMatrixRows(ByteBuffer buffer, int position, int end,
+                                     int[] columnIds, String filename) {
+        EdgeList edges = new EdgeList();
+        int limit = buffer.limit();
+
+        while (position < end && position < limit) {
+            position = skipSpaces(buffer, position, limit);
+            if (isLineEnd(buffer, position, limit)) {
+                position++;
+                continue;
+            }
+
+            // Match the row name with a header node
+            int nameEnd = tokenEnd(buffer, position, limit);
+            int row = nameIndex.find(buffer, position, nameEnd - position);
+            position = skipSpaces(buffer, nameEnd, limit);
+
+            // Loop through each value in the row and keep non zero edges
+            int column = 0;
+            while (!isLineEnd(buffer, position, limit)) {
+                int valueEnd = tokenEnd(buffer, position, limit);
+                if (row >= 0 && column < columnIds.length) {
+                    int value = parseInt(buffer, position, valueEnd, filename);
+                    if (value < 0) {
+                        throw new LineException("Negative edge weight "
+                                + value, position);
+                    }
+                    if (value != 0) {
+                        edges.add(row, columnIds[column], value);
+                    }
+                }
+                column++;
+                position = skipSpaces(buffer, valueEnd, limit);
+            }
+            position++;
+        }
+
+        return edges;
+    }
+
+    /**
+     * Parses an edge list file in parallel chunks. Each chunk numbers the
+     * names it meets in its own NameIndex; the chunk indexes are then merged
+     * into the loader's name index in file order and the edges remapped.
+     * @param channel FileChannel of the graph file
+     * @param dataStart long index of the first line
+     * @param filename String name of the graph file for error messages
+     * @throws IOException if the file cannot be read
+     */
+    private void loadEdgeList(FileChannel channel, long dataStart,
+                              String filename) throws IOException {
+        List<EdgeList> chunks = parseChunks(channel, dataStart, filename,
+                (buffer, start, end) ->
+                        parseEdgeLines(buffer, start, end, filename));
+
+        // Merge chunk names in file order; Node ids follow first appearance
+        int[][] remaps = new int[chunks.size()][];
+        for (int c = 0; c < remaps.length; c++) {
+            NameIndex chunkNames = chunks.get(c).names;
+            int[] remap = new int[chunkNames.size()];
+            for (int id = 0; id < remap.length; id++) {
+                remap[id] = nameIndex.getOrAdd(chunkNames, id);
+            }
+            remaps[c] = remap;
+        }
+
+        // Translate chunk ids to graph ids in parallel, then merge edges
+        IntStream.range(0, remaps.length).parallel()
+                .forEach(c -> chunks.get(c).remap(remaps[c]));
+        builder = new CompactGraph.Builder(nameIndex.size());
+        for (EdgeList edges : chunks) {
+            edges.addTo(builder);
+        }
+    }
+
+    /**
+     * Parses the "source target weight" lines that start before the end of
+     * a chunk, numbering node names in a chunk local index.
+     * @param buffer ByteBuffer mapped over the chunk
+     * @param position int index of the first line in the chunk
+     * @param end int index where the chunk's lines end
+     * @param filename String name of the graph file for error messages
+     * @return EdgeList object of the chunk's edges and names
+     */
+    private static EdgeList parseEdgeLines(ByteBuffer buffer, int position,
+                                           int end, String filename) {
+        EdgeList edges = new EdgeList();
+        edges.names = new NameIndex();
+        int limit = buffer.limit();
+
+        while (position < end && position < limit) {
+            position = skipSpaces(buffer, position, limit);
+            if (isLineEnd(buffer, position, limit)
+                    || buffer.get(position) == '#') {
+                position = nextLine(buffer, position, limit);
+                continue;
+            }
+
+            // Read the source, target and weight tokens
+            int sourceEnd = tokenEnd(buffer, position, limit);
+            int source = edges.names.getOrAdd(buffer, position,
+                    sourceEnd - position);
+            position = skipSpaces(buffer, sourceEnd, limit);
+            int targetEnd = tokenEnd(buffer, position, limit);
+            if (targetEnd == position) {
+                throw new IllegalArgumentException("Missing edge target in "
+                        + filename);
+            }
+            int target = edges.names.getOrAdd(buffer, position,
+                    targetEnd - position);
+            position = skipSpaces(buffer, targetEnd, limit);
+            int weightEnd = tokenEnd(buffer, position, limit);
+            int weight = parseInt(buffer, position, weightEnd, filename);
+            if (weight < 0) {
+                throw new LineException("Negative edge weight " + weight,
+                        position);
+            }
+
+            edges.add(source, target, weight);
+            position = nextLine(buffer, weightEnd, limit);
+        }
+
+        return edges;
+    }
+
+    /**
+     * Splits the file from dataStart to its end into chunks at line
+     * boundaries and parses the chunks in parallel. A chunk owns every line
+     * that starts inside it and may read past its end to finish the last one.
+     * A LineException thrown by the parser is reported with its line number.
+     * @param channel FileChannel of the file
+     * @param dataStart long index of the first line to parse
+     * @param filename String name of the file for error messages
+     * @param parser ChunkParser that parses the lines of one chunk
+     * @return List of chunk results in file order
+     * @throws IOException if the file cannot be mapped
+     */
+    private <T> List<T> parseChunks(FileChannel channel, long dataStart,
+                                    String filename, ChunkParser<T> parser)
+            throws IOException {
+        long fileSize = channel.size();
+        long dataSize = Math.max(0, fileSize - dataStart);
+
+        // Use enough chunks to keep every core busy and each map small
+        long numChunks = Math.min(parallelism,
+                Math.max(1, dataSize / MIN_CHUNK_SIZE));
+        numChunks = Math.max(numChunks,
+                (dataSize + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        long chunkSize = Math.max(1, (dataSize + numChunks - 1) / numChunks);
+
+        try {
+            return IntStream.range(0, (int) numChunks).parallel()
+                    .mapToObj(c -> {
+                        long start = dataStart + c * chunkSize;
+                        long end = Math.min(fileSize, start + chunkSize);
+
+                        // Map one byte early to see if the chunk starts a line
+                        long mapStart = c == 0 ? start : start - 1;
+                        ByteBuffer buffer = map(channel, mapStart,
+                                Math.min(fileSize - mapStart, Integer.MAX_VALUE));
+                        int position = 0;
+                        if (mapStart < start) {
+                            position = nextLine(buffer, 0, buffer.limit());
+                        }
+                        try {
+                            return parser.parse(buffer, position,
+                                    (int) (end - mapStart));
+                        } catch (LineException e) {
+                            throw new IllegalArgumentException(e.getMessage()
+                                    + " on line " + lineNumber(channel,
+                                    mapStart + e.position) + " of "
+                                    + filename);
+                        }
+                    })
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Maps a read only region of a file, rethrowing failures unchecked so
+     * the call can be made from a parallel stream.
+     * @param channel FileChannel of the file
+     * @param start long index of the region
+     * @param size long number of bytes in the region
+     * @return ByteBuffer mapped over the region
+     */
+    private static ByteBuffer map(FileChannel channel, long start, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Counts the newlines before an index of a file, only called to report
+     * an error.
+     * @param channel FileChannel of the file
+     * @param offset long index in the file
+     * @return long number of the line that holds the index, from 1
+     */
+    private static long lineNumber(FileChannel channel, long offset) {
+        long line = 1;
+        for (long start = 0; start < offset; start += Integer.MAX_VALUE) {
+            ByteBuffer buffer = map(channel, start,
+                    Math.min(offset - start, Integer.MAX_VALUE));
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    line++;
+                }
+            }
+        }
+        return line;
+    }
+
+    /**
+     * Tests if a file is an edge list from the shape of its first lines.
+     * The header of a three node matrix looks like an edge list line, but
+     * the matrix rows hold four values where edge list lines hold three.
+     * @param buffer ByteBuffer mapped from the start of the file
+     * @param lineStart int index of the first line
+     * @param limit int index where the buffer ends
+     * @return true if the file should be read as an edge list
+     */
+    private static boolean isEdgeList(ByteBuffer buffer, int lineStart,
+                                      int limit) {
+        if (!isEdgeListLine(buffer, lineStart, limit)) {
+            return false;
+        }
+        int next = skipBlankLines(buffer,
+                Math.min(nextLine(buffer, lineStart, limit), limit), limit);
+        return countTokens(buffer, next, limit) != 4;
+    }
+
+    /**
+     * Counts the values on a line.
+     * @param buffer ByteBuffer that holds the line
+     * @param position int index of the line
+     * @param limit int index where the buffer ends
+     * @return int number of values
+     */
+    private static int countTokens(ByteBuffer buffer, int position,
+                                   int limit) {
+        int tokens = 0;
+        position = skipSpaces(buffer, position, limit);
+        while (!isLineEnd(buffer, position, limit)) {
+            tokens++;
+            position = skipSpaces(buffer, tokenEnd(buffer, position, limit),
+                    limit);
+        }
+        return tokens;
+    }
+
+    /**
+     * Tests if a line holds exactly three values and the third is an integer.
+     * @param buffer ByteBuffer that holds the line
+     * @param position int index of the line
+     * @param limit int index where the buffer ends
+     * @return true if the line looks like an edge list line
+     */
+    private static boolean isEdgeListLine(ByteBuffer buffer, int position,
+                                          int limit) {
+        int tokens = 0;
+        int lastStart = position;
+        int lastEnd = position;
+        position = skipSpaces(buffer, position, limit);
+        while (!isLineEnd(buffer, position, limit)) {
+            lastStart = position;
+            lastEnd = tokenEnd(buffer, position, limit);
+            tokens++;
+            position = skipSpaces(buffer, lastEnd, limit);
+        }
+        if (tokens != 3) {
+            return false;
+        }
+
+        // The third value must be an optionally signed integer
+        if (buffer.get(lastStart) == '-') {
+            lastStart++;
+        }
+        if (lastStart == lastEnd) {
+            return false;
+        }
+        for (int i = lastStart; i < lastEnd; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an optionally signed decimal integer from a region of a buffer.
+     * @param buffer ByteBuffer that holds the digits
+     * @param start int index of the first character
+     * @param end int index one past the last character
+     * @param filename String name of the file for error messages
+     * @return int value
+     */
+    private static int parseInt(ByteBuffer buffer, int start, int end,
+                                String filename) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw invalidNumber(buffer, start, end, filename);
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidNumber(buffer, start, end, filename);
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw invalidNumber(buffer, start, end, filename);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw invalidNumber(buffer, start, end, filename);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Creates the exception for a value that is not a valid integer. Only
+     * here is the value's text turned into a String.
+     */
+    private static NumberFormatException invalidNumber(ByteBuffer buffer,
+                                                       int start, int end,
+                                                       String filename) {
+        byte[] bytes = new byte[end - start];
+        for (int i = start; i < end; i++) {
+            bytes[i - start] = buffer.get(i);
+        }
+        return new NumberFormatException("Invalid number \""
+                + new String(bytes, StandardCharsets.UTF_8) + "\" in "
+                + filename);
+    }
+
+    // Line scanning helpers; Spaces, tabs and carriage returns separate
+    // values and leading blank or '#' comment lines are skipped
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+    private static boolean isLineEnd(ByteBuffer buffer, int position,
+                                     int limit) {
+        return position >= limit || buffer.get(position) == '\n';
+    }
+    private static int skipSpaces(ByteBuffer buffer, int position, int limit) {
+        while (position < limit && isSpace(buffer.get(position))) {
+            position++;
+        }
+        return position;
+    }
+    private static int tokenEnd(ByteBuffer buffer, int position, int limit) {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == '\n' || isSpace(b)) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+    private static int nextLine(ByteBuffer buffer, int position, int limit) {
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+        return position + 1;
+    }
+    private static int skipBlankLines(ByteBuffer buffer, int position,
+                                      int limit) {
+        while (position < limit) {
+            int lineStart = position;
+            position = skipSpaces(buffer, position, limit);
+            if (!isLineEnd(buffer, position, limit)
+                    && buffer.get(position) != '#') {
+                return lineStart;
+            }
+            position = nextLine(buffer, position, limit);
+        }
+        return Math.min(position, limit);
+    }
+
+    /**
+     * The ChunkParser interface parses the lines that start between a
+     * position and an end index of a mapped chunk.
+     */
+    private interface ChunkParser<T> {
+        T parse(ByteBuffer buffer, int position, int end);
+    }
+
+    /**
+     * The LineException class is thrown by a chunk parser for an invalid
+     * value, with the value's index in the chunk's buffer so that
+     * parseChunks can report the number of its line.
+     */
+    private static class LineException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int position;
+
+        private LineException(String message, int position) {
+            super(message);
+            this.position = position;
+        }
+    }
+
+    /**
+     * The IntList class is a growable array of int values.
+     */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        private int[] toArray() { return Arrays.copyOf(values, size); }
+    }
+
+    /**
+     * The EdgeList class holds the edges parsed from one chunk as parallel
+     * int arrays, and for edge list files the chunk's own node names.
+     */
+    private static class EdgeList {
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int[] weights = new int[16];
+        private int size;
+        private NameIndex names;
+
+        private void add(int source, int target, int weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+
+        // Replaces chunk local node ids with graph node ids
+        private void remap(int[] ids) {
+            for (int i = 0; i < size; i++) {
+                sources[i] = ids[sources[i]];
+                targets[i] = ids[targets[i]];
+            }
+        }
+
+        private void addTo(CompactGraph.Builder builder) {
+            builder.addEdges(sources, targets, weights, size);
+        }
+    }
+
+}
@@ -0,0 +1,489 @@
+/**
+ * The GraphPartitioner class splits a graph into regions that are served by
+ * separate PartitionWorker processes, and builds the overlay graph that a
+ * PartitionCoordinator uses to answer queries between regions.
+ *
+ * Regions are grown one at a time by breadth-first region growing. Each
+ * region starts from the first unassigned node in reverse Cuthill-McKee
+ * order, which lies on the edge of the unassigned nodes, and takes the
+ * unassigned nodes one breadth-first level at a time until it holds its
+ * share of the remaining nodes. Within a level, nodes with more edges into
+ * the region than to other unassigned nodes are taken first. The regions
+ * are then refined by moving nodes to a neighboring region they have more
+ * edges with, as long as every region stays within IMBALANCE_PERCENT of an
+ * even share. A boundary node is a node with an edge to or from another
+ * region, so fewer edges between regions means fewer boundary nodes.
+ *
+ * Every route between two regions leaves its first region and enters its
+ * last through boundary nodes, so the overlay graph only holds the boundary
+ * nodes, joined by two kinds of edge:
+ *  - shortcuts, whose weight is the shortest distance between two boundary
+ *    nodes of one region using only that region's edges
+ *  - cross edges, the graph's edges between two regions
+ * An overlay edge is a shortcut exactly when both of its nodes are in the
+ * same region. A shortcut is left out if its shortest path passes through
+ * another boundary node of the region, as the two shortcuts to and from
+ * that node are as short.
+ *
+ * Partitioning writes three kinds of file to a directory:
+ *  - region-i.snapshot, a GraphSnapshot of region i's nodes and the edges
+ *    between them, with the region's own node ids
+ *  - overlay.snapshot, a GraphSnapshot of the overlay graph
+ *  - partition.txt, the number of regions on its first line and then the
+ *    name and region of each boundary node, one per line
+ * Each worker opens only its own region, so a worker's memory shrinks with
+ * the number of regions. The coordinator opens only the overlay, whose
+ * boundary nodes grow in number with the regions, so its memory grows
+ * instead. The partitioner itself holds the whole graph once.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class GraphPartitioner {
+
+    // Class variables
+    public static final String MANIFEST_FILE = "partition.txt";
+    public static final String OVERLAY_FILE = "overlay.snapshot";
+    private static final int IMBALANCE_PERCENT = 3;
+    private static final int REFINE_PASSES = 4;
+
+    // Not instantiated: the class only holds static methods
+    private GraphPartitioner() { }
+
+    /**
+     * Returns the name of a region's snapshot file in a partition directory.
+     * @param directory String name of the partition directory
+     * @param region int number of the region
+     * @return String name of the region's snapshot file
+     */
+    public static String regionFile(String directory, int region) {
+        return Paths.get(directory, "region-" + region + ".snapshot")
+                .toString();
+    }
+
+    /**
+     * Splits a graph into regions and writes the region snapshots, the
+     * overlay graph and the manifest to a directory, which is created if it
+     * does not exist.
+     * @param graph Graph object populated with data
+     * @param numRegions int number of regions, from 1 to the number of nodes
+     * @param directory String name of the partition directory
+     * @throws IOException if a file cannot be written
+     */
+    public static void partition(Graph graph, int numRegions,
+                                 String directory) throws IOException {
+        CompactGraph compactGraph;
+        CompactGraph reverseGraph;
+        NameIndex names;
+        synchronized (graph) {
+            compactGraph = graph.getCompactGraph();
+            reverseGraph = graph.getReverseGraph();
+            names = graph.getNameIndex();
+        }
+        int numNodes = compactGraph.getNumNodes();
+        if (numRegions < 1 || numRegions > numNodes) {
+            throw new IllegalArgumentException("Cannot split " + numNodes
+                    + " nodes into " + numRegions + " regions");
+        }
+        Files.createDirectories(Paths.get(directory));
+
+        // Split the nodes into regions, numbering each region's nodes in
+        // reverse Cuthill-McKee order
+        int[] order = CompressedGraph.reverseCuthillMcKee(compactGraph);
+        int[] region = growRegions(compactGraph, reverseGraph, order,
+                numRegions);
+        refineRegions(compactGraph, reverseGraph, region, numRegions);
+        int[] regionSize = new int[numRegions];
+        for (int node = 0; node < numNodes; node++) {
+            regionSize[region[node]]++;
+        }
+        int[] localId = new int[numNodes];
+        int[][] members = new int[numRegions][];
+        for (int r = 0; r < numRegions; r++) {
+            members[r] = new int[regionSize[r]];
+            regionSize[r] = 0;
+        }
+        for (int node : order) {
+            int r = region[node];
+            localId[node] = regionSize[r];
+            members[r][regionSize[r]++] = node;
+        }
+
+        // Find the boundary nodes and number them for the overlay graph
+        boolean[] boundary = new boolean[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            int edgeEnd = compactGraph.edgeEnd(node);
+            for (int edge = compactGraph.edgeStart(node); edge < edgeEnd;
+                 edge++) {
+                int target = compactGraph.edgeTarget(edge);
+                if (region[target] != region[node]) {
+                    boundary[node] = true;
+                    boundary[target] = true;
+                }
+            }
+        }
+        NameIndex overlayNames = new NameIndex();
+        int[] overlayId = new int[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            overlayId[node] = boundary[node]
+                    ? overlayNames.getOrAdd(names, node) : -1;
+        }
+        CompactGraph.Builder overlay =
+                new CompactGraph.Builder(overlayNames.size());
+
+        // Write each region and add its shortcuts to the overlay graph
+        for (int r = 0; r < numRegions; r++) {
+            int[] nodes = members[r];
+            NameIndex regionNames = new NameIndex();
+            CompactGraph.Builder builder =
+                    new CompactGraph.Builder(nodes.length);
+            int[] boundaryNodes = new int[nodes.length];
+            boolean[] isBoundary = new boolean[nodes.length];
+            int numBoundary = 0;
+            for (int local = 0; local < nodes.length; local++) {
+                int node = nodes[local];
+                regionNames.getOrAdd(names, node);
+                builder.setHeuristic(local, compactGraph.getHeuristic(node));
+                if (boundary[node]) {
+                    boundaryNodes[numBoundary++] = local;
+                    isBoundary[local] = true;
+                }
+                int edgeEnd = compactGraph.edgeEnd(node);
+                for (int edge = compactGraph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int target = compactGraph.edgeTarget(edge);
+                    if (region[target] == r) {
+                        builder.addEdge(local, localId[target],
+                                compactGraph.edgeWeight(edge));
+                    }
+                }
+            }
+            CompactGraph regionGraph = builder.build();
+            GraphSnapshot.write(regionFile(directory, r), regionNames,
+                    regionGraph, builder.buildReverse());
+
+            for (int[] shortcuts : findShortcuts(regionGraph, boundaryNodes,
+                    numBoundary, isBoundary)) {
+                int from = overlayId[nodes[shortcuts[0]]];
+                for (int i = 1; i < shortcuts.length; i += 2) {
+                    overlay.addEdge(from, overlayId[nodes[shortcuts[i]]],
+                            shortcuts[i + 1]);
+                }
+            }
+        }
+
+        // Add the edges between regions to the overlay graph
+        for (int node = 0; node < numNodes; node++) {
+            int edgeEnd = compactGraph.edgeEnd(node);
+            for (int edge = compactGraph.edgeStart(node); edge < edgeEnd;
+                 edge++) {
+                int target = compactGraph.edgeTarget(edge);
+                if (region[target] != region[node]) {
+                    overlay.addEdge(overlayId[node], overlayId[target],
+                            compactGraph.edgeWeight(edge));
+                }
+            }
+        }
+        GraphSnapshot.write(Paths.get(directory, OVERLAY_FILE).toString(),
+                overlayNames, overlay.build(), overlay.buildReverse());
+
+        // Record the region of every boundary node
+        Path manifest = Paths.get(directory, MANIFEST_FILE);
+        try (BufferedWriter writer = Files.newBufferedWriter(manifest,
+                StandardCharsets.UTF_8)) {
+            writer.write(Integer.toString(numRegions));
+            writer.newLine();
+            for (int node = 0; node < numNodes; node++) {
+                if (boundary[node]) {
+                    writer.write(names.getName(node) + " " + region[node]);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Assigns every node to a region by breadth-first region growing. Each
+     * region takes its share of the unassigned nodes, starting from the
+     * first of them in a node order. The nodes of each breadth-first level
+     * are taken in order of gain: their edges into the region less their
+     * edges to other unassigned nodes.
+     * @param graph CompactGraph object of the graph's edges
+     * @param reverse CompactGraph object of the graph's reverse edges
+     * @param order int array of every node id, in the order seeds are tried
+     * @param numRegions int number of regions
+     * @return int array of each node's region
+     */
+    private static int[] growRegions(CompactGraph graph, CompactGraph reverse,
+                                     int[] order, int numRegions) {
+        int numNodes = graph.getNumNodes();
+        int[] region = new int[numNodes];
+        Arrays.fill(region, -1);
+
+        // Edges of each node to unassigned nodes, in both directions
+        int[] freeEdges = new int[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            freeEdges[node] = graph.edgeEnd(node) - graph.edgeStart(node)
+                    + reverse.edgeEnd(node) - reverse.edgeStart(node);
+        }
+
+        // Edges of each node into the region that last reached it
+        int[] regionEdges = new int[numNodes];
+        int[] reachedBy = new int[numNodes];
+        Arrays.fill(reachedBy, -1);
+
+        // The open set holds the current level keyed by negated gain, so
+        // the highest gain is polled first; A new edge into the region
+        // lowers a key by two
+        IndexedHeap openSet = new IndexedHeap(numNodes);
+        IntPath nextLevel = new IntPath();
+        int assigned = 0;
+        int nextSeed = 0;
+        for (int r = 0; r < numRegions; r++) {
+            int share = (numNodes - assigned) / (numRegions - r);
+            openSet.clear();
+            nextLevel.clear();
+            for (int size = 0; size < share; size++) {
+                if (openSet.isEmpty()) {
+                    // Move on to the next level
+                    for (int i = 0; i < nextLevel.size(); i++) {
+                        int node = nextLevel.get(i);
+                        openSet.insertOrDecrease(node,
+                                freeEdges[node] - regionEdges[node]);
+                    }
+                    nextLevel.clear();
+                }
+                int node;
+                if (openSet.isEmpty()) {
+                    // Start the region, or continue it in another component
+                    while (region[order[nextSeed]] >= 0) {
+                        nextSeed++;
+                    }
+                    node = order[nextSeed];
+                } else {
+                    node = openSet.poll();
+                }
+                region[node] = r;
+                assigned++;
+
+                for (CompactGraph g : new CompactGraph[] { graph, reverse }) {
+                    int edgeEnd = g.edgeEnd(node);
+                    for (int edge = g.edgeStart(node); edge < edgeEnd;
+                         edge++) {
+                        int target = g.edgeTarget(edge);
+                        if (region[target] >= 0) {
+                            continue;
+                        }
+                        freeEdges[target]--;
+                        if (reachedBy[target] != r) {
+                            // First reached; It belongs to the next level
+                            reachedBy[target] = r;
+                            regionEdges[target] = 0;
+                            nextLevel.push(target);
+                        }
+                        regionEdges[target]++;
+                        if (openSet.contains(target)) {
+                            openSet.insertOrDecrease(target,
+                                    openSet.getKey(target) - 2);
+                        }
+                    }
+                }
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Moves nodes to a neighboring region they have more edges with than
+     * their own, as long as both regions stay within IMBALANCE_PERCENT of
+     * an even share of the nodes. Every move removes edges between regions,
+     * so the passes end.
+     * @param graph CompactGraph object of the graph's edges
+     * @param reverse CompactGraph object of the graph's reverse edges
+     * @param region int array of each node's region, updated in place
+     * @param numRegions int number of regions
+     */
+    private static void refineRegions(CompactGraph graph,
+                                      CompactGraph reverse, int[] region,
+                                      int numRegions) {
+        int numNodes = graph.getNumNodes();
+        long share = numNodes / numRegions;
+        int minSize = (int) Math.max(1,
+                share * (100 - IMBALANCE_PERCENT) / 100);
+        int maxSize = (int) ((numNodes + numRegions - 1) / numRegions
+                * (100L + IMBALANCE_PERCENT) / 100);
+        int[] regionSize = new int[numRegions];
+        for (int node = 0; node < numNodes; node++) {
+            regionSize[region[node]]++;
+        }
+
+        // Edges of the current node to each region
+        int[] regionEdges = new int[numRegions];
+        IntPath touched = new IntPath();
+
+        for (int pass = 0; pass < REFINE_PASSES; pass++) {
+            int moves = 0;
+            for (int node = 0; node < numNodes; node++) {
+                int own = region[node];
+                if (regionSize[own] <= minSize) {
+                    continue;
+                }
+                touched.clear();
+                for (CompactGraph g : new CompactGraph[] { graph, reverse }) {
+                    int edgeEnd = g.edgeEnd(node);
+                    for (int edge = g.edgeStart(node); edge < edgeEnd;
+                         edge++) {
+                        int r = region[g.edgeTarget(edge)];
+                        if (regionEdges[r]++ == 0) {
+                            touched.push(r);
+                        }
+                    }
+                }
+
+                // Pick the region with the most edges that has room
+                int best = own;
+                for (int i = 0; i < touched.size(); i++) {
+                    int r = touched.get(i);
+                    if (regionEdges[r] > regionEdges[best]
+                            && regionSize[r] < maxSize) {
+                        best = r;
+                    }
+                }
+                for (int i = 0; i < touched.size(); i++) {
+                    regionEdges[touched.get(i)] = 0;
+                }
+                if (best != own) {
+                    region[node] = best;
+                    regionSize[own]--;
+                    regionSize[best]++;
+                    moves++;
+                }
+            }
+            if (moves == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Finds the shortest distance within a region from each boundary node
+     * to every other boundary node it reaches, searching from the boundary
+     * nodes in parallel. A distance is left out if its path passes through
+     * another boundary node, as the distances to and from that node are
+     * found too. Only nodes at a distance above zero from both ends count,
+     * so two shortcuts never stand in for each other.
+     * @param regionGraph CompactGraph object of the region
+     * @param boundaryNodes int array of the region's boundary node ids
+     * @param numBoundary int number of boundary nodes in the array
+     * @param isBoundary boolean array of whether each node is a boundary
+     *                   node
+     * @return List of int arrays: a boundary node followed by the id and
+     *         distance of each boundary node it reaches
+     */
+    private static List<int[]> findShortcuts(CompactGraph regionGraph,
+                                             int[] boundaryNodes,
+                                             int numBoundary,
+                                             boolean[] isBoundary) {
+        ConcurrentLinkedQueue<RegionSearch> searches =
+                new ConcurrentLinkedQueue<>();
+        return IntStream.range(0, numBoundary).parallel().mapToObj(i -> {
+            RegionSearch search = searches.poll();
+            if (search == null) {
+                search = new RegionSearch(regionGraph.getNumNodes());
+            }
+            int source = boundaryNodes[i];
+            search.run(regionGraph, source, boundaryNodes, numBoundary);
+
+            int[] shortcuts = new int[1 + 2 * numBoundary];
+            shortcuts[0] = source;
+            int length = 1;
+            for (int j = 0; j < numBoundary; j++) {
+                int target = boundaryNodes[j];
+                if (target != source && search.isReached(target)
+                        && !passesBoundary(search, source, target,
+                                isBoundary)) {
+                    shortcuts[length++] = target;
+                    shortcuts[length++] = search.getDistance(target);
+                }
+            }
+            searches.offer(search);
+            return Arrays.copyOf(shortcuts, length);
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests if the path a search found from a source to a target passes
+     * through a boundary node at a distance above zero from both ends.
+     * @param search RegionSearch object that has settled the target
+     * @param source int id of the search's source node
+     * @param target int id of the target node
+     * @param isBoundary boolean array of whether each node is a boundary
+     *                   node
+     * @return true if another shortcut pair is as short as the path
+     */
+    private static boolean passesBoundary(RegionSearch search, int source,
+                                          int target, boolean[] isBoundary) {
+        int targetDistance = search.getDistance(target);
+        for (int node = search.getParent(target); node != source;
+             node = search.getParent(node)) {
+            int nodeDistance = search.getDistance(node);
+            if (isBoundary[node] && nodeDistance > 0
+                    && nodeDistance < targetDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the manifest of a partition directory and records the region of
+     * each boundary node that is in a name index.
+     * @param directory String name of the partition directory
+     * @param names NameIndex object of the nodes to look up
+     * @param region int array indexed by node id, set to each boundary
+     *               node's region and to -1 for every other node
+     * @return int number of regions
+     * @throws IOException if the manifest cannot be read or is malformed
+     */
+    public static int readManifest(String directory, NameIndex names,
+                                   int[] region) throws IOException {
+        Arrays.fill(region, -1);
+        Path manifest = Paths.get(directory, MANIFEST_FILE);
+        try (BufferedReader reader = Files.newBufferedReader(manifest,
+                StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            try {
+                int numRegions = Integer.parseInt(line == null ? ""
+                        : line.trim());
+                while ((line = reader.readLine()) != null) {
+                    int space = line.lastIndexOf(' ');
+                    int id = names.find(line.substring(0, space));
+                    if (id >= 0) {
+                        region[id] = Integer.parseInt(
+                                line.substring(space + 1));
+                    }
+                }
+                return numRegions;
+            } catch (NumberFormatException
+                    | StringIndexOutOfBoundsException e) {
+                throw new IOException("Malformed manifest " + manifest, e);
+            }
+        }
+    }
+
+}
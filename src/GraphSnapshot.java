@@ -0,0 +1,210 @@
+/**
+ * The GraphSnapshot class reads and writes a versioned binary snapshot of a
+ * graph: its node names, forward and reverse CompactGraph edge arrays and
+ * direct distances. Opening a snapshot memory maps each edge array with
+ * FileChannel.map and wraps it as an IntBuffer, so the graph is served from
+ * the mapped file and no per-node objects or parsing are needed. The node
+ * name index is read from the mapped file as well.
+ *
+ * All values are little endian ints. The file starts with a header of
+ * MAGIC, VERSION, numNodes, numEdges, the number of name bytes and the
+ * number of name hash slots, followed by these sections in order:
+ *  - forward offsets (numNodes + 1), targets (numEdges), weights (numEdges)
+ *  - reverse offsets (numNodes + 1), targets (numEdges), weights (numEdges)
+ *  - direct distances (numNodes)
+ *  - name offsets (numNodes + 1), name hashes (numNodes), hash slots
+ *  - name bytes, padded to a multiple of four
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class GraphSnapshot {
+
+    // Class variables
+    public static final int MAGIC = 0x53504753;
+    public static final int VERSION = 1;
+    private static final int HEADER_INTS = 6;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    // Instance variables
+    private final NameIndex nameIndex;
+    private final CompactGraph compactGraph;
+    private final CompactGraph reverseGraph;
+
+    // Constructor - only called by open once the sections are mapped
+    private GraphSnapshot(NameIndex nameIndex, CompactGraph compactGraph,
+                          CompactGraph reverseGraph) {
+        this.nameIndex = nameIndex;
+        this.compactGraph = compactGraph;
+        this.reverseGraph = reverseGraph;
+    }
+
+    // Accessor methods
+    public NameIndex getNameIndex() { return nameIndex; }
+    public CompactGraph getCompactGraph() { return compactGraph; }
+    public CompactGraph getReverseGraph() { return reverseGraph; }
+
+    /**
+     * Writes a graph to a snapshot file, replacing any existing file.
+     * @param filename String name of the snapshot file
+     * @param nameIndex NameIndex object of the graph's node names
+     * @param graph CompactGraph object of the graph's edges
+     * @param reverse CompactGraph object of the graph's reverse edges
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(String filename, NameIndex nameIndex,
+                             CompactGraph graph, CompactGraph reverse)
+            throws IOException {
+        ByteBuffer nameBytes = nameIndex.getNameBytes();
+        IntBuffer slots = nameIndex.getSlots();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            // Header
+            writeInts(channel, buffer, IntBuffer.wrap(new int[] {
+                    MAGIC, VERSION, graph.getNumNodes(), graph.getNumEdges(),
+                    nameBytes.remaining(), slots.remaining() }));
+
+            // Edge and direct distance sections
+            for (CompactGraph g : new CompactGraph[] { graph, reverse }) {
+                writeInts(channel, buffer, g.getOffsets());
+                writeInts(channel, buffer, g.getTargets());
+                writeInts(channel, buffer, g.getWeights());
+            }
+            writeInts(channel, buffer, graph.getHeuristics());
+
+            // Name index sections
+            writeInts(channel, buffer, nameIndex.getNameOffsets());
+            writeInts(channel, buffer, nameIndex.getNameHashes());
+            writeInts(channel, buffer, slots);
+            ByteBuffer names = ByteBuffer.allocate(
+                    padded(nameBytes.remaining()));
+            names.put(nameBytes).clear();
+            while (names.hasRemaining()) {
+                channel.write(names);
+            }
+        }
+    }
+
+    /**
+     * Opens a snapshot file and maps its sections.
+     * @param filename String name of the snapshot file
+     * @return GraphSnapshot object over the mapped file
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static GraphSnapshot open(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+
+            // Read and check the header
+            long fileSize = channel.size();
+            if (fileSize < HEADER_INTS * 4L) {
+                throw new IOException("Not a graph snapshot: " + filename);
+            }
+            IntBuffer header = map(channel, 0, HEADER_INTS);
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Not a graph snapshot: " + filename);
+            }
+            if (header.get(1) != VERSION) {
+                throw new IOException("Unsupported graph snapshot version "
+                        + header.get(1) + ": " + filename);
+            }
+            int numNodes = header.get(2);
+            int numEdges = header.get(3);
+            int numNameBytes = header.get(4);
+            int numSlots = header.get(5);
+
+            long expectedSize = 4L * (HEADER_INTS + 2L * (numNodes + 1)
+                    + 4L * numEdges + numNodes + (numNodes + 1) + numNodes
+                    + numSlots) + padded(numNameBytes);
+            if (fileSize != expectedSize) {
+                throw new IOException("Truncated graph snapshot: " + filename);
+            }
+
+            // Map the edge sections; The mappings stay valid after closing
+            long position = HEADER_INTS * 4L;
+            IntBuffer[] sections = new IntBuffer[6];
+            for (int i = 0; i < sections.length; i++) {
+                int count = i % 3 == 0 ? numNodes + 1 : numEdges;
+                sections[i] = map(channel, position, count);
+                position += 4L * count;
+            }
+            IntBuffer heuristic = map(channel, position, numNodes);
+            position += 4L * numNodes;
+
+            // Map the name index sections
+            IntBuffer nameOffsets = map(channel, position, numNodes + 1);
+            position += 4L * (numNodes + 1);
+            IntBuffer nameHashes = map(channel, position, numNodes);
+            position += 4L * numNodes;
+            IntBuffer slots = map(channel, position, numSlots);
+            position += 4L * numSlots;
+            ByteBuffer nameBytes = channel.map(FileChannel.MapMode.READ_ONLY,
+                    position, numNameBytes);
+
+            return new GraphSnapshot(
+                    new NameIndex(nameBytes, nameOffsets, nameHashes, slots),
+                    CompactGraph.wrap(numNodes, sections[0], sections[1],
+                            sections[2], heuristic),
+                    CompactGraph.wrap(numNodes, sections[3], sections[4],
+                            sections[5], heuristic));
+        }
+    }
+
+    /**
+     * Maps a read only section of ints from a file. Also used by
+     * ContractionHierarchy, whose files share this layout.
+     * @param channel FileChannel of the snapshot file
+     * @param position long byte index of the section
+     * @param count int number of ints in the section
+     * @return IntBuffer over the mapped section
+     * @throws IOException if the section cannot be mapped
+     */
+    static IntBuffer map(FileChannel channel, long position, int count)
+            throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * count)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Writes the remaining ints of a buffer to a file through a byte buffer.
+     * @param channel FileChannel of the snapshot file
+     * @param buffer ByteBuffer used to stage the bytes
+     * @param values IntBuffer of the ints to write
+     * @throws IOException if the ints cannot be written
+     */
+    static void writeInts(FileChannel channel, ByteBuffer buffer,
+                          IntBuffer values) throws IOException {
+        while (values.hasRemaining()) {
+            buffer.clear();
+            IntBuffer view = buffer.asIntBuffer();
+            int count = Math.min(view.remaining(), values.remaining());
+            for (int i = 0; i < count; i++) {
+                view.put(values.get());
+            }
+            buffer.limit(count * 4);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Rounds a number of bytes up to a whole number of ints
+    private static int padded(int numBytes) { return (numBytes + 3) & ~3; }
+
+}
@@ -0,0 +1,322 @@
+/**
+ * The HeuristicCache class keeps exact heuristic tables for the most queried
+ * destinations. A table holds every node's shortest distance to one
+ * destination, or UNREACHABLE, found by a Dijkstra search of the reverse
+ * graph.
+ *
+ * Queries are counted in a count-min sketch whose counts are halved every
+ * few queries, as in TinyLFU, so that only recent counts matter. Once a
+ * destination's count reaches HOT_QUERIES its table is queued for a build
+ * on a background thread, which spends at most BUILD_PERCENT of its time
+ * building. When the tables fill the cache's byte budget, a new table only
+ * replaces the least recently used one if its destination is counted more
+ * often and the old table was not used after the build started; otherwise
+ * the new table is dropped.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class HeuristicCache {
+
+    // Class variables
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int HOT_QUERIES = 8;
+    public static final int BUILD_PERCENT = 25;
+    public static final int MAX_PENDING_BUILDS = 4;
+    private static final int SKETCH_ROWS = 4;
+    private static final int MIN_SKETCH_WIDTH = 1024;
+
+    // Instance variables
+    private final CompactGraph graph;
+    private final CompactGraph reverseGraph;
+    private final long maxBytes;
+    private final int maxTables;
+    private final ConcurrentHashMap<Integer, Table> tables =
+            new ConcurrentHashMap<>();
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor builder;
+    private final AtomicIntegerArray sketch;
+    private final int sketchMask;
+    private final int sampleSize;
+    private final AtomicInteger samples = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private IndexedHeap openSet;
+
+    /**
+     * Constructs an empty cache for a graph and its reverse graph that
+     * holds as many tables as fit in a number of bytes.
+     * @param graph CompactGraph object the tables describe
+     * @param reverseGraph CompactGraph object with every edge reversed
+     * @param maxBytes long memory budget of the tables in bytes
+     */
+    public HeuristicCache(CompactGraph graph, CompactGraph reverseGraph,
+                          long maxBytes) {
+        this.graph = graph;
+        this.reverseGraph = reverseGraph;
+        this.maxBytes = maxBytes;
+        int numNodes = graph.getNumNodes();
+        maxTables = (int) Math.min(Integer.MAX_VALUE,
+                maxBytes / (4L * Math.max(1, numNodes)));
+
+        // Ten counters per table but no more than one per node, halved
+        // after ten queries per counter
+        int width = Integer.highestOneBit(Math.max(MIN_SKETCH_WIDTH,
+                (int) Math.min(numNodes, 10L * maxTables)) * 2 - 1);
+        sketch = new AtomicIntegerArray(SKETCH_ROWS * width);
+        sketchMask = width - 1;
+        sampleSize = 10 * width;
+
+        // One builder thread that stops when it has been idle for a second
+        builder = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "heuristic-builder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Accessor methods
+    public CompactGraph getGraph() { return graph; }
+    public long getMaxBytes() { return maxBytes; }
+    public int getMaxTables() { return maxTables; }
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getBuilds() { return builds.sum(); }
+    public long getRejections() { return rejections.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public int size() { return tables.size(); }
+
+    /**
+     * Returns the exact heuristic table of a destination and counts the
+     * query. A missing table is queued for a build if the destination is
+     * hot, but the call never waits for it.
+     * @param destination int id of the destination node
+     * @return int array of every node's distance to the destination, or
+     *         null if no table is cached
+     */
+    public int[] get(int destination) {
+        if (maxTables == 0) {
+            return null;
+        }
+        int count = countQuery(destination);
+
+        // Test for a cached table
+        Table table = tables.get(destination);
+        if (table != null) {
+            table.lastUsed = System.nanoTime();
+            hits.increment();
+            return table.distances;
+        }
+        misses.increment();
+
+        // Queue a build of a hot destination's table unless too many are
+        // queued already
+        if (count >= HOT_QUERIES && pending.size() < MAX_PENDING_BUILDS
+                && pending.add(destination)) {
+            try {
+                builder.execute(() -> build(destination));
+            } catch (RuntimeException e) {
+                // The cache was closed
+                pending.remove(destination);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes every cached table. The query counts are kept, so hot
+     * destinations are rebuilt after their next queries.
+     */
+    public void clear() { tables.clear(); }
+
+    /**
+     * Stops building tables, dropping the queued builds. Called when the
+     * cache is replaced.
+     */
+    public void close() { builder.shutdownNow(); }
+
+    /**
+     * Builds a destination's table on the builder thread and caches it if
+     * it is admitted, then rests so that building takes at most
+     * BUILD_PERCENT of the thread's time.
+     * @param destination int id of the destination node
+     */
+    private void build(int destination) {
+        try {
+            if (!tables.containsKey(destination)
+                    && admits(destination, Long.MIN_VALUE)) {
+                long buildStart = System.nanoTime();
+                if (openSet == null) {
+                    openSet = new IndexedHeap(reverseGraph.getNumNodes());
+                }
+                Table table = new Table(exactDistances(reverseGraph,
+                        destination, openSet));
+                builds.increment();
+                table.lastUsed = buildStart;
+                if (admits(destination, buildStart)) {
+                    tables.put(destination, table);
+                }
+                long buildNanos = System.nanoTime() - buildStart;
+                TimeUnit.NANOSECONDS.sleep(buildNanos
+                        * (100 - BUILD_PERCENT) / BUILD_PERCENT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.remove(destination);
+        }
+    }
+
+    /**
+     * Tests if a destination's table may be cached, evicting the least
+     * recently used table to make room if the cache is full. That table is
+     * only evicted if its destination is counted less often and it was not
+     * used since a time. Only called by the builder thread.
+     * @param destination int id of the destination node
+     * @param usedBefore long System.nanoTime the evicted table must have
+     *                   been used before, or Long.MIN_VALUE to evict none
+     * @return true if the table may be cached
+     */
+    private boolean admits(int destination, long usedBefore) {
+        if (tables.size() < maxTables) {
+            return true;
+        }
+
+        // Find the least recently used table
+        Map.Entry<Integer, Table> eldest = null;
+        for (Map.Entry<Integer, Table> entry : tables.entrySet()) {
+            if (eldest == null || entry.getValue().lastUsed
+                    < eldest.getValue().lastUsed) {
+                eldest = entry;
+            }
+        }
+        if (eldest == null
+                || countOf(destination) <= countOf(eldest.getKey())) {
+            rejections.increment();
+            return false;
+        }
+        if (usedBefore == Long.MIN_VALUE) {
+            return true;
+        }
+        if (eldest.getValue().lastUsed >= usedBefore) {
+            rejections.increment();
+            return false;
+        }
+        if (tables.remove(eldest.getKey(), eldest.getValue())) {
+            evictions.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Counts a query in every row of the sketch, halving every counter once
+     * sampleSize queries have been counted.
+     * @param destination int id of the destination node
+     * @return int estimated recent count of the destination's queries
+     */
+    private int countQuery(int destination) {
+        int count = Integer.MAX_VALUE;
+        for (int row = 0; row < SKETCH_ROWS; row++) {
+            count = Math.min(count,
+                    sketch.incrementAndGet(slot(destination, row)));
+        }
+        if (samples.incrementAndGet() == sampleSize) {
+            for (int i = 0; i < sketch.length(); i++) {
+                sketch.set(i, sketch.get(i) >>> 1);
+            }
+            samples.set(0);
+        }
+        return count;
+    }
+
+    /**
+     * Returns a destination's estimated recent count of queries.
+     * @param destination int id of the destination node
+     * @return int smallest of the destination's counters
+     */
+    private int countOf(int destination) {
+        int count = Integer.MAX_VALUE;
+        for (int row = 0; row < SKETCH_ROWS; row++) {
+            count = Math.min(count, sketch.get(slot(destination, row)));
+        }
+        return count;
+    }
+
+    /**
+     * Hashes a destination to its counter in one row of the sketch.
+     * @param destination int id of the destination node
+     * @param row int row of the sketch
+     * @return int index into the sketch
+     */
+    private int slot(int destination, int row) {
+        int hash = (destination + row) * (0x9E3779B9 + 2 * row);
+        return row * (sketchMask + 1) + ((hash ^ hash >>> 16) & sketchMask);
+    }
+
+    /**
+     * Finds every node's shortest distance to a destination with a Dijkstra
+     * search of the reverse graph.
+     * @param reverseGraph CompactGraph object with every edge reversed
+     * @param destination int id of the destination node
+     * @param openSet IndexedHeap object sized to the graph
+     * @return int array of distances, UNREACHABLE for nodes with no path
+     */
+    static int[] exactDistances(CompactGraph reverseGraph, int destination,
+                                IndexedHeap openSet) {
+        int[] distance = new int[reverseGraph.getNumNodes()];
+        Arrays.fill(distance, UNREACHABLE);
+        openSet.clear();
+        distance[destination] = 0;
+        openSet.insertOrDecrease(destination, 0);
+
+        // Settled nodes are never improved on, as weights are not negative
+        while (!openSet.isEmpty()) {
+            int node = openSet.poll();
+            int nodeDistance = distance[node];
+            int edgeEnd = reverseGraph.edgeEnd(node);
+            for (int edge = reverseGraph.edgeStart(node); edge < edgeEnd;
+                 edge++) {
+                int edgeNode = reverseGraph.edgeTarget(edge);
+                int newDistance = nodeDistance
+                        + reverseGraph.edgeWeight(edge);
+                if (newDistance < distance[edgeNode]) {
+                    distance[edgeNode] = newDistance;
+                    openSet.insertOrDecrease(edgeNode, newDistance);
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * The Table class holds one destination's distances and when they were
+     * last used.
+     */
+    private static final class Table {
+
+        // Instance variables
+        private final int[] distances;
+        private volatile long lastUsed;
+
+        // Constructs a table of distances
+        private Table(int[] distances) { this.distances = distances; }
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * The HeuristicValidation class checks a graph's direct distances against
+ * the exact distances to their destination. They are admissible if no
+ * node's direct distance exceeds its exact distance, and consistent if no
+ * direct distance exceeds an edge's weight plus the direct distance of the
+ * edge's target. Nodes that cannot reach the destination are not checked.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public final class HeuristicValidation {
+
+    // Instance variables
+    private final int numChecked;
+    private final int inadmissibleNodes;
+    private final int inconsistentEdges;
+    private final int maxOverestimate;
+
+    // Constructor - only called by check
+    private HeuristicValidation(int numChecked, int inadmissibleNodes,
+                                int inconsistentEdges, int maxOverestimate) {
+        this.numChecked = numChecked;
+        this.inadmissibleNodes = inadmissibleNodes;
+        this.inconsistentEdges = inconsistentEdges;
+        this.maxOverestimate = maxOverestimate;
+    }
+
+    // Accessor methods
+    public int getNumChecked() { return numChecked; }
+    public int getInadmissibleNodes() { return inadmissibleNodes; }
+    public int getInconsistentEdges() { return inconsistentEdges; }
+    public int getMaxOverestimate() { return maxOverestimate; }
+    public boolean isAdmissible() { return inadmissibleNodes == 0; }
+    public boolean isConsistent() { return inconsistentEdges == 0; }
+
+    /**
+     * Checks a graph's direct distances against the exact distances to the
+     * destination they were measured to.
+     * @param graph CompactGraph object holding the direct distances
+     * @param reverseGraph CompactGraph object with every edge reversed
+     * @param destination int id of the destination node
+     * @return HeuristicValidation object
+     */
+    public static HeuristicValidation check(CompactGraph graph,
+                                            CompactGraph reverseGraph,
+                                            int destination) {
+        int numNodes = graph.getNumNodes();
+        int[] exact = HeuristicCache.exactDistances(reverseGraph, destination,
+                new IndexedHeap(numNodes));
+
+        int numChecked = 0;
+        int inadmissibleNodes = 0;
+        int inconsistentEdges = 0;
+        int maxOverestimate = 0;
+        for (int node = 0; node < numNodes; node++) {
+            if (exact[node] == HeuristicCache.UNREACHABLE) {
+                continue;
+            }
+            numChecked++;
+            long estimate = graph.getHeuristic(node);
+            if (estimate > exact[node]) {
+                inadmissibleNodes++;
+                maxOverestimate = (int) Math.max(maxOverestimate,
+                        estimate - exact[node]);
+            }
+
+            // Edges into nodes that cannot reach the destination are skipped
+            int edgeEnd = graph.edgeEnd(node);
+            for (int edge = graph.edgeStart(node); edge < edgeEnd; edge++) {
+                int target = graph.edgeTarget(edge);
+                if (exact[target] != HeuristicCache.UNREACHABLE
+                        && estimate > (long) graph.edgeWeight(edge)
+                        + graph.getHeuristic(target)) {
+                    inconsistentEdges++;
+                }
+            }
+        }
+        return new HeuristicValidation(numChecked, inadmissibleNodes,
+                inconsistentEdges, maxOverestimate);
+    }
+
+    /**
+     * Describes the outcome of the check.
+     * @return String description
+     */
+    @Override
+    public String toString() {
+        if (isAdmissible() && isConsistent()) {
+            return "Direct distances are admissible and consistent";
+        }
+        StringBuilder builder = new StringBuilder("Direct distances ");
+        if (!isAdmissible()) {
+            builder.append("overestimate ").append(inadmissibleNodes)
+                    .append(" of ").append(numChecked)
+                    .append(" nodes by up to ").append(maxOverestimate);
+        } else {
+            builder.append("are admissible");
+        }
+        if (!isConsistent()) {
+            builder.append(isAdmissible() ? " but" : " and")
+                    .append(" are inconsistent on ")
+                    .append(inconsistentEdges).append(" edges");
+        }
+        return builder.toString();
+    }
+
+}
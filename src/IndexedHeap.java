@@ -0,0 +1,201 @@
+/**
+ * The IndexedHeap class represents a d-ary min heap of graph node ids ordered
+ * by an int key. The heap keeps the position of every node it holds, so a
+ * node's key can be decreased in place in O(log n) instead of inserting a
+ * duplicate entry.
+ *
+ * Nodes are int ids in the range 0 to capacity - 1; each node is held at
+ * most once.
+ *
+ * While SearchStats are enabled the heap counts its insert, decrease, poll
+ * and remove operations.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+
+public class IndexedHeap {
+
+    // Class variables
+    private static final int DEFAULT_ARITY = 4;
+
+    // Instance variables
+    private final int arity;
+    private final int[] heap;
+    private final int[] keys;
+    private final int[] positions;
+    private int size;
+    private long operations;
+
+    // Constructs an empty 4-ary heap for node ids less than capacity
+    public IndexedHeap(int capacity) { this(capacity, DEFAULT_ARITY); }
+
+    // Constructs an empty heap with the given number of children per entry
+    public IndexedHeap(int capacity, int arity) {
+        this.arity = arity;
+        heap = new int[capacity];
+        keys = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    // Accessor methods
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int node) { return positions[node] >= 0; }
+    public int getKey(int node) { return keys[node]; }
+    public int peek() { return heap[0]; }
+    public int peekKey() { return keys[heap[0]]; }
+    public int nodeAt(int position) { return heap[position]; }
+    public long getOperations() { return operations; }
+
+    /**
+     * Inserts a node or lowers its key if it is already in the heap. A key
+     * that is not smaller than the node's current key is ignored.
+     * @param node int id of the node
+     * @param key int priority of the node
+     * @return true if the node was inserted or its key decreased
+     */
+    public boolean insertOrDecrease(int node, int key) {
+        if (SearchStats.ENABLED) {
+            operations++;
+        }
+        int position = positions[node];
+        if (position < 0) {
+            // New entry; Place at the bottom of the heap and sift up
+            keys[node] = key;
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(position);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the node with the smallest key.
+     * @return int id of the removed node
+     */
+    public int poll() {
+        if (SearchStats.ENABLED) {
+            operations++;
+        }
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            // Move the last entry to the root and restore heap order
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes a node from the heap if it is held, whatever its key.
+     * @param node int id of the node
+     * @return true if the node was removed
+     */
+    public boolean remove(int node) {
+        if (SearchStats.ENABLED) {
+            operations++;
+        }
+        int position = positions[node];
+        if (position < 0) {
+            return false;
+        }
+        positions[node] = -1;
+        size--;
+        if (position < size) {
+            // Move the last entry into the gap and restore heap order
+            int last = heap[size];
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all nodes from the heap. Only the positions of nodes still in
+     * the heap are reset, so clearing costs O(size).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the entry at a heap position towards the root until its parent
+     * has a smaller or equal key.
+     * @param position int index in the heap array
+     */
+    private void siftUp(int position) {
+        int node = heap[position];
+        int key = keys[node];
+        while (position > 0) {
+            int parentPosition = (position - 1) / arity;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+    /**
+     * Moves the entry at a heap position towards the leaves until all of its
+     * children have larger or equal keys.
+     * @param position int index in the heap array
+     */
+    private void siftDown(int position) {
+        int node = heap[position];
+        int key = keys[node];
+        while (true) {
+            int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            // Find the child with the smallest key
+            int lastChild = Math.min(firstChild + arity, size);
+            int smallestPosition = firstChild;
+            int smallestKey = keys[heap[firstChild]];
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                int childKey = keys[heap[c]];
+                if (childKey < smallestKey) {
+                    smallestKey = childKey;
+                    smallestPosition = c;
+                }
+            }
+
+            if (smallestKey >= key) {
+                break;
+            }
+            int child = heap[smallestPosition];
+            heap[position] = child;
+            positions[child] = position;
+            position = smallestPosition;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+}
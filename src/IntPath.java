@@ -0,0 +1,88 @@
+/**
+ * The IntPath class represents a sequence of graph node ids held in a
+ * growable int array. Algorithm objects keep their sequence and shortest
+ * paths in IntPaths that are reused by every search, so once the arrays
+ * have grown to fit the longest path no search allocates, and clearing a
+ * path costs O(1).
+ *
+ * IntPath objects are not thread safe; each belongs to one Algorithm.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+
+public final class IntPath {
+
+    // Class variables
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Instance variables
+    private int[] nodes;
+    private int size;
+
+    // Constructs an empty path
+    public IntPath() { nodes = new int[DEFAULT_CAPACITY]; }
+
+    // Accessor methods
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the node id at a position in the path.
+     * @param index int position from the start of the path
+     * @return int id of the node
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index
+                    + " out of bounds for path of " + size + " nodes");
+        }
+        return nodes[index];
+    }
+
+    /**
+     * Adds a node id to the end of the path.
+     * @param node int id of the node
+     */
+    public void push(int node) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        nodes[size++] = node;
+    }
+
+    /**
+     * Removes and returns the node id at the end of the path.
+     * @return int id of the removed node
+     * @throws IllegalStateException if the path is empty
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Path is empty");
+        }
+        return nodes[--size];
+    }
+
+    /**
+     * Reverses the order of the node ids from a position to the end of the
+     * path.
+     * @param from int position of the first node to reverse
+     */
+    public void reverseFrom(int from) {
+        for (int i = from, j = size - 1; i < j; i++, j--) {
+            int node = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = node;
+        }
+    }
+
+    // Removes every node id from the path
+    public void clear() { size = 0; }
+
+    // Returns a copy of the node ids in path order
+    public int[] toArray() { return Arrays.copyOf(nodes, size); }
+
+}
@@ -0,0 +1,383 @@
+/**
+ * The KShortestPaths class finds the K shortest loopless paths between two
+ * nodes with Yen's algorithm, so that alternatives to the shortest path can
+ * be offered.
+ *
+ * Each new path deviates from one of the paths found before. For every node
+ * of the last path found, a spur search looks for the shortest way to the
+ * destination that leaves the path at that node: it may not use the nodes
+ * of the path before the spur node, which keeps the result loopless, nor the
+ * next edge of any path found so far with the same start, which makes the
+ * result new. The cheapest of all candidates not taken yet is the next path.
+ *
+ * Spur searches only start at or after the node where the last path left
+ * the path it deviates from (Lawler's improvement), as earlier spur nodes
+ * give candidates that were already found. The spur searches of one path
+ * do not depend on each other and, unless the finder was made sequential,
+ * run in parallel on the graph's compact graph, each in a search borrowed
+ * from a pool so that workers reuse their arrays. Spur searches are A*
+ * searches guided by the graph's landmarks or the direct distances, which
+ * stay admissible when nodes and edges are left out.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class KShortestPaths {
+
+    // Instance variables
+    private final Graph graph;
+    private final boolean parallel;
+    private final ConcurrentLinkedQueue<SpurSearch> idleSearches =
+            new ConcurrentLinkedQueue<>();
+
+    // Constructs a finder over a populated graph
+    public KShortestPaths(Graph graph) { this(graph, true); }
+
+    // Constructs a finder that runs the spur searches of a path in
+    // parallel or, for callers that already run many finds at once, in turn
+    public KShortestPaths(Graph graph, boolean parallel) {
+        this.graph = graph;
+        this.parallel = parallel;
+    }
+
+    // Accessor methods
+    public Graph getGraph() { return graph; }
+    public boolean isParallel() { return parallel; }
+
+    /**
+     * Finds up to k shortest loopless paths from the start node to the
+     * destination node, shortest first. Fewer are returned if the graph
+     * does not hold k different paths.
+     * @param startNode String Node object
+     * @param destinationNode String Node object
+     * @param k int number of paths to find
+     * @return List of Path objects
+     */
+    public List<Path> find(Node<String> startNode,
+                           Node<String> destinationNode, int k) {
+        // Pick up a consistent view of the graph and its landmarks
+        CompactGraph compactGraph;
+        Landmarks landmarks;
+        boolean useDirectDistances;
+        synchronized (graph) {
+            compactGraph = graph.getCompactGraph();
+            landmarks = graph.getLandmarks();
+            Node<String> graphDestination = graph.getDestinationNode();
+            useDirectDistances = graphDestination != null
+                    && graphDestination.getId() == destinationNode.getId()
+                    && graph.hasAdmissibleDirectDistances();
+        }
+        Query query = new Query(compactGraph, landmarks, useDirectDistances,
+                startNode.getId(), destinationNode.getId());
+
+        List<Path> paths = new ArrayList<>();
+        if (k <= 0) {
+            return paths;
+        }
+        Path shortest = spur(query, null, 0, paths);
+        if (shortest == null) {
+            return paths;
+        }
+
+        // Candidates ordered by length and then by number of nodes
+        PriorityQueue<Path> candidates = new PriorityQueue<>(
+                Comparator.comparingLong(Path::getLength)
+                        .thenComparingInt(path -> path.nodes.length));
+        Set<Path> seen = new HashSet<>();
+        seen.add(shortest);
+        paths.add(shortest);
+
+        while (paths.size() < k) {
+            // Spur from every node of the last path after its deviation
+            Path last = paths.get(paths.size() - 1);
+            IntStream spurIndexes = IntStream
+                    .range(last.deviation, last.nodes.length - 1);
+            if (parallel) {
+                spurIndexes = spurIndexes.parallel();
+            }
+            List<Path> spurs = spurIndexes
+                    .mapToObj(i -> spur(query, last, i, paths))
+                    .collect(Collectors.toList());
+            for (Path spur : spurs) {
+                if (spur != null && seen.add(spur)) {
+                    candidates.add(spur);
+                }
+            }
+
+            // The cheapest candidate is the next shortest path
+            Path next = candidates.poll();
+            if (next == null) {
+                break;
+            }
+            paths.add(next);
+        }
+        return paths;
+    }
+
+    /**
+     * Finds the shortest path that follows a path up to a spur node and
+     * then leaves it by an edge no found path with the same start uses.
+     * @param query Query object of the search
+     * @param root Path object to follow or null for the shortest path
+     * @param spurIndex int index of the spur node in the root path
+     * @param found List of the Path objects found so far
+     * @return Path object or null if there is no such path
+     */
+    private Path spur(Query query, Path root, int spurIndex,
+                      List<Path> found) {
+        // Borrow an idle search or create one
+        SpurSearch search = idleSearches.poll();
+        if (search == null || search.numNodes
+                != query.graph.getNumNodes()) {
+            search = new SpurSearch(query.graph.getNumNodes());
+        }
+
+        try {
+            search.banned.clear();
+            search.bannedTargets.clear();
+            int spurNode = query.start;
+            if (root != null) {
+                spurNode = root.nodes[spurIndex];
+
+                // Leave out the nodes of the path before the spur node
+                for (int i = 0; i < spurIndex; i++) {
+                    search.banned.visit(root.nodes[i]);
+                }
+
+                // Leave out the next edge of every path with the same start
+                for (Path path : found) {
+                    if (path.nodes.length > spurIndex + 1
+                            && path.startsWith(root, spurIndex)) {
+                        search.bannedTargets.push(path.nodes[spurIndex + 1]);
+                    }
+                }
+            }
+
+            if (!search.run(query, spurNode)) {
+                return null;
+            }
+
+            // Join the root path before the spur node to the spur path
+            int size = spurIndex + search.path.size();
+            int[] nodes = new int[size];
+            long[] costs = new long[size];
+            long rootCost = root == null ? 0 : root.costs[spurIndex];
+            for (int i = 0; i < spurIndex; i++) {
+                nodes[i] = root.nodes[i];
+                costs[i] = root.costs[i];
+            }
+            for (int i = 0; i < search.path.size(); i++) {
+                int node = search.path.get(i);
+                nodes[spurIndex + i] = node;
+                costs[spurIndex + i] = rootCost + search.distance[node];
+            }
+            return new Path(nodes, costs, spurIndex);
+        } finally {
+            idleSearches.offer(search);
+        }
+    }
+
+    /**
+     * The Path class represents one of the K shortest paths: its node ids
+     * in order and the length of the path up to each node.
+     */
+    public static final class Path {
+
+        // Instance variables
+        private final int[] nodes;
+        private final long[] costs;
+        private final int deviation;
+
+        // Constructs a path that left its root path at the deviation index
+        private Path(int[] nodes, long[] costs, int deviation) {
+            this.nodes = nodes;
+            this.costs = costs;
+            this.deviation = deviation;
+        }
+
+        // Accessor methods
+        public int[] getNodes() { return nodes.clone(); }
+        public int size() { return nodes.length; }
+        public int getNode(int index) { return nodes[index]; }
+        public long getLength() { return costs[costs.length - 1]; }
+
+        /**
+         * Tests if this path starts with the first nodes of another path.
+         * @param other Path object
+         * @param count int number of nodes that must match, plus one
+         * @return true if the first count + 1 nodes are the same
+         */
+        private boolean startsWith(Path other, int count) {
+            return Arrays.equals(nodes, 0, count + 1,
+                    other.nodes, 0, count + 1);
+        }
+
+        /**
+         * Returns the path as node names separated by arrows.
+         * @param graph Graph object that the path was found in
+         * @return String of the path
+         */
+        public String formatPath(Graph graph) {
+            StringBuilder builder = new StringBuilder();
+            for (int node : nodes) {
+                if (builder.length() > 0) {
+                    builder.append(" -> ");
+                }
+                builder.append(graph.getNode(node).getElement());
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Path
+                    && Arrays.equals(nodes, ((Path) other).nodes);
+        }
+
+        @Override
+        public int hashCode() { return Arrays.hashCode(nodes); }
+    }
+
+    /**
+     * The Query class holds the read only inputs shared by the spur
+     * searches of one query.
+     */
+    private static final class Query {
+
+        // Instance variables
+        private final CompactGraph graph;
+        private final Landmarks landmarks;
+        private final boolean useDirectDistances;
+        private final int start;
+        private final int destination;
+
+        private Query(CompactGraph graph, Landmarks landmarks,
+                      boolean useDirectDistances, int start,
+                      int destination) {
+            this.graph = graph;
+            this.landmarks = landmarks;
+            this.useDirectDistances = useDirectDistances;
+            this.start = start;
+            this.destination = destination;
+        }
+
+        // Admissible estimate of a node's distance to the destination
+        private int estimateDistance(int node) {
+            if (useDirectDistances) {
+                return graph.getHeuristic(node);
+            }
+            return landmarks == null ? 0
+                    : landmarks.lowerBound(node, destination);
+        }
+    }
+
+    /**
+     * The SpurSearch class holds the reusable state of one A* spur search:
+     * the nodes and spur edges left out, its open set, each node's distance
+     * and parent, and the spur path found.
+     */
+    private static final class SpurSearch {
+
+        // Instance variables
+        private final int numNodes;
+        private final VisitedSet banned;
+        private final IntPath bannedTargets = new IntPath();
+        private final IndexedHeap openSet;
+        private final VisitedSet reached;
+        private final VisitedSet settled;
+        private final int[] distance;
+        private final int[] parent;
+        private final IntPath path = new IntPath();
+
+        // Constructs an empty search sized to the graph
+        private SpurSearch(int numNodes) {
+            this.numNodes = numNodes;
+            banned = new VisitedSet(numNodes);
+            openSet = new IndexedHeap(numNodes);
+            reached = new VisitedSet(numNodes);
+            settled = new VisitedSet(numNodes);
+            distance = new int[numNodes];
+            parent = new int[numNodes];
+        }
+
+        /**
+         * Finds the shortest path from the spur node to the destination that
+         * avoids the banned nodes and the banned edges out of the spur node.
+         * @param query Query object of the search
+         * @param spurNode int id of the node to search from
+         * @return true if the destination was reached, leaving the spur path
+         *         in path and its length up to each node in distance
+         */
+        private boolean run(Query query, int spurNode) {
+            CompactGraph graph = query.graph;
+            openSet.clear();
+            reached.clear();
+            settled.clear();
+            path.clear();
+
+            reached.visit(spurNode);
+            distance[spurNode] = 0;
+            parent[spurNode] = -1;
+            openSet.insertOrDecrease(spurNode, 0);
+
+            while (!openSet.isEmpty()) {
+                int node = openSet.poll();
+                if (node == query.destination) {
+                    // Walk back through the parents, then put the spur node
+                    // first
+                    for (int v = node; v >= 0; v = parent[v]) {
+                        path.push(v);
+                    }
+                    path.reverseFrom(0);
+                    return true;
+                }
+                settled.visit(node);
+
+                int edgeEnd = graph.edgeEnd(node);
+                for (int edge = graph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int edgeNode = graph.edgeTarget(edge);
+                    if (banned.isVisited(edgeNode)
+                            || settled.isVisited(edgeNode)
+                            || (node == spurNode && isBannedTarget(edgeNode))) {
+                        continue;
+                    }
+                    int newDistance = distance[node] + graph.edgeWeight(edge);
+                    if (!reached.isVisited(edgeNode)
+                            || newDistance < distance[edgeNode]) {
+                        reached.visit(edgeNode);
+                        distance[edgeNode] = newDistance;
+                        parent[edgeNode] = node;
+                        openSet.insertOrDecrease(edgeNode, newDistance
+                                + query.estimateDistance(edgeNode));
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Tests if the edge from the spur node to a node is left out
+        private boolean isBannedTarget(int node) {
+            for (int i = 0; i < bannedTargets.size(); i++) {
+                if (bannedTargets.get(i) == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/**
+ * The Landmarks class holds the preprocessed distances of the ALT (A*,
+ * landmarks and triangle inequality) heuristic. A small number of landmark
+ * nodes are picked and the exact distance from every node to each landmark
+ * and from each landmark to every node is stored, so that a lower bound on
+ * the distance between any two nodes can be found without a direct distance
+ * file for the destination.
+ *
+ * For a landmark L and nodes v and t the triangle inequality gives
+ *  - d(v, t) >= d(v, L) - d(t, L)
+ *  - d(v, t) >= d(L, t) - d(L, v)
+ * and the largest of these over every landmark is an admissible and
+ * consistent estimate of d(v, t).
+ *
+ * Landmarks are picked by farthest selection: each new landmark is the node
+ * farthest from the landmarks picked so far, so they end up spread around
+ * the edge of the graph where their bounds are tightest. Only nodes the
+ * landmarks reach are picked, first from the largest strongly connected
+ * component, as landmarks in small components bound few distances. Fewer
+ * landmarks are picked if they reach too few nodes. Distances are kept
+ * node major in flat int arrays so that the bounds of one node are read
+ * from a single run of memory.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+
+public final class Landmarks {
+
+    // Class variables
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Instance variables
+    private final int numLandmarks;
+    private final int[] landmarks;
+    private final int[] toLandmark;
+    private final int[] fromLandmark;
+
+    // Constructor - only called by select once the distances are computed
+    private Landmarks(int[] landmarks, int[] toLandmark, int[] fromLandmark) {
+        this.numLandmarks = landmarks.length;
+        this.landmarks = landmarks;
+        this.toLandmark = toLandmark;
+        this.fromLandmark = fromLandmark;
+    }
+
+    // Accessor methods
+    public int getNumLandmarks() { return numLandmarks; }
+    public int getLandmark(int i) { return landmarks[i]; }
+    public int getDistanceTo(int node, int i) {
+        return toLandmark[node * numLandmarks + i];
+    }
+    public int getDistanceFrom(int node, int i) {
+        return fromLandmark[node * numLandmarks + i];
+    }
+
+    /**
+     * Picks landmarks by farthest selection and computes the distances to
+     * and from each of them.
+     * @param graph CompactGraph object of the graph's edges
+     * @param reverse CompactGraph object of the graph's reverse edges
+     * @param reachability ReachabilityIndex object of the graph
+     * @param count int number of landmarks, at most the number of nodes
+     * @return Landmarks object
+     */
+    public static Landmarks select(CompactGraph graph, CompactGraph reverse,
+                                   ReachabilityIndex reachability,
+                                   int count) {
+        int numNodes = graph.getNumNodes();
+        count = Math.min(count, numNodes);
+        int[] landmarks = new int[count];
+        int[] toLandmark = new int[numNodes * count];
+        int[] fromLandmark = new int[numNodes * count];
+        if (count == 0) {
+            return new Landmarks(landmarks, toLandmark, fromLandmark);
+        }
+
+        // Find the largest strongly connected component and one of its
+        // nodes, whose distances seed the selection
+        int[] componentSize = new int[reachability.getNumComponents()];
+        int largest = reachability.getComponent(0);
+        int seed = 0;
+        for (int v = 0; v < numNodes; v++) {
+            int c = reachability.getComponent(v);
+            if (++componentSize[c] > componentSize[largest]) {
+                largest = c;
+                seed = v;
+            }
+        }
+
+        IndexedHeap openSet = new IndexedHeap(numNodes);
+        int[] distance = new int[numNodes];
+
+        // Smallest distance from any landmark picked so far to each node
+        int[] nearest = new int[numNodes];
+        shortestDistances(graph, seed, openSet, distance);
+        System.arraycopy(distance, 0, nearest, 0, numNodes);
+
+        for (int i = 0; i < count; i++) {
+            // Pick the reached node farthest from the landmarks so far,
+            // preferring nodes of the largest component
+            int landmark = -1;
+            boolean landmarkInLargest = false;
+            for (int v = 0; v < numNodes; v++) {
+                if (nearest[v] == UNREACHABLE || nearest[v] == 0) {
+                    continue;
+                }
+                boolean inLargest = reachability.getComponent(v) == largest;
+                if (landmark < 0 || (inLargest && !landmarkInLargest)
+                        || (inLargest == landmarkInLargest
+                            && nearest[v] > nearest[landmark])) {
+                    landmark = v;
+                    landmarkInLargest = inLargest;
+                }
+            }
+            if (landmark < 0 && i == 0) {
+                // The seed reaches no other node
+                landmark = seed;
+            } else if (landmark < 0) {
+                // Every reached node is a landmark already
+                return trim(landmarks, toLandmark, fromLandmark, i);
+            }
+            landmarks[i] = landmark;
+
+            // Distances from the landmark to every node
+            shortestDistances(graph, landmark, openSet, distance);
+            for (int v = 0; v < numNodes; v++) {
+                fromLandmark[v * count + i] = distance[v];
+                nearest[v] = i == 0 ? distance[v]
+                        : Math.min(nearest[v], distance[v]);
+            }
+            nearest[landmark] = 0;
+
+            // Distances from every node to the landmark
+            shortestDistances(reverse, landmark, openSet, distance);
+            for (int v = 0; v < numNodes; v++) {
+                toLandmark[v * count + i] = distance[v];
+            }
+        }
+
+        return new Landmarks(landmarks, toLandmark, fromLandmark);
+    }
+
+    /**
+     * Keeps the distances of the first landmarks picked when no more could
+     * be picked.
+     * @param landmarks int array of the landmarks picked
+     * @param toLandmark int array of the distances to every landmark
+     * @param fromLandmark int array of the distances from every landmark
+     * @param picked int number of landmarks picked
+     * @return Landmarks object
+     */
+    private static Landmarks trim(int[] landmarks, int[] toLandmark,
+                                  int[] fromLandmark, int picked) {
+        int count = landmarks.length;
+        int numNodes = toLandmark.length / count;
+        int[] toPicked = new int[numNodes * picked];
+        int[] fromPicked = new int[numNodes * picked];
+        for (int v = 0; v < numNodes; v++) {
+            System.arraycopy(toLandmark, v * count, toPicked, v * picked,
+                    picked);
+            System.arraycopy(fromLandmark, v * count, fromPicked,
+                    v * picked, picked);
+        }
+        return new Landmarks(Arrays.copyOf(landmarks, picked), toPicked,
+                fromPicked);
+    }
+
+    /**
+     * Returns a lower bound on the distance from one node to another. Pairs
+     * of landmark distances where either is unreachable are skipped, so the
+     * bound is 0 if no landmark relates the two nodes.
+     * @param node int id of the node
+     * @param target int id of the target node
+     * @return int lower bound on the distance from node to target
+     */
+    public int lowerBound(int node, int target) {
+        int bound = 0;
+        int nodeBase = node * numLandmarks;
+        int targetBase = target * numLandmarks;
+        for (int i = 0; i < numLandmarks; i++) {
+            // d(v, t) >= d(v, L) - d(t, L)
+            int nodeTo = toLandmark[nodeBase + i];
+            int targetTo = toLandmark[targetBase + i];
+            if (nodeTo != UNREACHABLE && targetTo != UNREACHABLE
+                    && nodeTo - targetTo > bound) {
+                bound = nodeTo - targetTo;
+            }
+
+            // d(v, t) >= d(L, t) - d(L, v)
+            int nodeFrom = fromLandmark[nodeBase + i];
+            int targetFrom = fromLandmark[targetBase + i];
+            if (nodeFrom != UNREACHABLE && targetFrom != UNREACHABLE
+                    && targetFrom - nodeFrom > bound) {
+                bound = targetFrom - nodeFrom;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Dijkstra search from one node over every node it reaches.
+     * @param graph CompactGraph object to search
+     * @param source int id of the node to search from
+     * @param openSet IndexedHeap object sized to the graph, left empty
+     * @param distance int array filled with each node's distance from the
+     *                 source or UNREACHABLE
+     */
+    private static void shortestDistances(CompactGraph graph, int source,
+                                          IndexedHeap openSet,
+                                          int[] distance) {
+        Arrays.fill(distance, UNREACHABLE);
+        distance[source] = 0;
+        openSet.clear();
+        openSet.insertOrDecrease(source, 0);
+
+        while (!openSet.isEmpty()) {
+            int node = openSet.poll();
+            int nodeDistance = distance[node];
+            int edgeEnd = graph.edgeEnd(node);
+            for (int edge = graph.edgeStart(node); edge < edgeEnd; edge++) {
+                int edgeNode = graph.edgeTarget(edge);
+                int newDistance = nodeDistance + graph.edgeWeight(edge);
+                if (newDistance < distance[edgeNode]) {
+                    distance[edgeNode] = newDistance;
+                    openSet.insertOrDecrease(edgeNode, newDistance);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * The NameIndex class maps node names to dense int ids in the order the
+ * names are added, and back from ids to names. Names are stored as UTF-8
+ * bytes in a single buffer and looked up through an open-addressing hash
+ * table with linear probing, so a name can be found straight from the bytes
+ * of an input buffer without creating a String. The index is held in
+ * buffers so that an index saved in a GraphSnapshot file can be read from
+ * the mapped file; such an index is copied onto the heap only if a name is
+ * added to it.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class NameIndex {
+
+    // Class variables
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    // Instance variables
+    private ByteBuffer nameBytes = ByteBuffer.allocate(256);
+    private IntBuffer nameOffsets = IntBuffer.allocate(33);
+    private IntBuffer nameHashes = IntBuffer.allocate(32);
+    private IntBuffer slots = IntBuffer.allocate(64);
+    private int numBytes;
+    private int size;
+
+    // Constructs an empty name index
+    public NameIndex() { }
+
+    /**
+     * Constructs a name index from the buffers of another index, as saved
+     * in a GraphSnapshot file. The buffers are used without copying.
+     * @param nameBytes ByteBuffer of the names' UTF-8 bytes
+     * @param nameOffsets IntBuffer of size + 1 offsets into nameBytes
+     * @param nameHashes IntBuffer of each name's hash
+     * @param slots IntBuffer hash table of id + 1 values, a power of two long
+     */
+    public NameIndex(ByteBuffer nameBytes, IntBuffer nameOffsets,
+                     IntBuffer nameHashes, IntBuffer slots) {
+        this.nameBytes = nameBytes;
+        this.nameOffsets = nameOffsets;
+        this.nameHashes = nameHashes;
+        this.slots = slots;
+        size = nameHashes.limit();
+        numBytes = nameOffsets.get(size);
+    }
+
+    // Accessor methods
+    public int size() { return size; }
+    public ByteBuffer getNameBytes() {
+        return nameBytes.asReadOnlyBuffer().limit(numBytes);
+    }
+    public IntBuffer getNameOffsets() {
+        return nameOffsets.asReadOnlyBuffer().limit(size + 1);
+    }
+    public IntBuffer getNameHashes() {
+        return nameHashes.asReadOnlyBuffer().limit(size);
+    }
+    public IntBuffer getSlots() { return slots.asReadOnlyBuffer(); }
+
+    /**
+     * Returns the name of the node with the given id.
+     * @param id int id of the node
+     * @return String name of the node
+     */
+    public String getName(int id) {
+        int offset = nameOffsets.get(id);
+        byte[] bytes = new byte[nameOffsets.get(id + 1) - offset];
+        nameBytes.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the id of a name or -1 if the name has not been added.
+     * @param name String name of the node
+     * @return int id of the node or -1
+     */
+    public int find(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        return find(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Returns the id of the name stored in a region of a buffer or -1 if the
+     * name has not been added. The buffer's position is not changed.
+     * @param buffer ByteBuffer that holds the name
+     * @param start int index of the name's first byte
+     * @param length int number of bytes in the name
+     * @return int id of the node or -1
+     */
+    public int find(ByteBuffer buffer, int start, int length) {
+        int hash = hash(buffer, start, length);
+        int mask = slots.limit() - 1;
+        int slot = hash & mask;
+        for (; slots.get(slot) != 0; slot = (slot + 1) & mask) {
+            int id = slots.get(slot) - 1;
+            if (nameHashes.get(id) == hash
+                    && matches(id, buffer, start, length)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the id of a name, adding it with the next id if it is new.
+     * @param name String name of the node
+     * @return int id of the node
+     */
+    public int getOrAdd(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        return getOrAdd(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Returns the id of a name held by another index, adding it with the
+     * next id if it is new to this index.
+     * @param other NameIndex object that holds the name
+     * @param otherId int id of the name in the other index
+     * @return int id of the name in this index
+     */
+    public int getOrAdd(NameIndex other, int otherId) {
+        int offset = other.nameOffsets.get(otherId);
+        return getOrAdd(other.nameBytes, offset,
+                other.nameOffsets.get(otherId + 1) - offset);
+    }
+
+    /**
+     * Returns the id of the name stored in a region of a buffer, adding it
+     * with the next id if it is new. The buffer's position is not changed.
+     * @param buffer ByteBuffer that holds the name
+     * @param start int index of the name's first byte
+     * @param length int number of bytes in the name
+     * @return int id of the node
+     */
+    public int getOrAdd(ByteBuffer buffer, int start, int length) {
+        int id = find(buffer, start, length);
+        if (id >= 0) {
+            return id;
+        }
+
+        // New name; Append its bytes and claim an empty slot
+        int hash = hash(buffer, start, length);
+        id = size;
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            nameBytes.put(numBytes++, buffer.get(start + i));
+        }
+        nameHashes.put(id, hash);
+        nameOffsets.put(id + 1, numBytes);
+        int mask = slots.limit() - 1;
+        int slot = hash & mask;
+        while (slots.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.put(slot, id + 1);
+        size++;
+
+        // Keep the table at most half full so probe sequences stay short
+        if (size * 2 > slots.limit()) {
+            rehash(slots.limit() * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Grows the name buffers to hold one more name of the given length,
+     * copying them onto the heap if they are read only.
+     * @param length int number of bytes in the new name
+     */
+    private void ensureCapacity(int length) {
+        if (numBytes + length > nameBytes.limit() || nameBytes.isReadOnly()) {
+            ByteBuffer grown = ByteBuffer.allocate(
+                    Math.max(nameBytes.limit() * 2, numBytes + length));
+            grown.put(0, nameBytes, 0, numBytes);
+            nameBytes = grown;
+        }
+        if (size == nameHashes.limit() || nameHashes.isReadOnly()) {
+            int capacity = Math.max(size * 2, 32);
+            nameHashes = copy(nameHashes, size, capacity);
+            nameOffsets = copy(nameOffsets, size + 1, capacity + 1);
+        }
+        if (slots.isReadOnly()) {
+            slots = copy(slots, slots.limit(), slots.limit());
+        }
+    }
+
+    /**
+     * Copies the first values of a buffer into a larger heap buffer.
+     * @param values IntBuffer to copy
+     * @param count int number of values to copy
+     * @param capacity int length of the new buffer
+     * @return IntBuffer copy
+     */
+    private static IntBuffer copy(IntBuffer values, int count,
+                                  int capacity) {
+        IntBuffer copy = IntBuffer.allocate(capacity);
+        copy.put(0, values, 0, count);
+        return copy;
+    }
+
+    /**
+     * Rebuilds the hash table with a new number of slots.
+     * @param capacity int number of slots, a power of two
+     */
+    private void rehash(int capacity) {
+        slots = IntBuffer.allocate(capacity);
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = nameHashes.get(id) & mask;
+            while (slots.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots.put(slot, id + 1);
+        }
+    }
+
+    /**
+     * Tests if the stored name with the given id equals a region of a buffer.
+     * @param id int id of the stored name
+     * @param buffer ByteBuffer that holds the name to compare
+     * @param start int index of the name's first byte
+     * @param length int number of bytes in the name
+     * @return true if the bytes are equal
+     */
+    private boolean matches(int id, ByteBuffer buffer, int start, int length) {
+        int offset = nameOffsets.get(id);
+        if (nameOffsets.get(id + 1) - offset != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (nameBytes.get(offset + i) != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a hash of a region of a buffer, mixed so that the low bits used
+     * to pick a slot depend on every byte.
+     * @param buffer ByteBuffer that holds the name
+     * @param start int index of the name's first byte
+     * @param length int number of bytes in the name
+     * @return int hash value
+     */
+    private static int hash(ByteBuffer buffer, int start, int length) {
+        int hash = FNV_OFFSET;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (buffer.get(start + i) & 0xff)) * FNV_PRIME;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+}
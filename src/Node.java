@@ -1,24 +1,20 @@
 /**
  * The Node class represents a node in a graph. A node has an element instance
- * variable that represents a vertex and a map of edges to represent
- * connected , adjacent nodes. Each edge map contains a node as its key and
- * the edge weight as its value. A Node object also has a instance variable
- * that represents the nodes direct distance to a destination node.
+ * variable that represents a vertex and an id that is the vertex's index in
+ * the graph's CompactGraph edge arrays. A Node object also has a instance
+ * variable that represents the nodes direct distance to a destination node.
  *
  * @author Nikki Tebaldi
  * @version 1.0
  * @since 2020-04-04
  */
 
-import java.util.HashMap;
-import java.util.Map.Entry;
-
 public class Node<E> {
 
     // Instance variables
     private E element;
+    private int id = -1;
     private int distanceToDest;
-    private HashMap<Node<E>, Integer> edges = new HashMap<>();
 
     // Constructs an empty node
     public Node() { }
@@ -36,32 +32,23 @@ public class Node<E> {
     public E getElement() {
         return element;
     }
+    public int getId() { return id; }
     public int getDistanceToDest() { return distanceToDest; }
-    public HashMap<Node<E>, Integer> getEdges() {
-        return edges;
-    }
 
     // Mutator Methods
     public void setElement(E e) {
         element = e;
     }
+    public void setId(int id) { this.id = id; }
     public void setDistanceToDest(int distance) { distanceToDest = distance; }
-    public void setEdge(Node<E> vertex, int weight) { edges.put(vertex, weight); }
 
     /**
      *  Print the current state of the node object.
      */
     public void printNode() {
         System.out.println("Element: " + element
+                + "\nId: " + id
                 + "\nDistance To Destination: " + distanceToDest);
-
-        System.out.println("Edges: ");
-        // Loop through the node's HashMap of edges
-        for(Entry<Node<E>, Integer> entry : edges.entrySet()) {
-            System.out.println("\tEdge: " + entry.getKey().element
-                    + "\n\tWeight: " + entry.getValue()
-                    + "\n\tDD: " + entry.getKey().distanceToDest);
-        }
     }
 
 }
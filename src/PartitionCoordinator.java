@@ -0,0 +1,417 @@
+/**
+ * The PartitionCoordinator class answers shortest path queries on a graph
+ * split by GraphPartitioner, asking one PartitionWorker per region for the
+ * searches inside the regions. It only holds the overlay graph of the
+ * boundary nodes and the region of each of them.
+ *
+ * A query from s to t sends "FROM s t" and "TO t" to every worker at once.
+ * The worker of s answers with the distance from s to t inside its region
+ * and from s to each of its boundary nodes, and the worker of t with the
+ * distance from each of its boundary nodes to t. A multi-source Dijkstra
+ * search on the overlay graph then starts from the boundary nodes of s's
+ * region at their distances from s and runs until the boundary nodes of
+ * t's region are settled. The shortest route is either the direct one
+ * inside one region or the one through the boundary node with the lowest
+ * overlay distance plus its distance to t.
+ *
+ * The path is rebuilt by expanding each shortcut of the overlay path, and
+ * the first and last legs, with PATH requests to their region's worker,
+ * all sent before any answer is read.
+ *
+ * Worker i listens on the loopback port basePort + i. Connections are kept
+ * open and shared between queries through a pool per worker, so queries
+ * may be answered from many threads at once.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public final class PartitionCoordinator {
+
+    // Instance variables
+    private final NameIndex overlayNames;
+    private final CompactGraph overlayGraph;
+    private final int[] overlayRegion;
+    private final int numRegions;
+    private final int basePort;
+    private final List<ConcurrentLinkedQueue<Connection>> idleConnections =
+            new ArrayList<>();
+    private final ConcurrentLinkedQueue<RegionSearch> idleSearches =
+            new ConcurrentLinkedQueue<>();
+
+    /**
+     * Opens the overlay graph and manifest of a partition directory.
+     * Connections to the workers are opened by the first query.
+     * @param directory String name of the partition directory
+     * @param basePort int port number of region 0's worker
+     * @throws IOException if the overlay or manifest cannot be read
+     */
+    public PartitionCoordinator(String directory, int basePort)
+            throws IOException {
+        GraphSnapshot overlay = GraphSnapshot.open(Paths.get(directory,
+                GraphPartitioner.OVERLAY_FILE).toString());
+        overlayNames = overlay.getNameIndex();
+        overlayGraph = overlay.getCompactGraph();
+        overlayRegion = new int[overlayGraph.getNumNodes()];
+        numRegions = GraphPartitioner.readManifest(directory, overlayNames,
+                overlayRegion);
+        this.basePort = basePort;
+        for (int r = 0; r < numRegions; r++) {
+            idleConnections.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    // Accessor methods
+    public int getNumRegions() { return numRegions; }
+    public int getNumBoundaryNodes() { return overlayGraph.getNumNodes(); }
+
+    /**
+     * Finds the shortest path between two nodes of the partitioned graph.
+     * @param from String name of the start node
+     * @param to String name of the destination node
+     * @return Route object, unreachable if there is no path
+     * @throws IOException if a worker cannot be reached or answers wrongly
+     * @throws IllegalArgumentException if a node is in no region
+     */
+    public Route route(String from, String to) throws IOException {
+        Connection[] connections = new Connection[numRegions];
+        boolean completed = false;
+        try {
+            // Ask every worker, as only the overlay's nodes have a region
+            for (int r = 0; r < numRegions; r++) {
+                connections[r] = borrow(r);
+                connections[r].send("FROM " + from + " " + to);
+                connections[r].send("TO " + to);
+                connections[r].flush();
+            }
+            String[] fromAnswer = null;
+            String[] toAnswer = null;
+            int fromRegion = -1;
+            int toRegion = -1;
+            for (int r = 0; r < numRegions; r++) {
+                String[] answer = connections[r].receive();
+                if (answer != null) {
+                    fromAnswer = answer;
+                    fromRegion = r;
+                }
+                answer = connections[r].receive();
+                if (answer != null) {
+                    toAnswer = answer;
+                    toRegion = r;
+                }
+            }
+            if (fromAnswer == null || toAnswer == null) {
+                // Every answer was read, so the connections can be reused
+                completed = true;
+                throw new IllegalArgumentException("Node "
+                        + (fromAnswer == null ? from : to)
+                        + " is not in the graph");
+            }
+
+            Route route = findRoute(connections, from, to, fromRegion,
+                    fromAnswer, toRegion, toAnswer);
+            completed = true;
+            return route;
+        } finally {
+            for (int r = 0; r < numRegions; r++) {
+                if (connections[r] == null) {
+                    continue;
+                }
+                if (completed) {
+                    idleConnections.get(r).offer(connections[r]);
+                } else {
+                    connections[r].close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the idle connections to the workers.
+     */
+    public void close() {
+        for (ConcurrentLinkedQueue<Connection> idle : idleConnections) {
+            Connection connection;
+            while ((connection = idle.poll()) != null) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Searches the overlay graph between the boundary distances of the
+     * start and destination nodes and expands the shortest route.
+     * @param connections Connection array of one connection per region
+     * @param from String name of the start node
+     * @param to String name of the destination node
+     * @param fromRegion int region of the start node
+     * @param fromAnswer String array of the start region's FROM answer
+     * @param toRegion int region of the destination node
+     * @param toAnswer String array of the destination region's TO answer
+     * @return Route object
+     * @throws IOException if a worker cannot be reached or answers wrongly
+     */
+    private Route findRoute(Connection[] connections, String from, String to,
+                            int fromRegion, String[] fromAnswer,
+                            int toRegion, String[] toAnswer)
+            throws IOException {
+        int numSources = (fromAnswer.length - 2) / 2;
+        int[] sources = new int[numSources];
+        int[] sourceDistances = new int[numSources];
+        for (int i = 0; i < numSources; i++) {
+            sources[i] = overlayNode(fromAnswer[2 + 2 * i]);
+            sourceDistances[i] = parseInt(fromAnswer[3 + 2 * i]);
+        }
+        int numTargets = (toAnswer.length - 1) / 2;
+        int[] targets = new int[numTargets];
+        int[] targetDistances = new int[numTargets];
+        for (int i = 0; i < numTargets; i++) {
+            targets[i] = overlayNode(toAnswer[1 + 2 * i]);
+            targetDistances[i] = parseInt(toAnswer[2 + 2 * i]);
+        }
+
+        RegionSearch search = idleSearches.poll();
+        if (search == null) {
+            search = new RegionSearch(overlayGraph.getNumNodes());
+        }
+        IntPath overlayPath = new IntPath();
+        long length;
+        try {
+            // Compare the route inside one region with those between them
+            int direct = parseInt(fromAnswer[1]);
+            length = direct >= 0 ? direct : Long.MAX_VALUE;
+            int via = -1;
+            search.run(overlayGraph, sources, sourceDistances, numSources,
+                    targets, numTargets);
+            for (int i = 0; i < numTargets; i++) {
+                int node = targets[i];
+                if (search.isReached(node) && (long) search.getDistance(node)
+                        + targetDistances[i] < length) {
+                    length = (long) search.getDistance(node)
+                            + targetDistances[i];
+                    via = node;
+                }
+            }
+            if (length == Long.MAX_VALUE) {
+                return Route.UNREACHABLE;
+            }
+            for (int node = via; node >= 0; node = search.getParent(node)) {
+                overlayPath.push(node);
+            }
+            overlayPath.reverseFrom(0);
+        } finally {
+            idleSearches.offer(search);
+        }
+
+        // List the legs of the route: a region and the ends of its path
+        // inside the region, or region -1 for an edge between regions
+        IntPath legRegions = new IntPath();
+        List<String> legEnds = new ArrayList<>();
+        if (overlayPath.isEmpty()) {
+            addLeg(legRegions, legEnds, fromRegion, from, to);
+        } else {
+            addLeg(legRegions, legEnds, fromRegion, from,
+                    overlayNames.getName(overlayPath.get(0)));
+            for (int i = 1; i < overlayPath.size(); i++) {
+                int u = overlayPath.get(i - 1);
+                int v = overlayPath.get(i);
+                int region = overlayRegion[u] == overlayRegion[v]
+                        ? overlayRegion[u] : -1;
+                addLeg(legRegions, legEnds, region, overlayNames.getName(u),
+                        overlayNames.getName(v));
+            }
+            addLeg(legRegions, legEnds, toRegion, overlayNames.getName(
+                    overlayPath.get(overlayPath.size() - 1)), to);
+        }
+
+        // Send every PATH request before reading the answers in order
+        for (int i = 0; i < legRegions.size(); i++) {
+            if (legRegions.get(i) >= 0) {
+                connections[legRegions.get(i)].send("PATH "
+                        + legEnds.get(2 * i) + " " + legEnds.get(2 * i + 1));
+            }
+        }
+        for (Connection connection : connections) {
+            connection.flush();
+        }
+        List<String> path = new ArrayList<>();
+        path.add(from);
+        for (int i = 0; i < legRegions.size(); i++) {
+            if (legRegions.get(i) < 0) {
+                path.add(legEnds.get(2 * i + 1));
+                continue;
+            }
+            String[] answer = connections[legRegions.get(i)].receive();
+            if (answer == null) {
+                throw new IOException("Region " + legRegions.get(i)
+                        + " has no path from " + legEnds.get(2 * i)
+                        + " to " + legEnds.get(2 * i + 1));
+            }
+            for (int j = 3; j < answer.length; j++) {
+                path.add(answer[j]);
+            }
+        }
+        return new Route(path, length);
+    }
+
+    /**
+     * Adds a leg to the lists of legs of a route.
+     * @param legRegions IntPath object of each leg's region
+     * @param legEnds List of the start and end node names of each leg
+     * @param region int region of the leg, or -1 for an edge between regions
+     * @param start String name of the leg's start node
+     * @param end String name of the leg's end node
+     */
+    private static void addLeg(IntPath legRegions, List<String> legEnds,
+                               int region, String start, String end) {
+        legRegions.push(region);
+        legEnds.add(start);
+        legEnds.add(end);
+    }
+
+    /**
+     * Borrows an idle connection to a worker, opening one if none is idle.
+     * @param region int region of the worker
+     * @return Connection object
+     * @throws IOException if the worker cannot be reached
+     */
+    private Connection borrow(int region) throws IOException {
+        Connection connection = idleConnections.get(region).poll();
+        if (connection == null) {
+            connection = new Connection(basePort + region);
+        }
+        return connection;
+    }
+
+    /**
+     * Returns the overlay node id of a boundary node named by a worker.
+     * @param name String name of the boundary node
+     * @return int id of the node in the overlay graph
+     * @throws IOException if the node is not in the overlay graph
+     */
+    private int overlayNode(String name) throws IOException {
+        int node = overlayNames.find(name);
+        if (node < 0) {
+            throw new IOException("Unknown boundary node " + name);
+        }
+        return node;
+    }
+
+    // Parses a distance from a worker's answer
+    private static int parseInt(String field) throws IOException {
+        try {
+            return Integer.parseInt(field);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed distance " + field, e);
+        }
+    }
+
+    /**
+     * The Route class holds the node names of a shortest path and its
+     * length.
+     */
+    public static final class Route {
+
+        // Class variables
+        public static final Route UNREACHABLE =
+                new Route(Collections.emptyList(), -1);
+
+        // Instance variables
+        private final List<String> path;
+        private final long length;
+
+        // Constructs a route from its path and length
+        public Route(List<String> path, long length) {
+            this.path = Collections.unmodifiableList(path);
+            this.length = length;
+        }
+
+        // Accessor methods
+        public List<String> getPath() { return path; }
+        public long getLength() { return length; }
+        public boolean isReachable() { return length >= 0; }
+
+        /**
+         * Returns the path as node names joined by arrows, or "none".
+         * @return String path
+         */
+        public String formatPath() {
+            return path.isEmpty() ? "none" : String.join(" -> ", path);
+        }
+    }
+
+    /**
+     * The Connection class is one open loopback connection to a worker.
+     */
+    private static final class Connection {
+
+        // Instance variables
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final BufferedWriter writer;
+
+        // Opens a connection to the worker on a loopback port
+        Connection(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            reader = new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8));
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        // Queues a request line until the next flush
+        void send(String request) throws IOException {
+            writer.write(request);
+            writer.newLine();
+        }
+
+        void flush() throws IOException { writer.flush(); }
+
+        /**
+         * Reads the answer to the oldest unanswered request.
+         * @return String array of the answer's fields from "OK" on, or
+         *         null for NONE
+         * @throws IOException if the connection fails or the worker reports
+         *                     an error
+         */
+        String[] receive() throws IOException {
+            String answer = reader.readLine();
+            if (answer == null) {
+                throw new IOException("Worker closed the connection");
+            }
+            if (answer.equals("NONE")) {
+                return null;
+            }
+            if (!answer.startsWith("OK")) {
+                throw new IOException("Worker answered: " + answer);
+            }
+            return answer.split(" ");
+        }
+
+        // Closes the connection, ignoring any error
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // The socket is closed either way
+            }
+        }
+    }
+
+}
@@ -0,0 +1,311 @@
+/**
+ * The PartitionWorker class serves the searches inside one region of a
+ * graph split by GraphPartitioner. It opens only its region's snapshot and
+ * the boundary nodes listed for its region in the manifest, and answers a
+ * PartitionCoordinator over loopback TCP connections.
+ *
+ * Each connection carries one request per line and is answered with one
+ * line per request, in order, so a coordinator can send several requests
+ * before reading their answers. Node names are those of the input graph:
+ *  - FROM s t answers "OK dt b1 d1 b2 d2 ..." with the distance dt within
+ *    the region from s to t (-1 if t is not in the region or not reached)
+ *    and the distance from s to each boundary node bi it reaches
+ *  - TO t answers "OK b1 d1 b2 d2 ..." with the distance from each
+ *    boundary node bi to t within the region
+ *  - PATH u v answers "OK length u n1 n2 ... v" with the shortest path
+ *    from u to v within the region
+ * FROM, TO and PATH answer "NONE" if a node is not in the region, or PATH
+ * if v cannot be reached; malformed requests are answered with
+ * "ERROR message".
+ *
+ * Each connection is served on its own virtual thread when the Java runtime
+ * supports them, and borrows a RegionSearch from a pool for each request.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+public final class PartitionWorker {
+
+    // Class variables
+    private static final int BACKLOG = 256;
+
+    // Instance variables
+    private final int region;
+    private final NameIndex names;
+    private final CompactGraph graph;
+    private final CompactGraph reverseGraph;
+    private final int[] boundaryNodes;
+    private final ConcurrentLinkedQueue<RegionSearch> idleSearches =
+            new ConcurrentLinkedQueue<>();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    /**
+     * Opens a region's snapshot and finds its boundary nodes in the
+     * manifest.
+     * @param directory String name of the partition directory
+     * @param region int number of the region to serve
+     * @throws IOException if the snapshot or manifest cannot be read
+     */
+    public PartitionWorker(String directory, int region) throws IOException {
+        this.region = region;
+        GraphSnapshot snapshot = GraphSnapshot.open(
+                GraphPartitioner.regionFile(directory, region));
+        names = snapshot.getNameIndex();
+        graph = snapshot.getCompactGraph();
+        reverseGraph = snapshot.getReverseGraph();
+
+        // Every boundary node listed in the region's name index is its own
+        int[] nodeRegion = new int[graph.getNumNodes()];
+        GraphPartitioner.readManifest(directory, names, nodeRegion);
+        int count = 0;
+        for (int r : nodeRegion) {
+            if (r >= 0) {
+                count++;
+            }
+        }
+        boundaryNodes = new int[count];
+        count = 0;
+        for (int node = 0; node < nodeRegion.length; node++) {
+            if (nodeRegion[node] >= 0) {
+                boundaryNodes[count++] = node;
+            }
+        }
+    }
+
+    // Accessor methods
+    public int getRegion() { return region; }
+    public int getNumNodes() { return graph.getNumNodes(); }
+    public int getNumBoundaryNodes() { return boundaryNodes.length; }
+    public int getPort() { return serverSocket.getLocalPort(); }
+
+    /**
+     * Starts accepting connections on a loopback port.
+     * @param port int port number, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public void start(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port), BACKLOG);
+
+        // A connection holds its thread until it closes, so the fallback
+        // pool cannot be bounded
+        executor = QueryServer.newRequestExecutor(0);
+
+        // Accept on a platform thread, which keeps the process running
+        // while virtual threads serve the connections
+        new Thread(this::acceptConnections, "partition-worker-" + region)
+                .start();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // The socket is closed either way
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        executor.shutdown();
+    }
+
+    // Accepts connections until the server socket is closed
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                // Closed by stop, or the connection failed before it opened
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of one connection until it is closed.
+     * @param socket Socket object of the connection
+     */
+    private void serve(Socket socket) {
+        try (BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(),
+                             StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(),
+                             StandardCharsets.UTF_8))) {
+            String request;
+            while ((request = reader.readLine()) != null) {
+                writer.write(answer(request));
+                writer.newLine();
+
+                // Send the answers once every pipelined request is read
+                if (!reader.ready()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The coordinator closed the connection
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Answers one request line.
+     * @param request String request line
+     * @return String answer line
+     */
+    String answer(String request) {
+        String[] fields = request.trim().split("\\s+");
+        RegionSearch search = idleSearches.poll();
+        if (search == null) {
+            search = new RegionSearch(graph.getNumNodes());
+        }
+        try {
+            if (fields[0].equals("FROM") && fields.length == 3) {
+                return answerFrom(search, fields[1], fields[2]);
+            } else if (fields[0].equals("TO") && fields.length == 2) {
+                return answerTo(search, fields[1]);
+            } else if (fields[0].equals("PATH") && fields.length == 3) {
+                return answerPath(search, fields[1], fields[2]);
+            }
+            return "ERROR Unknown request: " + request;
+        } finally {
+            idleSearches.offer(search);
+        }
+    }
+
+    /**
+     * Answers a FROM request with the distances from a start node to the
+     * destination, if it is in the region, and to every boundary node.
+     * @param search RegionSearch object to search with
+     * @param startName String name of the start node
+     * @param destName String name of the destination node
+     * @return String answer line
+     */
+    private String answerFrom(RegionSearch search, String startName,
+                              String destName) {
+        int start = names.find(startName);
+        if (start < 0) {
+            return "NONE";
+        }
+        int dest = names.find(destName);
+        int[] targets = Arrays.copyOf(boundaryNodes,
+                boundaryNodes.length + 1);
+        int numTargets = boundaryNodes.length;
+        if (dest >= 0) {
+            targets[numTargets++] = dest;
+        }
+        search.run(graph, start, targets, numTargets);
+
+        StringBuilder builder = new StringBuilder("OK ");
+        builder.append(dest >= 0 && search.isReached(dest)
+                ? search.getDistance(dest) : -1);
+        appendBoundaryDistances(builder, search);
+        return builder.toString();
+    }
+
+    /**
+     * Answers a TO request with the distance from every boundary node to a
+     * destination node, searching the reverse graph from the destination.
+     * @param search RegionSearch object to search with
+     * @param destName String name of the destination node
+     * @return String answer line
+     */
+    private String answerTo(RegionSearch search, String destName) {
+        int dest = names.find(destName);
+        if (dest < 0) {
+            return "NONE";
+        }
+        search.run(reverseGraph, dest, boundaryNodes, boundaryNodes.length);
+
+        StringBuilder builder = new StringBuilder("OK");
+        appendBoundaryDistances(builder, search);
+        return builder.toString();
+    }
+
+    /**
+     * Answers a PATH request with the shortest path between two nodes of
+     * the region.
+     * @param search RegionSearch object to search with
+     * @param startName String name of the start node
+     * @param destName String name of the destination node
+     * @return String answer line
+     */
+    private String answerPath(RegionSearch search, String startName,
+                              String destName) {
+        int start = names.find(startName);
+        int dest = names.find(destName);
+        if (start < 0 || dest < 0) {
+            return "NONE";
+        }
+        search.run(graph, start, new int[] { dest }, 1);
+        if (!search.isReached(dest)) {
+            return "NONE";
+        }
+
+        // Walk back through the parents, then write the path start first
+        IntPath path = new IntPath();
+        for (int node = dest; node >= 0; node = search.getParent(node)) {
+            path.push(node);
+        }
+        StringBuilder builder = new StringBuilder("OK ");
+        builder.append(search.getDistance(dest));
+        for (int i = path.size() - 1; i >= 0; i--) {
+            builder.append(' ').append(names.getName(path.get(i)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends the name and distance of each boundary node the last search
+     * reached.
+     * @param builder StringBuilder object of the answer line
+     * @param search RegionSearch object of the last search
+     */
+    private void appendBoundaryDistances(StringBuilder builder,
+                                         RegionSearch search) {
+        for (int node : boundaryNodes) {
+            if (search.isReached(node)) {
+                builder.append(' ').append(names.getName(node))
+                        .append(' ').append(search.getDistance(node));
+            }
+        }
+    }
+
+    // Closes a socket, ignoring any error
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // The socket is closed either way
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+/**
+ * The PathCache class keeps a bounded number of QueryResult objects so that
+ * repeated queries are answered without searching the graph again. Results
+ * are keyed by start node, destination node, algorithm type and the graph's
+ * version. Changing the graph through Graph.setEdge or
+ * Graph.setDistanceToDest increments its version, which empties the cache.
+ *
+ * Results are spread over stripes, each with its own lock, and a stripe
+ * evicts its least recently used result once it is full. Identical queries
+ * that arrive while the first one is still being computed wait for it.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class PathCache {
+
+    // Class variables
+    private static final int MAX_STRIPES = 16;
+
+    // Instance variables
+    private final Graph graph;
+    private final int capacity;
+    private final Stripe[] stripes;
+    private final ConcurrentHashMap<Key, CompletableFuture<QueryResult>>
+            inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Constructs an empty cache of at most capacity results for a graph
+    public PathCache(Graph graph, int capacity) {
+        this.graph = graph;
+        this.capacity = capacity;
+        int numStripes = Math.max(1, Math.min(MAX_STRIPES, capacity));
+        stripes = new Stripe[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            stripes[i] = new Stripe(capacity / numStripes,
+                    graph.getVersion());
+        }
+    }
+
+    // Accessor methods
+    public int getCapacity() { return capacity; }
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getCoalesced() { return coalesced.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    /**
+     * Returns the number of cached results.
+     * @return int number of results
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.results.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the cached result of a query, or computes, caches and returns
+     * it. If the same query is already being computed by another thread the
+     * call waits for and returns that result.
+     * @param query BatchQuery object
+     * @param compute Function that answers the query on a cache miss
+     * @return QueryResult object
+     */
+    public QueryResult get(BatchQuery query,
+                           Function<BatchQuery, QueryResult> compute) {
+        long version = graph.getVersion();
+        Key key = new Key(query.getStartNode().getId(),
+                query.getDestinationNode().getId(),
+                query.getAlgorithmType(), version);
+        // Pick the stripe from mixed hash bits, leaving the low bits that
+        // place the key within the stripe's map spread out
+        Stripe stripe = stripes[((key.hashCode() * 0x9E3779B9) >>> 16)
+                % stripes.length];
+
+        // Test for a cached result of the current graph version
+        QueryResult result = stripe.get(key, version);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+
+        // Wait for an identical query that is already running
+        CompletableFuture<QueryResult> future = new CompletableFuture<>();
+        CompletableFuture<QueryResult> running =
+                inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        misses.increment();
+
+        // Compute the result and cache it if the graph did not change
+        try {
+            result = compute.apply(query);
+            stripe.put(key, result, version);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.results.clear();
+            }
+        }
+    }
+
+    /**
+     * The Stripe class is one part of the cache, an access ordered map with
+     * its own lock, so that lookups of keys in different stripes do not
+     * wait for each other.
+     */
+    private final class Stripe {
+
+        // Instance variables
+        private final LinkedHashMap<Key, QueryResult> results;
+        private long cachedVersion;
+
+        // Constructs an empty stripe of at most capacity results
+        private Stripe(int capacity, long version) {
+            cachedVersion = version;
+
+            // Access ordered map that drops its eldest entry when over
+            // capacity
+            results = new LinkedHashMap<Key, QueryResult>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<Key, QueryResult> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        // Returns the cached result of a key, emptying the stripe first if
+        // the graph has changed
+        private synchronized QueryResult get(Key key, long version) {
+            if (version != cachedVersion) {
+                results.clear();
+                cachedVersion = version;
+            }
+            return results.get(key);
+        }
+
+        // Caches a result if the graph has not changed since it was found
+        private synchronized void put(Key key, QueryResult result,
+                                      long version) {
+            if (version == cachedVersion) {
+                results.put(key, result);
+            }
+        }
+    }
+
+    /**
+     * The Key class identifies a query on one version of the graph.
+     */
+    private static final class Key {
+
+        // Instance variables
+        private final int start;
+        private final int destination;
+        private final AlgorithmType algorithmType;
+        private final long version;
+
+        // Constructs a key from the query's ids, algorithm and graph version
+        private Key(int start, int destination, AlgorithmType algorithmType,
+                    long version) {
+            this.start = start;
+            this.destination = destination;
+            this.algorithmType = algorithmType;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return start == other.start && destination == other.destination
+                    && algorithmType == other.algorithmType
+                    && version == other.version;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = start * 31 + destination;
+            hash = hash * 31 + algorithmType.ordinal();
+            return hash * 31 + Long.hashCode(version);
+        }
+    }
+
+}
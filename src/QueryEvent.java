@@ -0,0 +1,51 @@
+/**
+ * The QueryEvent class is a Java Flight Recorder event for one query run
+ * through Algorithm.run while SearchStats are enabled. Its duration is the
+ * query's wall time and its fields are the query and its search counters,
+ * so slow queries can be found in a recording and their cause read off.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shortestpath.Query")
+@Label("Shortest Path Query")
+@Category("Shortest Path")
+@Description("A shortest path query and its search counters")
+public class QueryEvent extends Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Start Node")
+    String startNode;
+
+    @Label("Destination Node")
+    String destinationNode;
+
+    @Label("Reachable")
+    boolean reachable;
+
+    @Label("Path Length")
+    int pathLength;
+
+    @Label("Nodes Expanded")
+    long nodesExpanded;
+
+    @Label("Edges Scanned")
+    long edgesScanned;
+
+    @Label("Backtracks")
+    long backtracks;
+
+    @Label("Heap Operations")
+    long heapOperations;
+
+}
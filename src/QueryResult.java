@@ -0,0 +1,104 @@
+/**
+ * The QueryResult class represents the outcome of a BatchQuery: the shortest
+ * path found as an array of node ids, its length and the number of nodes
+ * the algorithm visited. An empty path means the destination could not be
+ * reached. While SearchStats
+ * are enabled it also holds the counters of the query's search.
+ *
+ * The suboptimality of a result is a proven bound on how many times longer
+ * its path can be than the shortest path. It is 1 for algorithms that find
+ * the shortest path and may be more for an ANYTIME search that ran out of
+ * time.
+ *
+ * QueryResult objects are immutable and can be shared between threads.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public final class QueryResult {
+
+    // Instance variables
+    private final BatchQuery query;
+    private final int[] path;
+    private final int pathLength;
+    private final int visitedCount;
+    private final SearchStats stats;
+    private final double suboptimality;
+
+    // Constructs a result; The path array is not copied and must not change
+    public QueryResult(BatchQuery query, int[] path, int pathLength,
+                       int visitedCount) {
+        this(query, path, pathLength, visitedCount, null);
+    }
+
+    // Constructs a result with the counters of its search
+    public QueryResult(BatchQuery query, int[] path, int pathLength,
+                       int visitedCount, SearchStats stats) {
+        this(query, path, pathLength, visitedCount, stats, 1.0);
+    }
+
+    // Constructs a result with its counters and suboptimality bound
+    public QueryResult(BatchQuery query, int[] path, int pathLength,
+                       int visitedCount, SearchStats stats,
+                       double suboptimality) {
+        this.query = query;
+        this.path = path;
+        this.pathLength = pathLength;
+        this.visitedCount = visitedCount;
+        this.stats = stats;
+        this.suboptimality = suboptimality;
+    }
+
+    // Accessor methods
+    public BatchQuery getQuery() { return query; }
+    public int[] getPath() { return path.clone(); }
+    public int getPathSize() { return path.length; }
+    public int getPathNode(int index) { return path[index]; }
+    public int getPathLength() { return pathLength; }
+    public int getVisitedCount() { return visitedCount; }
+    public boolean isReachable() { return path.length > 0; }
+    public SearchStats getStats() { return stats; }
+    public double getSuboptimality() { return suboptimality; }
+
+    /**
+     * Returns a copy of this result that holds the counters of its search.
+     * @param searchStats SearchStats object that must not change
+     * @return QueryResult object
+     */
+    public QueryResult withStats(SearchStats searchStats) {
+        return new QueryResult(query, path, pathLength, visitedCount,
+                searchStats, suboptimality);
+    }
+
+    /**
+     * Returns a copy of this result with a suboptimality bound.
+     * @param bound double bound on the path length over the shortest
+     * @return QueryResult object
+     */
+    public QueryResult withSuboptimality(double bound) {
+        return new QueryResult(query, path, pathLength, visitedCount, stats,
+                bound);
+    }
+
+    /**
+     * Returns the path as node names separated by arrows.
+     * @param graph Graph object that the query was run on
+     * @return String of the path or "none" if it is empty
+     */
+    public String formatPath(Graph graph) {
+        if (path.length == 0) {
+            return "none";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int node : path) {
+            if (builder.length() > 0) {
+                builder.append(" -> ");
+            }
+            builder.append(graph.getNode(node).getElement());
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,458 @@
+/**
+ * The QueryServer class answers shortest path queries over HTTP on the
+ * loopback interface, so a Graph only has to be loaded once for any number
+ * of queries. Requests run on virtual threads where the runtime has them,
+ * and otherwise on a fixed pool of SEARCHES_PER_TYPE threads.
+ *
+ * The server has three endpoints:
+ *  - GET /route?from=A&to=Z&algorithm=astar returns the shortest path as
+ *    JSON. The algorithm defaults to A_STAR; ANYTIME routes also take a
+ *    deadlineMicros parameter and return their suboptimality bound.
+ *  - GET /alternatives?from=A&to=Z&k=3 returns up to k shortest loopless
+ *    paths found by KShortestPaths. k defaults to 3.
+ *  - GET /stats returns the route and alternatives counts and latency
+ *    percentiles, the cache counters, and the search totals while
+ *    SearchStats are enabled.
+ *
+ * Results other than ANYTIME ones are kept in a PathCache. Searches borrow
+ * an Algorithm object from a bounded pool per algorithm type, and at most
+ * SEARCHES_PER_TYPE /alternatives requests search at once.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+public class QueryServer {
+
+    // Class variables
+    private static final int BACKLOG = 4096;
+    private static final int CACHE_CAPACITY = 100000;
+    private static final int DEFAULT_ALTERNATIVES = 3;
+    private static final int MAX_ALTERNATIVES = 64;
+    private static final int SEARCHES_PER_TYPE =
+            Runtime.getRuntime().availableProcessors();
+
+    // Instance variables
+    private final Graph graph;
+    private final LatencyRecorder latencies = new LatencyRecorder();
+    private final LatencyRecorder alternativeLatencies =
+            new LatencyRecorder();
+    private final PathCache cache;
+    private final KShortestPaths alternatives;
+    private final EnumMap<AlgorithmType, ConcurrentLinkedQueue<Algorithm>>
+            idleAlgorithms = new EnumMap<>(AlgorithmType.class);
+    private final EnumMap<AlgorithmType, Semaphore> searchPermits =
+            new EnumMap<>(AlgorithmType.class);
+    private final Semaphore alternativePermits =
+            new Semaphore(SEARCHES_PER_TYPE);
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Constructs a server for a populated graph
+    public QueryServer(Graph graph) {
+        this.graph = graph;
+        cache = new PathCache(graph, CACHE_CAPACITY);
+        alternatives = new KShortestPaths(graph, false);
+        for (AlgorithmType type : AlgorithmType.values()) {
+            idleAlgorithms.put(type, new ConcurrentLinkedQueue<>());
+            searchPermits.put(type, new Semaphore(SEARCHES_PER_TYPE));
+        }
+    }
+
+    // Accessor methods
+    public Graph getGraph() { return graph; }
+    public LatencyRecorder getLatencies() { return latencies; }
+    public LatencyRecorder getAlternativeLatencies() {
+        return alternativeLatencies;
+    }
+    public PathCache getCache() { return cache; }
+    public int getPort() { return server.getAddress().getPort(); }
+
+    /**
+     * Starts listening on a loopback port.
+     * @param port int port number, or 0 to pick a free port
+     * @throws IOException if the port cannot be bound
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor = newRequestExecutor(SEARCHES_PER_TYPE);
+        server.setExecutor(executor);
+        server.createContext("/route", this::handleRoute);
+        server.createContext("/alternatives", this::handleAlternatives);
+        server.createContext("/stats", this::handleStats);
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to a second for open requests.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread. The
+     * method is looked up reflectively so the server also runs on Java
+     * versions before 21, where a fixed pool of platform threads is used
+     * instead, or a cached pool if the number of threads is 0.
+     * @param platformThreads int size of the fallback pool, or 0
+     * @return ExecutorService object
+     */
+    static ExecutorService newRequestExecutor(int platformThreads) {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return platformThreads > 0
+                    ? Executors.newFixedThreadPool(platformThreads)
+                    : Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Answers a /route request and records its latency.
+     * @param exchange HttpExchange object of the request
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleRoute(HttpExchange exchange) throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, "{\"error\":\"Only GET is supported\"}");
+                return;
+            }
+
+            // Match the query parameters with nodes and an algorithm type
+            Map<String, String> parameters =
+                    parseQuery(exchange.getRequestURI().getRawQuery());
+            String from = parameters.get("from");
+            String to = parameters.get("to");
+            String algorithmName = parameters.getOrDefault("algorithm",
+                    AlgorithmType.A_STAR.name());
+            Node<String> start = from == null ? null : graph.findNode(from);
+            Node<String> dest = to == null ? null : graph.findNode(to);
+            AlgorithmType type = AlgorithmType.fromName(algorithmName);
+            if (start == null || dest == null) {
+                send(exchange, 400, "{\"error\":\"Unknown from or to node\"}");
+                return;
+            }
+            if (type == null) {
+                send(exchange, 400, "{\"error\":\"Unknown algorithm\"}");
+                return;
+            }
+            long deadlineMicros;
+            try {
+                deadlineMicros = Long.parseLong(
+                        parameters.getOrDefault("deadlineMicros", "0"));
+            } catch (NumberFormatException e) {
+                deadlineMicros = -1;
+            }
+            if (deadlineMicros < 0) {
+                send(exchange, 400, "{\"error\":\"Invalid deadlineMicros\"}");
+                return;
+            }
+
+            send(exchange, 200, toJson(route(new BatchQuery(start, dest,
+                    type, deadlineMicros * 1000))));
+        } finally {
+            latencies.record(System.nanoTime() - startTime);
+            exchange.close();
+        }
+    }
+
+    /**
+     * Answers an /alternatives request with the k shortest loopless paths
+     * and records its latency. The request waits for one of the permits
+     * that bound the number of these searches.
+     * @param exchange HttpExchange object of the request
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleAlternatives(HttpExchange exchange)
+            throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, "{\"error\":\"Only GET is supported\"}");
+                return;
+            }
+
+            // Match the query parameters with nodes and a number of paths
+            Map<String, String> parameters =
+                    parseQuery(exchange.getRequestURI().getRawQuery());
+            String from = parameters.get("from");
+            String to = parameters.get("to");
+            Node<String> start = from == null ? null : graph.findNode(from);
+            Node<String> dest = to == null ? null : graph.findNode(to);
+            if (start == null || dest == null) {
+                send(exchange, 400, "{\"error\":\"Unknown from or to node\"}");
+                return;
+            }
+            int k;
+            try {
+                k = Integer.parseInt(parameters.getOrDefault("k",
+                        String.valueOf(DEFAULT_ALTERNATIVES)));
+            } catch (NumberFormatException e) {
+                k = 0;
+            }
+            if (k < 1 || k > MAX_ALTERNATIVES) {
+                send(exchange, 400, "{\"error\":\"k must be from 1 to "
+                        + MAX_ALTERNATIVES + "\"}");
+                return;
+            }
+
+            List<KShortestPaths.Path> paths;
+            alternativePermits.acquireUninterruptibly();
+            try {
+                paths = alternatives.find(start, dest, k);
+            } finally {
+                alternativePermits.release();
+            }
+            send(exchange, 200, toJson(start, dest, paths));
+        } finally {
+            alternativeLatencies.record(System.nanoTime() - startTime);
+            exchange.close();
+        }
+    }
+
+    /**
+     * Answers a /stats request with the route and alternatives latency
+     * percentiles.
+     * @param exchange HttpExchange object of the request
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            send(exchange, 200, "{\"count\":" + latencies.getCount()
+                    + ",\"p50Micros\":"
+                    + latencies.getPercentileNanos(50) / 1000
+                    + ",\"p99Micros\":"
+                    + latencies.getPercentileNanos(99) / 1000
+                    + ",\"maxMicros\":" + latencies.getMaxNanos() / 1000
+                    + ",\"alternativesCount\":"
+                    + alternativeLatencies.getCount()
+                    + ",\"alternativesP50Micros\":"
+                    + alternativeLatencies.getPercentileNanos(50) / 1000
+                    + ",\"alternativesP99Micros\":"
+                    + alternativeLatencies.getPercentileNanos(99) / 1000
+                    + ",\"cacheHits\":" + cache.getHits()
+                    + ",\"cacheMisses\":" + cache.getMisses()
+                    + ",\"cacheCoalesced\":" + cache.getCoalesced()
+                    + heuristicStats()
+                    + (SearchStats.ENABLED ? ",\"searches\":"
+                        + SearchStats.getTotalQueries() + ","
+                        + SearchStats.getTotals().toJsonMembers() : "")
+                    + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Formats the counts of the graph's heuristic cache as JSON members.
+     * @return String of JSON members, empty if the graph has no cache
+     */
+    private String heuristicStats() {
+        HeuristicCache heuristics = graph.getHeuristicCache();
+        if (heuristics == null) {
+            return "";
+        }
+        return ",\"heuristicHits\":" + heuristics.getHits()
+                + ",\"heuristicBuilds\":" + heuristics.getBuilds()
+                + ",\"heuristicRejections\":" + heuristics.getRejections()
+                + ",\"heuristicEvictions\":" + heuristics.getEvictions();
+    }
+
+    /**
+     * Answers a query from the result cache, searching the graph on a miss.
+     * ANYTIME queries are always searched.
+     * @param query BatchQuery object
+     * @return QueryResult object
+     */
+    public QueryResult route(BatchQuery query) {
+        if (query.getAlgorithmType() == AlgorithmType.ANYTIME) {
+            return search(query);
+        }
+        return cache.get(query, this::search);
+    }
+
+    /**
+     * Runs a query with an idle Algorithm object of its type, creating one
+     * if none is idle, and returns the object to the pool afterwards. At
+     * most SEARCHES_PER_TYPE searches of a type run at once, so no more
+     * objects than that are created; other queries wait for a permit.
+     * @param query BatchQuery object
+     * @return QueryResult object
+     */
+    private QueryResult search(BatchQuery query) {
+        Semaphore permits = searchPermits.get(query.getAlgorithmType());
+        ConcurrentLinkedQueue<Algorithm> idle =
+                idleAlgorithms.get(query.getAlgorithmType());
+        permits.acquireUninterruptibly();
+        try {
+            Algorithm algorithm = idle.poll();
+            if (algorithm == null) {
+                algorithm = query.getAlgorithmType().create(graph);
+            }
+            try {
+                return algorithm.run(query);
+            } finally {
+                idle.offer(algorithm);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Formats a query result as a JSON object.
+     * @param result QueryResult object
+     * @return String of JSON
+     */
+    private String toJson(QueryResult result) {
+        BatchQuery query = result.getQuery();
+        StringBuilder json = new StringBuilder();
+        json.append("{\"from\":");
+        appendJsonString(json, query.getStartNode().getElement());
+        json.append(",\"to\":");
+        appendJsonString(json, query.getDestinationNode().getElement());
+        json.append(",\"algorithm\":\"").append(query.getAlgorithmType())
+                .append("\",\"reachable\":").append(result.isReachable())
+                .append(",\"length\":").append(result.getPathLength())
+                .append(",\"visited\":").append(result.getVisitedCount())
+                .append(",\"path\":[");
+        for (int i = 0; i < result.getPathSize(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendJsonString(json,
+                    graph.getNode(result.getPathNode(i)).getElement());
+        }
+        json.append(']');
+        if (query.getAlgorithmType() == AlgorithmType.ANYTIME) {
+            json.append(",\"suboptimality\":")
+                    .append(result.getSuboptimality());
+        }
+        if (result.getStats() != null) {
+            json.append(",\"stats\":{")
+                    .append(result.getStats().toJsonMembers()).append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Formats the k shortest paths between two nodes as a JSON object.
+     * @param start String Node object
+     * @param dest String Node object
+     * @param paths List of KShortestPaths.Path objects
+     * @return String of JSON
+     */
+    private String toJson(Node<String> start, Node<String> dest,
+                          List<KShortestPaths.Path> paths) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"from\":");
+        appendJsonString(json, start.getElement());
+        json.append(",\"to\":");
+        appendJsonString(json, dest.getElement());
+        json.append(",\"paths\":[");
+        for (int p = 0; p < paths.size(); p++) {
+            KShortestPaths.Path path = paths.get(p);
+            if (p > 0) {
+                json.append(',');
+            }
+            json.append("{\"length\":").append(path.getLength())
+                    .append(",\"path\":[");
+            for (int i = 0; i < path.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                appendJsonString(json,
+                        graph.getNode(path.getNode(i)).getElement());
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Appends a String as a quoted and escaped JSON string.
+     * @param json StringBuilder to append to
+     * @param value String to append
+     */
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Splits a raw URL query string into decoded parameters.
+     * @param rawQuery String query without the leading '?', or null
+     * @return Map of parameter names to values
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int split = pair.indexOf('=');
+            if (split > 0) {
+                parameters.put(
+                        URLDecoder.decode(pair.substring(0, split),
+                                StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(split + 1),
+                                StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Sends a JSON response body with a status code.
+     * @param exchange HttpExchange object of the request
+     * @param status int HTTP status code
+     * @param body String JSON body
+     * @throws IOException if the response cannot be sent
+     */
+    private static void send(HttpExchange exchange, int status, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,424 @@
+/**
+ * The ReachabilityIndex class answers whether any path leads from one node
+ * of a CompactGraph to another in constant time, so searches can reject
+ * unreachable queries and skip nodes that cannot reach their destination.
+ *
+ * The graph's strongly connected components are found with an iterative
+ * Tarjan's algorithm, which numbers them so that edges between components
+ * lead to lower numbers. Each component keeps the lowest component it
+ * reaches and, while there are at most MAX_CLOSURE_COMPONENTS components,
+ * a bit set of every component it reaches. Larger graphs instead keep the
+ * edges between components and NUM_INTERVALS interval labels per component
+ * from depth first searches of them; a component's interval holds the
+ * interval of every component it reaches. mayReach tests the labels in
+ * constant time and may answer true for an unreachable pair, while
+ * canReach follows the edges between components where the labels allow.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public final class ReachabilityIndex {
+
+    // Class variables
+    public static final int MAX_CLOSURE_COMPONENTS = 8192;
+    public static final int NUM_INTERVALS = 3;
+
+    // Instance variables
+    private final CompactGraph graph;
+    private final int[] component;
+    private final int numComponents;
+    private final int[] lowestReached;
+    private final long[] closure;
+    private final int closureWords;
+    private final int[] successorStart;
+    private final int[] successors;
+    private final int[] intervalLow;
+    private final int[] intervalHigh;
+    private final ConcurrentLinkedQueue<ComponentSearch> idleSearches =
+            new ConcurrentLinkedQueue<>();
+
+    // Constructor - only called by build and withGraph
+    private ReachabilityIndex(CompactGraph graph, int[] component,
+                              int numComponents, int[] lowestReached,
+                              long[] closure, int closureWords,
+                              int[] successorStart, int[] successors,
+                              int[] intervalLow, int[] intervalHigh) {
+        this.graph = graph;
+        this.component = component;
+        this.numComponents = numComponents;
+        this.lowestReached = lowestReached;
+        this.closure = closure;
+        this.closureWords = closureWords;
+        this.successorStart = successorStart;
+        this.successors = successors;
+        this.intervalLow = intervalLow;
+        this.intervalHigh = intervalHigh;
+    }
+
+    // Accessor methods
+    public CompactGraph getGraph() { return graph; }
+    public int getNumComponents() { return numComponents; }
+    public int getComponent(int node) { return component[node]; }
+    public boolean isExact() { return closure != null; }
+
+    /**
+     * Returns a copy of the index for a graph with the same edges, such as
+     * one whose heuristic changed. The arrays are shared with this index.
+     * @param sameEdges CompactGraph object with the same edges
+     * @return ReachabilityIndex object
+     */
+    ReachabilityIndex withGraph(CompactGraph sameEdges) {
+        return new ReachabilityIndex(sameEdges, component, numComponents,
+                lowestReached, closure, closureWords, successorStart,
+                successors, intervalLow, intervalHigh);
+    }
+
+    /**
+     * Tests in constant time if a path may lead from one node to another.
+     * The answer false is always exact; true is exact while isExact holds.
+     * @param from int id of the start node
+     * @param to int id of the destination node
+     * @return false if no path leads from the start to the destination
+     */
+    public boolean mayReach(int from, int to) {
+        int fromComponent = component[from];
+        int toComponent = component[to];
+        if (fromComponent == toComponent) {
+            return true;
+        }
+        if (closure == null) {
+            return mayReachComponent(fromComponent, toComponent);
+        }
+        if (toComponent > fromComponent
+                || toComponent < lowestReached[fromComponent]) {
+            return false;
+        }
+        int word = fromComponent * closureWords + (toComponent >>> 6);
+        return (closure[word] & 1L << toComponent) != 0;
+    }
+
+    /**
+     * Tests if a path leads from one node to another. Without the bit sets
+     * the edges between components are searched depth first, skipping
+     * components whose labels rule out the destination.
+     * @param from int id of the start node
+     * @param to int id of the destination node
+     * @return true if a path leads from the start to the destination
+     */
+    public boolean canReach(int from, int to) {
+        boolean maybe = mayReach(from, to);
+        if (!maybe || closure != null || component[from] == component[to]) {
+            return maybe;
+        }
+
+        // Borrow an idle search or create one
+        ComponentSearch search = idleSearches.poll();
+        if (search == null) {
+            search = new ComponentSearch(numComponents);
+        }
+        try {
+            return search.run(component[from], component[to]);
+        } finally {
+            idleSearches.offer(search);
+        }
+    }
+
+    /**
+     * Tests the labels of two different components without bit sets.
+     * @param fromComponent int number of the start component
+     * @param toComponent int number of the destination component
+     * @return false if the start component cannot reach the destination
+     */
+    private boolean mayReachComponent(int fromComponent, int toComponent) {
+        if (toComponent > fromComponent
+                || toComponent < lowestReached[fromComponent]) {
+            return false;
+        }
+        int from = fromComponent * NUM_INTERVALS;
+        int to = toComponent * NUM_INTERVALS;
+        for (int i = 0; i < NUM_INTERVALS; i++) {
+            if (intervalLow[to + i] < intervalLow[from + i]
+                    || intervalHigh[to + i] > intervalHigh[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the strongly connected components of a graph and indexes which
+     * components reach which.
+     * @param graph CompactGraph object
+     * @return ReachabilityIndex object
+     */
+    public static ReachabilityIndex build(CompactGraph graph) {
+        int numNodes = graph.getNumNodes();
+        int[] component = new int[numNodes];
+        int numComponents = findComponents(graph, component);
+
+        // Group the nodes by component to walk the condensation's edges
+        int[] memberStart = new int[numComponents + 1];
+        for (int node = 0; node < numNodes; node++) {
+            memberStart[component[node] + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            memberStart[c + 1] += memberStart[c];
+        }
+        int[] members = new int[numNodes];
+        int[] next = Arrays.copyOf(memberStart, numComponents);
+        for (int node = 0; node < numNodes; node++) {
+            members[next[component[node]]++] = node;
+        }
+
+        // Every component a component reaches is numbered below it, so
+        // walking them in increasing order finds its successors done
+        int[] lowestReached = new int[numComponents];
+        boolean exact = numComponents <= MAX_CLOSURE_COMPONENTS;
+        int closureWords = (numComponents + 63) >>> 6;
+        long[] closure = exact
+                ? new long[numComponents * closureWords] : null;
+        int[] successorStart = exact ? null : new int[numComponents + 1];
+        int[] successors = exact ? null : new int[graph.getNumEdges()];
+        int numSuccessors = 0;
+        int[] lastSeenBy = new int[numComponents];
+        Arrays.fill(lastSeenBy, -1);
+        for (int c = 0; c < numComponents; c++) {
+            int lowest = c;
+            int row = c * closureWords;
+            if (exact) {
+                closure[row + (c >>> 6)] |= 1L << c;
+            }
+            for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+                int node = members[i];
+                int edgeEnd = graph.edgeEnd(node);
+                for (int edge = graph.edgeStart(node); edge < edgeEnd;
+                     edge++) {
+                    int successor = component[graph.edgeTarget(edge)];
+                    if (successor == c || lastSeenBy[successor] == c) {
+                        continue;
+                    }
+                    lastSeenBy[successor] = c;
+                    lowest = Math.min(lowest, lowestReached[successor]);
+                    if (exact) {
+                        int successorRow = successor * closureWords;
+                        for (int w = 0; w <= successor >>> 6; w++) {
+                            closure[row + w] |= closure[successorRow + w];
+                        }
+                    } else {
+                        successors[numSuccessors++] = successor;
+                    }
+                }
+            }
+            lowestReached[c] = lowest;
+            if (!exact) {
+                successorStart[c + 1] = numSuccessors;
+            }
+        }
+        if (exact) {
+            return new ReachabilityIndex(graph, component, numComponents,
+                    lowestReached, closure, closureWords, null, null, null,
+                    null);
+        }
+
+        successors = Arrays.copyOf(successors, numSuccessors);
+        int[] intervalLow = new int[numComponents * NUM_INTERVALS];
+        int[] intervalHigh = new int[numComponents * NUM_INTERVALS];
+        for (int i = 0; i < NUM_INTERVALS; i++) {
+            labelIntervals(numComponents, successorStart, successors, i,
+                    intervalLow, intervalHigh);
+        }
+        return new ReachabilityIndex(graph, component, numComponents,
+                lowestReached, null, 0, successorStart, successors,
+                intervalLow, intervalHigh);
+    }
+
+    /**
+     * Labels each component with an interval from one depth first search
+     * of the edges between components: its high end is the component's
+     * post order number and its low end the lowest post order number of
+     * the components it reaches. Each search enters the components and
+     * their successors in a different order, so that the labels of the
+     * searches rule out different pairs.
+     * @param numComponents int number of components
+     * @param successorStart int array of each component's first successor
+     * @param successors int array of the successors of every component
+     * @param search int number of the search, from 0 to NUM_INTERVALS - 1
+     * @param intervalLow int array filled with the low ends
+     * @param intervalHigh int array filled with the high ends
+     */
+    private static void labelIntervals(int numComponents,
+                                       int[] successorStart,
+                                       int[] successors, int search,
+                                       int[] intervalLow,
+                                       int[] intervalHigh) {
+        int[] nextSuccessor = new int[numComponents];
+        int[] stack = new int[numComponents];
+        boolean[] entered = new boolean[numComponents];
+        int numLabelled = 0;
+
+        // Even searches start from the highest numbers, which are never
+        // reached by lower ones, and odd searches from the lowest
+        for (int root = 0; root < numComponents; root++) {
+            int start = search % 2 == 0 ? numComponents - 1 - root : root;
+            if (entered[start]) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = start;
+            entered[start] = true;
+            while (top > 0) {
+                int c = stack[top - 1];
+                int degree = successorStart[c + 1] - successorStart[c];
+                if (nextSuccessor[c] < degree) {
+                    // Enter the next successor, in an order that depends
+                    // on the search
+                    int k = (nextSuccessor[c]++ + search / 2) % degree;
+                    int successor = successors[successorStart[c]
+                            + (search % 2 == 0 ? k : degree - 1 - k)];
+                    if (!entered[successor]) {
+                        entered[successor] = true;
+                        stack[top++] = successor;
+                    }
+                    continue;
+                }
+
+                // Every successor is labelled; Label the component
+                top--;
+                int low = numLabelled;
+                for (int i = successorStart[c]; i < successorStart[c + 1];
+                     i++) {
+                    low = Math.min(low, intervalLow[successors[i]
+                            * NUM_INTERVALS + search]);
+                }
+                intervalLow[c * NUM_INTERVALS + search] = low;
+                intervalHigh[c * NUM_INTERVALS + search] = numLabelled++;
+            }
+        }
+    }
+
+    /**
+     * Numbers the strongly connected components of a graph with Tarjan's
+     * algorithm, in reverse topological order of the condensation. The
+     * depth first search keeps its own stack of nodes and the next edge to
+     * follow from each.
+     * @param graph CompactGraph object
+     * @param component int array filled with each node's component
+     * @return int number of components
+     */
+    private static int findComponents(CompactGraph graph, int[] component) {
+        int numNodes = graph.getNumNodes();
+        int[] order = new int[numNodes];
+        int[] lowLink = new int[numNodes];
+        int[] nextEdge = new int[numNodes];
+        int[] searchStack = new int[numNodes];
+        int[] componentStack = new int[numNodes];
+        Arrays.fill(component, -1);
+        Arrays.fill(order, -1);
+
+        int numComponents = 0;
+        int numOrdered = 0;
+        int componentTop = 0;
+        for (int root = 0; root < numNodes; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+
+            // Enter the root
+            int searchTop = 0;
+            searchStack[searchTop++] = root;
+            order[root] = lowLink[root] = numOrdered++;
+            nextEdge[root] = graph.edgeStart(root);
+            componentStack[componentTop++] = root;
+
+            while (searchTop > 0) {
+                int node = searchStack[searchTop - 1];
+                if (nextEdge[node] < graph.edgeEnd(node)) {
+                    // Follow the node's next edge
+                    int target = graph.edgeTarget(nextEdge[node]++);
+                    if (order[target] < 0) {
+                        searchStack[searchTop++] = target;
+                        order[target] = lowLink[target] = numOrdered++;
+                        nextEdge[target] = graph.edgeStart(target);
+                        componentStack[componentTop++] = target;
+                    } else if (component[target] < 0) {
+                        // The target is still on the component stack
+                        lowLink[node] = Math.min(lowLink[node],
+                                order[target]);
+                    }
+                    continue;
+                }
+
+                // Every edge has been followed; Leave the node
+                searchTop--;
+                if (searchTop > 0) {
+                    int parent = searchStack[searchTop - 1];
+                    lowLink[parent] = Math.min(lowLink[parent],
+                            lowLink[node]);
+                }
+                if (lowLink[node] == order[node]) {
+                    // The node is the root of a component; Pop its members
+                    int member;
+                    do {
+                        member = componentStack[--componentTop];
+                        component[member] = numComponents;
+                    } while (member != node);
+                    numComponents++;
+                }
+            }
+        }
+        return numComponents;
+    }
+
+    /**
+     * The ComponentSearch class holds the arrays of one depth first search
+     * of the edges between components, so that searches reuse them.
+     */
+    private final class ComponentSearch {
+
+        // Instance variables
+        private final VisitedSet entered;
+        private final int[] stack;
+
+        // Constructs a search sized to the number of components
+        private ComponentSearch(int numComponents) {
+            entered = new VisitedSet(numComponents);
+            stack = new int[numComponents];
+        }
+
+        /**
+         * Tests if one component reaches another, entering only successors
+         * whose labels allow them to reach the destination.
+         * @param fromComponent int number of the start component
+         * @param toComponent int number of the destination component
+         * @return true if the start component reaches the destination
+         */
+        private boolean run(int fromComponent, int toComponent) {
+            entered.clear();
+            int top = 0;
+            stack[top++] = fromComponent;
+            entered.visit(fromComponent);
+            while (top > 0) {
+                int c = stack[--top];
+                for (int i = successorStart[c]; i < successorStart[c + 1];
+                     i++) {
+                    int successor = successors[i];
+                    if (successor == toComponent) {
+                        return true;
+                    }
+                    if (!entered.isVisited(successor)
+                            && mayReachComponent(successor, toComponent)) {
+                        entered.visit(successor);
+                        stack[top++] = successor;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+}
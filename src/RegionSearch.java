@@ -0,0 +1,143 @@
+/**
+ * The RegionSearch class runs Dijkstra searches from one or more source
+ * nodes until a set of target nodes has been settled. Partitioned serving
+ * uses it for every search inside one region of a partitioned graph, and
+ * on the overlay graph of the regions' boundary nodes.
+ *
+ * A RegionSearch object is a reusable search context sized to a graph; its
+ * arrays are reset in time proportional to what the last search touched.
+ * Objects are not thread safe and are kept in a pool by their users.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+public final class RegionSearch {
+
+    // Instance variables
+    private final IndexedHeap openSet;
+    private final VisitedSet reached;
+    private final VisitedSet settled;
+    private final VisitedSet targets;
+    private final int[] distance;
+    private final int[] parent;
+
+    // Constructs a search context for graphs of up to numNodes nodes
+    public RegionSearch(int numNodes) {
+        openSet = new IndexedHeap(numNodes);
+        reached = new VisitedSet(numNodes);
+        settled = new VisitedSet(numNodes);
+        targets = new VisitedSet(numNodes);
+        distance = new int[numNodes];
+        parent = new int[numNodes];
+    }
+
+    // Accessor methods
+    public int getNumNodes() { return distance.length; }
+    public boolean isReached(int node) { return reached.isVisited(node); }
+    public int getDistance(int node) { return distance[node]; }
+    public int getParent(int node) { return parent[node]; }
+
+    /**
+     * Searches from one source node until every target is settled.
+     * @param graph CompactGraph object to search
+     * @param source int id of the source node
+     * @param targetNodes int array of target node ids
+     * @param numTargets int number of targets in the array
+     */
+    public void run(CompactGraph graph, int source, int[] targetNodes,
+                    int numTargets) {
+        clear();
+        reach(source, 0, -1);
+        search(graph, targetNodes, numTargets);
+    }
+
+    /**
+     * Searches from several source nodes, each starting at its own
+     * distance, until every target is settled. Paths walked back through
+     * the parents end at one of the sources.
+     * @param graph CompactGraph object to search
+     * @param sources int array of source node ids
+     * @param sourceDistances int array of each source's starting distance
+     * @param numSources int number of sources in the arrays
+     * @param targetNodes int array of target node ids
+     * @param numTargets int number of targets in the array
+     */
+    public void run(CompactGraph graph, int[] sources, int[] sourceDistances,
+                    int numSources, int[] targetNodes, int numTargets) {
+        clear();
+        for (int i = 0; i < numSources; i++) {
+            int source = sources[i];
+            if (!reached.isVisited(source)
+                    || sourceDistances[i] < distance[source]) {
+                reach(source, sourceDistances[i], -1);
+            }
+        }
+        search(graph, targetNodes, numTargets);
+    }
+
+    /**
+     * Settles nodes in order of distance until every target is settled or
+     * no reached node is left.
+     * @param graph CompactGraph object to search
+     * @param targetNodes int array of target node ids
+     * @param numTargets int number of targets in the array
+     */
+    private void search(CompactGraph graph, int[] targetNodes,
+                        int numTargets) {
+        // Count each target once, even if it is listed twice
+        int remaining = 0;
+        for (int i = 0; i < numTargets; i++) {
+            if (!targets.isVisited(targetNodes[i])) {
+                targets.visit(targetNodes[i]);
+                remaining++;
+            }
+        }
+
+        while (remaining > 0 && !openSet.isEmpty()) {
+            int node = openSet.poll();
+            settled.visit(node);
+            if (targets.isVisited(node)) {
+                remaining--;
+            }
+
+            // Relax the node's edges
+            int nodeDistance = distance[node];
+            int edgeEnd = graph.edgeEnd(node);
+            for (int edge = graph.edgeStart(node); edge < edgeEnd; edge++) {
+                int edgeNode = graph.edgeTarget(edge);
+                if (settled.isVisited(edgeNode)) {
+                    continue;
+                }
+                int newDistance = nodeDistance + graph.edgeWeight(edge);
+                if (!reached.isVisited(edgeNode)
+                        || newDistance < distance[edgeNode]) {
+                    reach(edgeNode, newDistance, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a route to a node and adds it to the open set.
+     * @param node int id of the node
+     * @param nodeDistance int distance from the sources
+     * @param parentNode int id of the previous node or -1
+     */
+    private void reach(int node, int nodeDistance, int parentNode) {
+        reached.visit(node);
+        distance[node] = nodeDistance;
+        parent[node] = parentNode;
+        openSet.insertOrDecrease(node, nodeDistance);
+    }
+
+    // Resets the search so that every node is unreached
+    private void clear() {
+        openSet.clear();
+        reached.clear();
+        settled.clear();
+        targets.clear();
+    }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * The SearchStats class holds the counters of one search: nodes expanded,
+ * edges scanned, backtracks out of dead ends, heap operations and wall
+ * time. Each Algorithm object counts its current search into its own
+ * SearchStats, and every query run through Algorithm.run is added to
+ * totals shared by all algorithms and reported as a QueryEvent to Java
+ * Flight Recorder.
+ *
+ * Counting is switched on by starting Java with -Dshortestpath.stats=true.
+ * ENABLED is a static final constant, so when it is false the JIT compiler
+ * removes every counting statement guarded by it from the search loops.
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SearchStats {
+
+    // Class variables
+    public static final boolean ENABLED =
+            Boolean.getBoolean("shortestpath.stats");
+    private static final LongAdder totalQueries = new LongAdder();
+    private static final LongAdder totalNodesExpanded = new LongAdder();
+    private static final LongAdder totalEdgesScanned = new LongAdder();
+    private static final LongAdder totalBacktracks = new LongAdder();
+    private static final LongAdder totalHeapOperations = new LongAdder();
+    private static final LongAdder totalNanos = new LongAdder();
+
+    // Instance variables
+    long nodesExpanded;
+    long edgesScanned;
+    long backtracks;
+    long heapOperations;
+    long elapsedNanos;
+
+    // Constructs empty counters
+    public SearchStats() { }
+
+    // Accessor methods
+    public long getNodesExpanded() { return nodesExpanded; }
+    public long getEdgesScanned() { return edgesScanned; }
+    public long getBacktracks() { return backtracks; }
+    public long getHeapOperations() { return heapOperations; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    // Resets every counter to 0
+    void clear() {
+        nodesExpanded = 0;
+        edgesScanned = 0;
+        backtracks = 0;
+        heapOperations = 0;
+        elapsedNanos = 0;
+    }
+
+    // Returns a copy of the counters that later searches do not change
+    SearchStats copy() {
+        SearchStats copy = new SearchStats();
+        copy.nodesExpanded = nodesExpanded;
+        copy.edgesScanned = edgesScanned;
+        copy.backtracks = backtracks;
+        copy.heapOperations = heapOperations;
+        copy.elapsedNanos = elapsedNanos;
+        return copy;
+    }
+
+    /**
+     * Adds the counters of a finished query to the totals.
+     * @param stats SearchStats object of the query
+     */
+    static void record(SearchStats stats) {
+        totalQueries.increment();
+        totalNodesExpanded.add(stats.nodesExpanded);
+        totalEdgesScanned.add(stats.edgesScanned);
+        totalBacktracks.add(stats.backtracks);
+        totalHeapOperations.add(stats.heapOperations);
+        totalNanos.add(stats.elapsedNanos);
+    }
+
+    // Number of queries added to the totals
+    public static long getTotalQueries() { return totalQueries.sum(); }
+
+    /**
+     * Returns the sum of the counters of every query so far.
+     * @return SearchStats object of the totals
+     */
+    public static SearchStats getTotals() {
+        SearchStats totals = new SearchStats();
+        totals.nodesExpanded = totalNodesExpanded.sum();
+        totals.edgesScanned = totalEdgesScanned.sum();
+        totals.backtracks = totalBacktracks.sum();
+        totals.heapOperations = totalHeapOperations.sum();
+        totals.elapsedNanos = totalNanos.sum();
+        return totals;
+    }
+
+    /**
+     * Returns the counters as the members of a JSON object, without braces.
+     * @return String of comma separated JSON members
+     */
+    public String toJsonMembers() {
+        return "\"nodesExpanded\":" + nodesExpanded
+                + ",\"edgesScanned\":" + edgesScanned
+                + ",\"backtracks\":" + backtracks
+                + ",\"heapOperations\":" + heapOperations
+                + ",\"elapsedMicros\":" + elapsedNanos / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "expanded " + nodesExpanded + " nodes, scanned "
+                + edgesScanned + " edges, backtracked " + backtracks
+                + " times, " + heapOperations + " heap operations in "
+                + elapsedNanos / 1000 + " us";
+    }
+
+}
@@ -0,0 +1,43 @@
+/**
+ * The VisitedSet class tracks which nodes of a graph have been visited during
+ * a single search. Each node has a stamp in an int array; a node is visited
+ * when its stamp equals the current epoch. Starting a new search increments
+ * the epoch, so clearing the set is O(1) instead of O(number of nodes).
+ *
+ * @author Nikki Tebaldi
+ * @version 1.0
+ * @since 2026-10-18
+ */
+
+import java.util.Arrays;
+
+public class VisitedSet {
+
+    // Instance variables
+    private final int[] stamps;
+    private int epoch = 1;
+
+    // Constructs an empty visited set sized to the number of graph nodes
+    public VisitedSet(int numNodes) { stamps = new int[numNodes]; }
+
+    // Accessor methods
+    public int size() { return stamps.length; }
+    public boolean isVisited(int node) { return stamps[node] == epoch; }
+
+    // Mutator methods
+    public void visit(int node) { stamps[node] = epoch; }
+    public void unvisit(int node) { stamps[node] = 0; }
+
+    /**
+     * Marks every node as unvisited by moving to the next epoch. The stamp
+     * array is only rewritten when the epoch counter wraps around.
+     */
+    public void clear() {
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+}
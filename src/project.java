@@ -1,19 +1,73 @@
 /**
  * The project program finds the shortest path in a graph from a user-defined
- * start node to a destination node using two different algorithms.
+ * start node to a destination node. Run with no arguments, it prompts for
+ * a start node and prints the paths found by Algorithm1, Algorithm2, A*
+ * and bidirectional Dijkstra; the batch and server modes below can use any
+ * of the eight algorithm types.
  *
  * The project program uses the following classes to implement the traversal
- * of the graph in search of the shortest path: Node, Graph, Algorithm,
- * Algorithm1, Algorithm2.
+ * of the graph in search of the shortest path: Node, Graph, CompactGraph,
+ * Algorithm, Algorithm1, Algorithm2, Algorithm3, Algorithm4, Algorithm5,
+ * Algorithm6, Algorithm7, Algorithm8 and AlgorithmType.
  *
  * The input files and destination node are set as static class variables
- * at the beginning of the class definition for project.
+ * at the beginning of the class definition for project. The parsed graph is
+ * saved to a snapshot file so that later runs can open it without parsing
+ * the input files again.
+ *
+ * Run with the arguments "--batch queries.txt" to answer a file of queries
+ * in parallel instead of prompting for a start node. Each line of the file
+ * holds a start node name, a destination node name and optionally an
+ * algorithm type (A_STAR when left out) and, for ANYTIME queries, a
+ * deadline in microseconds after which Algorithm8 returns its best path so
+ * far. Run Java with -Dshortestpath.stats=true to print each query's
+ * SearchStats as well.
+ *
+ * Run with the arguments "--serve [port]" to load the graph once and answer
+ * queries over HTTP on the loopback interface with a QueryServer.
+ *
+ * Run with the arguments "--distances A" to print the shortest distance from
+ * node A to every node, found in parallel by DeltaStepping.
+ *
+ * Run with the arguments "--partition K dir" to split the graph into K
+ * regions with a GraphPartitioner, writing their files to directory dir.
+ * Each region is then served by its own process, run with the arguments
+ * "--worker dir i basePort" for region i, which listens on the loopback
+ * port basePort + i. A process run with the arguments
+ * "--coordinator dir basePort queries.txt" answers a file of start and
+ * destination node names through the workers with a PartitionCoordinator,
+ * holding only the overlay graph of the regions' boundary nodes. Workers
+ * and the coordinator do not load the whole graph.
+ *
+ * Batch and server modes also prepare landmarks and a contraction hierarchy
+ * so that queries to any destination are fast, and an all pairs distance
+ * table for graphs of up to MAX_TABLE_NODES nodes. The hierarchy and table
+ * are saved next to the input files like the snapshot. They also keep
+ * exact heuristic tables of up to HEURISTIC_CACHE_BYTES for the
+ * destinations queried most. Run Java with -Dshortestpath.compress=true to
+ * also compress the graph for the COMPRESSED algorithm type, whose searches
+ * read less memory; the compressed copy is kept next to the compact graph,
+ * so the process holds more memory, not less.
+ *
+ * The direct distance file is checked against the exact distances to the
+ * destination node, and a warning is printed if it overestimates them or
+ * is inconsistent; the optimal algorithms do not use direct distances
+ * that overestimate, while Algorithm1 and Algorithm2 follow them as given.
  *
  * @author Nikki Tebaldi
  * @version 1.0
  * @since 2020-04-24
  */
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 public class project {
@@ -21,64 +75,76 @@ public class project {
     // INPUT FILE NAMES
     private static final String GRAPH_FILE = "graph_input.txt";
     private static final String DD_FILE = "direct_distance.txt";
+    private static final String SNAPSHOT_FILE = "graph_input.snapshot";
+    private static final String HIERARCHY_FILE = "graph_input.ch";
+    private static final String TABLE_FILE = "graph_input.apsp";
+
+    // DEFAULT QUERY SERVER PORT
+    private static final int SERVER_PORT = 8080;
+
+    // NUMBER OF LANDMARKS FOR QUERIES TO OTHER DESTINATIONS
+    private static final int LANDMARK_COUNT = 8;
+
+    // LARGEST GRAPH TO HOLD AN ALL PAIRS DISTANCE TABLE FOR
+    private static final int MAX_TABLE_NODES = 4096;
+
+    // MEMORY BUDGET OF THE EXACT HEURISTIC TABLES OF HOT DESTINATIONS
+    private static final long HEURISTIC_CACHE_BYTES = 256L << 20;
+
+    // COMPRESS THE GRAPH FOR COMPRESSED QUERIES IN BATCH AND SERVER MODES
+    private static final boolean COMPRESS_GRAPH =
+            Boolean.getBoolean("shortestpath.compress");
 
     // DESTINATION NODE NAME
-    private static final Character DESTINATION_NODE = 'Z';
+    private static final String DESTINATION_NODE = "Z";
 
     /**
-     * Validate user input: Prompt for input until user enters only one
-     * character.
-     * @param input String array of user input
+     * Validate user input: Prompt for input until user enters exactly one
+     * node name.
+     * @param input String of user input
      * @param keyboard Scanner object that represents keyboard input
-     * @return Character that is valid user input
+     * @return String that is valid user input
      */
-    private static Character validateInputLength(String[] input,
-                                                Scanner keyboard) {
-
-        // Validation tests
-        boolean validLength = input.length == 1;
-        boolean validLetter = Character.isLetter(input[0].charAt(0));
+    private static String validateInput(String input, Scanner keyboard) {
 
-        // Test if user input is greater than one AND if the first element
-        // of user input is a character
-        while (!validLength | !validLetter) {
+        // Test if user input is empty OR holds more than one name
+        while (input.isEmpty() || input.split("\\s+").length > 1) {
 
             // Keep prompting for input
-            System.out.println("\nPlease enter only one letter.");
-            System.out.println("And make sure to enter a valid letter.");
-            System.out.println("\tPlease enter \"one\" start node letter: ");
+            System.out.println("\nPlease enter only one node name.");
+            System.out.println("\tPlease enter \"one\" start node name: ");
 
-            input = keyboard.nextLine().trim().split("");
-
-            // Validation tests after new input
-            validLength = input.length == 1;
-            validLetter = Character.isLetter(input[0].charAt(0));
+            input = keyboard.nextLine().trim();
         }
 
-        // Return valid uppercase character input
-        return Character.toUpperCase(input[0].charAt(0));
+        // Return valid input
+        return input;
     }
 
-    private static Node<Character> getStartNodeInput(Graph graph) {
+    private static Node<String> getStartNodeInput(Graph graph) {
 
         // Create a new scanner object
         Scanner keyboard = new Scanner(System.in);
 
-        // Create a new node to store result of search on input character
-        Node<Character> inputNode = null;
+        // Create a new node to store result of search on input name
+        Node<String> inputNode = null;
 
         while (inputNode == null) {
             // Prompt user for input
             System.out.print("Graph nodes: ");
             graph.printNodes();
-            System.out.println("\tPlease enter a start node letter: ");
-            String[] userInput = keyboard.nextLine().trim().split("");
+            System.out.println("\tPlease enter a start node name: ");
+            String userInput = keyboard.nextLine().trim();
 
             // Validate user input
-            Character elementChar = validateInputLength(userInput, keyboard);
+            String name = validateInput(userInput, keyboard);
 
-            // Search for an element match in graph node vertices
-            inputNode = graph.findNode(elementChar);
+            // Search for a name match in graph node vertices, falling back
+            // to the uppercase name as node letters were once case blind
+            inputNode = graph.findNode(name);
+            if (inputNode == null) {
+                inputNode = graph.findNode(name.toUpperCase());
+            }
 
             // Print message if no node was found; Keep looping until valid
             // node is found
@@ -88,13 +154,348 @@ public class project {
             }
         }
 
-        // Return character element
+        // Return node
         return inputNode;
 
     }
 
+    /**
+     * Tests if a file saved from the input files is newer than both of them.
+     * @param filename String name of the saved file
+     * @return true if the file exists and is up to date
+     */
+    private static boolean isUpToDate(String filename) {
+        long savedTime = new File(filename).lastModified();
+        return savedTime > new File(GRAPH_FILE).lastModified()
+                && savedTime > new File(DD_FILE).lastModified();
+    }
+
+    /**
+     * Populates the graph from the snapshot file if it is newer than both
+     * input files. Otherwise the input files are parsed and a new snapshot
+     * file is written for the next run.
+     * @param graph Graph object with its input files set
+     */
+    private static void loadGraph(Graph graph) {
+
+        // Test if the snapshot is up to date with the input files
+        if (isUpToDate(SNAPSHOT_FILE)) {
+            try {
+                graph.openSnapshot(SNAPSHOT_FILE);
+                return;
+            } catch (IOException e) {
+                System.out.println("Could not open snapshot: "
+                        + e.getMessage() + ". Reading input files...");
+            }
+        }
+
+        // Populate graph with data and save it for the next run
+        graph.populateGraph();
+        try {
+            graph.saveSnapshot(SNAPSHOT_FILE);
+        } catch (IOException e) {
+            System.out.println("Could not save snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the contraction hierarchy file if it is newer than both input
+     * files. Otherwise the graph is contracted and a new hierarchy file is
+     * written for the next run.
+     * @param graph Graph object populated with data
+     */
+    private static void loadHierarchy(Graph graph) {
+
+        // Test if the hierarchy is up to date with the input files
+        if (isUpToDate(HIERARCHY_FILE)) {
+            try {
+                graph.openHierarchy(HIERARCHY_FILE);
+                return;
+            } catch (IOException e) {
+                System.out.println("Could not open contraction hierarchy: "
+                        + e.getMessage() + ". Contracting graph...");
+            }
+        }
+
+        // Contract the graph and save the hierarchy for the next run
+        graph.buildHierarchy();
+        try {
+            graph.saveHierarchy(HIERARCHY_FILE);
+        } catch (IOException e) {
+            System.out.println("Could not save contraction hierarchy: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the distance table file if it is newer than both input files.
+     * Otherwise the table is filled and a new table file is written for the
+     * next run. Graphs of more than MAX_TABLE_NODES nodes are skipped, as
+     * their table would not fit in memory.
+     * @param graph Graph object populated with data
+     */
+    private static void loadDistanceTable(Graph graph) {
+
+        if (graph.getNumNodes() > MAX_TABLE_NODES) {
+            return;
+        }
+
+        // Test if the table is up to date with the input files
+        if (isUpToDate(TABLE_FILE)) {
+            try {
+                graph.openDistanceTable(TABLE_FILE);
+                return;
+            } catch (IOException e) {
+                System.out.println("Could not open distance table: "
+                        + e.getMessage() + ". Filling table...");
+            }
+        }
+
+        // Fill the table and save it for the next run
+        graph.buildDistanceTable();
+        try {
+            graph.saveDistanceTable(TABLE_FILE);
+        } catch (IOException e) {
+            System.out.println("Could not save distance table: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a file of queries and answers them in parallel with a
+     * BatchRunner, printing one line per query in the order of the file.
+     * Lines with unknown node names or algorithm types are reported and
+     * skipped.
+     * @param graph Graph object populated with data
+     * @param filename String name of the query file
+     */
+    private static void runBatch(Graph graph, String filename) {
+
+        // Read the query file
+        List<String> lines = null;
+        try {
+            lines = Files.readAllLines(Paths.get(filename));
+        } catch (IOException e) {
+            System.out.println("Could not read query file: " + filename
+                    + ". Exiting program...");
+            System.exit(0);
+        }
+
+        // Convert each line into a query
+        List<BatchQuery> queries = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields[0].isEmpty()) {
+                continue;
+            }
+            Node<String> start = graph.findNode(fields[0]);
+            Node<String> dest = fields.length > 1
+                    ? graph.findNode(fields[1]) : null;
+            AlgorithmType type = fields.length > 2
+                    ? AlgorithmType.fromName(fields[2]) : AlgorithmType.A_STAR;
+            long deadlineMicros = 0;
+            if (fields.length > 3) {
+                try {
+                    deadlineMicros = Long.parseLong(fields[3]);
+                } catch (NumberFormatException e) {
+                    deadlineMicros = -1;
+                }
+            }
+            if (start == null || dest == null || type == null
+                    || deadlineMicros < 0) {
+                System.out.println("Skipping invalid query: " + line);
+                continue;
+            }
+            queries.add(new BatchQuery(start, dest, type,
+                    deadlineMicros * 1000));
+        }
+
+        // Run the queries and print the results in order
+        BatchRunner runner = new BatchRunner(graph);
+        try {
+            for (QueryResult result : runner.runAll(queries)) {
+                BatchQuery query = result.getQuery();
+                System.out.println(query.getStartNode().getElement() + " "
+                        + query.getDestinationNode().getElement() + " "
+                        + query.getAlgorithmType() + ": "
+                        + (result.isReachable() ? result.getPathLength()
+                                : "unreachable")
+                        + " (" + result.formatPath(graph) + ")"
+                        + (result.getSuboptimality() > 1.0
+                                ? " within " + result.getSuboptimality()
+                                        + " of the shortest" : ""));
+                if (result.getStats() != null) {
+                    System.out.println("    " + result.getStats());
+                }
+            }
+            if (SearchStats.ENABLED) {
+                System.out.println("Total of " + SearchStats.getTotalQueries()
+                        + " queries: " + SearchStats.getTotals());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            runner.shutdown();
+        }
+    }
+
+    /**
+     * Prints the shortest distance from a node to every node it reaches,
+     * one node name and distance per line in node id order.
+     * @param graph Graph object populated with data
+     * @param startName String name of the start node
+     */
+    private static void printDistances(Graph graph, String startName) {
+        Node<String> start = graph.findNode(startName);
+        if (start == null) {
+            System.out.println("Node " + startName
+                    + " is not in the graph. Exiting program...");
+            System.exit(0);
+        }
+
+        // Buffer the output, as there is a line for every node reached
+        int[] distance = new DeltaStepping(graph).run(start);
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out)));
+        int reached = 0;
+        for (int id = 0; id < distance.length; id++) {
+            if (distance[id] != DeltaStepping.UNREACHABLE) {
+                out.println(graph.getNode(id).getElement() + " "
+                        + distance[id]);
+                reached++;
+            }
+        }
+        out.println("Reached " + reached + " of " + distance.length
+                + " nodes from " + startName);
+        out.flush();
+    }
+
+    /**
+     * Starts a QueryServer on a loopback port. The server keeps running
+     * until the program is stopped, when its latency percentiles are
+     * printed.
+     * @param graph Graph object populated with data
+     * @param port int port number to listen on
+     */
+    private static void runServer(Graph graph, int port) {
+        QueryServer server = new QueryServer(graph);
+        try {
+            server.start(port);
+        } catch (IOException e) {
+            System.out.println("Could not start server on port " + port
+                    + ": " + e.getMessage() + ". Exiting program...");
+            System.exit(0);
+        }
+        System.out.println("Listening on http://127.0.0.1:"
+                + server.getPort() + "/route?from=A&to=Z");
+
+        // Print latency percentiles when the program is stopped
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LatencyRecorder latencies = server.getLatencies();
+            System.out.println("Requests: " + latencies.getCount()
+                    + ", p50: " + latencies.getPercentileNanos(50) / 1000
+                    + " us, p99: " + latencies.getPercentileNanos(99) / 1000
+                    + " us");
+            server.stop();
+        }));
+    }
+
+    /**
+     * Splits the graph into regions and writes them to a directory.
+     * @param graph Graph object populated with data
+     * @param numRegions int number of regions
+     * @param directory String name of the partition directory
+     */
+    private static void runPartition(Graph graph, int numRegions,
+                                     String directory) {
+        try {
+            GraphPartitioner.partition(graph, numRegions, directory);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Could not partition graph: "
+                    + e.getMessage() + ". Exiting program...");
+            System.exit(0);
+        }
+        System.out.println("Wrote " + numRegions + " regions to "
+                + directory);
+    }
+
+    /**
+     * Starts a PartitionWorker for one region of a partitioned graph. The
+     * worker keeps running until the program is stopped.
+     * @param directory String name of the partition directory
+     * @param region int number of the region to serve
+     * @param basePort int port number of region 0's worker
+     */
+    private static void runWorker(String directory, int region,
+                                  int basePort) {
+        try {
+            PartitionWorker worker = new PartitionWorker(directory, region);
+            worker.start(basePort + region);
+            System.out.println("Region " + region + " of "
+                    + worker.getNumNodes() + " nodes listening on 127.0.0.1:"
+                    + worker.getPort());
+            Runtime.getRuntime().addShutdownHook(new Thread(worker::stop));
+        } catch (IOException e) {
+            System.out.println("Could not start worker for region " + region
+                    + ": " + e.getMessage() + ". Exiting program...");
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Reads a file of queries and answers them through the workers of a
+     * partitioned graph, printing one line per query in the order of the
+     * file. Lines with unknown node names are reported and skipped.
+     * @param directory String name of the partition directory
+     * @param basePort int port number of region 0's worker
+     * @param filename String name of the query file
+     */
+    private static void runCoordinator(String directory, int basePort,
+                                       String filename) {
+        PartitionCoordinator coordinator = null;
+        try {
+            List<String> lines = Files.readAllLines(Paths.get(filename));
+            coordinator = new PartitionCoordinator(directory, basePort);
+            for (String line : lines) {
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length < 2) {
+                    continue;
+                }
+                try {
+                    PartitionCoordinator.Route route =
+                            coordinator.route(fields[0], fields[1]);
+                    System.out.println(fields[0] + " " + fields[1] + ": "
+                            + (route.isReachable() ? route.getLength()
+                                    : "unreachable")
+                            + " (" + route.formatPath() + ")");
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Skipping invalid query: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not answer queries: " + e.getMessage()
+                    + ". Exiting program...");
+        } finally {
+            if (coordinator != null) {
+                coordinator.close();
+            }
+        }
+    }
+
     public static void main(String[] args) {
 
+        // Workers and the coordinator only open their part of a
+        // partitioned graph
+        if (args.length == 4 && args[0].equals("--worker")) {
+            runWorker(args[1], Integer.parseInt(args[2]),
+                    Integer.parseInt(args[3]));
+            return;
+        }
+        if (args.length == 4 && args[0].equals("--coordinator")) {
+            runCoordinator(args[1], Integer.parseInt(args[2]), args[3]);
+            return;
+        }
+
         // Create new Graph object
         Graph graph = new Graph();
 
@@ -103,14 +504,66 @@ public class project {
         graph.setDDFile(DD_FILE);
 
         // Populate graph with data
-        graph.populateGraph();
+        loadGraph(graph);
+
+        // Set destination node of the direct distances
+        graph.setDestinationNode(graph.findNode(DESTINATION_NODE));
+
+        // Warn if the direct distances cannot guide an optimal search
+        if (graph.getDestinationNode() != null) {
+            HeuristicValidation validation = graph.validateDirectDistances();
+            if (!validation.isAdmissible() || !validation.isConsistent()) {
+                System.out.println("Warning: " + validation + " in "
+                        + DD_FILE + "\n");
+            }
+        }
+
+        // Queries to any destination need landmarks for their estimates,
+        // a contraction hierarchy and a distance table, and compressed
+        // queries a compressed graph if one was asked for; Hot
+        // destinations get exact estimates
+        boolean anyDestination = args.length >= 1
+                && (args[0].equals("--batch") || args[0].equals("--serve"));
+        if (anyDestination) {
+            graph.computeLandmarks(LANDMARK_COUNT);
+            loadHierarchy(graph);
+            loadDistanceTable(graph);
+            if (COMPRESS_GRAPH) {
+                graph.compressGraph();
+            }
+            graph.cacheHeuristics(HEURISTIC_CACHE_BYTES);
+        }
+
+        // Answer a file of queries if one was given
+        if (args.length == 2 && args[0].equals("--batch")) {
+            runBatch(graph, args[1]);
+            return;
+        }
+
+        // Split the graph into regions if it was requested
+        if (args.length == 3 && args[0].equals("--partition")) {
+            runPartition(graph, Integer.parseInt(args[1]), args[2]);
+            return;
+        }
+
+        // Print the distances from one node if they were requested
+        if (args.length == 2 && args[0].equals("--distances")) {
+            printDistances(graph, args[1]);
+            return;
+        }
+
+        // Answer queries over HTTP if server mode was requested
+        if (args.length >= 1 && args[0].equals("--serve")) {
+            runServer(graph, args.length > 1
+                    ? Integer.parseInt(args[1]) : SERVER_PORT);
+            return;
+        }
 
         // Get input node
-        Node<Character> inputNode = getStartNodeInput(graph);
+        Node<String> inputNode = getStartNodeInput(graph);
 
-        // Set destination node
-        Node<Character> destNode = graph.findNode(DESTINATION_NODE);
-        graph.setDestinationNode(destNode);
+        // Get destination node
+        Node<String> destNode = graph.getDestinationNode();
 
         // Print out start and destination nodes
         System.out.println("\nStart Node " + inputNode.getElement());
@@ -118,8 +571,10 @@ public class project {
                 + graph.getDestinationNode().getElement() + "\n");
 
         // Create Algorithm objects
-        Algorithm1 alg1 = new Algorithm1();
-        Algorithm2 alg2 = new Algorithm2();
+        Algorithm1 alg1 = new Algorithm1(graph);
+        Algorithm2 alg2 = new Algorithm2(graph);
+        Algorithm3 alg3 = new Algorithm3(graph);
+        Algorithm4 alg4 = new Algorithm4(graph);
 
         // Run Algorithm 1
         alg1.findShortestPath(inputNode, destNode);
@@ -139,5 +594,25 @@ public class project {
         alg2.printShortestPath();
         System.out.println("Shortest path length: " + alg2.getShortestPathLength());
 
+        System.out.println();
+
+        // Run Algorithm 3
+        alg3.findShortestPath(inputNode, destNode);
+        System.out.println("Algorithm 3 (A*):");
+        System.out.println();
+        alg3.printSequencePath();
+        alg3.printShortestPath();
+        System.out.println("Shortest path length: " + alg3.getShortestPathLength());
+
+        System.out.println();
+
+        // Run Algorithm 4
+        alg4.findShortestPath(inputNode, destNode);
+        System.out.println("Algorithm 4 (Bidirectional Dijkstra):");
+        System.out.println();
+        alg4.printSequencePath();
+        alg4.printShortestPath();
+        System.out.println("Shortest path length: " + alg4.getShortestPathLength());
+
     }
 }